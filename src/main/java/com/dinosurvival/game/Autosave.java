@@ -0,0 +1,395 @@
+package com.dinosurvival.game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Saves a running game every few turns without holding up play. At the
+ * end of a checkpoint turn the game is encoded into an immutable in-memory
+ * image on the simulation thread. That encode walks the whole world, so
+ * its cost grows linearly with the map size and the number of animals;
+ * {@link #setEvery} decides how many turns share it. A background thread
+ * then compares the image with
+ * the previous one and appends only the bytes that changed to
+ * {@code autosave.delta}. Images are split into the sections marked by
+ * {@link SaveGame.Out#section} and each section is compared at its own
+ * offsets, so animals being born or dying do not shift the terrain and
+ * plant layers, and the population and event histories, which only grow
+ * at the end, cost just their new samples. Names keep their string table
+ * ids from one image to the next. Every {@link #setFullEvery} checkpoints,
+ * or once the deltas outgrow the image, the whole image is written as
+ * {@code autosave.sav}, an ordinary {@link SaveGame} file, and the deltas
+ * start over. When the writer is still busy with the previous turn the
+ * new turn is skipped rather than waited for.
+ */
+public class Autosave implements AutoCloseable {
+    public static final int DEFAULT_PAGE_BYTES = 16 * 1024;
+    public static final int DEFAULT_FULL_EVERY = 50;
+    public static final int DEFAULT_EVERY = 10;
+    static final String FULL = "autosave.sav";
+    static final String DELTA = "autosave.delta";
+
+    private final Path dir;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "autosave");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean busy = new AtomicBoolean();
+    private final AtomicLong saved = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong pagesWritten = new AtomicLong();
+    private final AtomicLong deltaBytesWritten = new AtomicLong();
+    private volatile IOException lastError;
+    private volatile boolean closed;
+    private volatile int pageBytes = DEFAULT_PAGE_BYTES;
+    private volatile int fullEvery = DEFAULT_FULL_EVERY;
+    private volatile int every = DEFAULT_EVERY;
+    private int lastTurn = Integer.MIN_VALUE;
+    private SaveGame.Image lastImage;
+
+    // only touched by the writer thread
+    private SaveGame.Image previous;
+    private int sinceFull;
+    private long deltaBytes;
+    private FileChannel delta;
+
+    public Autosave(Path dir) {
+        this.dir = dir;
+    }
+
+    /** Size of the pages sections are compared in. Call before the first save. */
+    public void setPageBytes(int bytes) {
+        this.pageBytes = Math.max(256, bytes);
+    }
+
+    /** Checkpoint once every this many turns. */
+    public void setEvery(int turns) {
+        this.every = Math.max(1, turns);
+    }
+
+    /** Write a full image after this many checkpoints. */
+    public void setFullEvery(int checkpoints) {
+        this.fullEvery = Math.max(1, checkpoints);
+    }
+
+    /**
+     * Snapshot {@code game} and queue it for writing if a checkpoint is
+     * due. Must be called on the thread that runs the simulation. Returns
+     * {@code false} if no checkpoint was due or the turn was skipped because
+     * the previous one is still being written.
+     */
+    public boolean onTurnEnd(Game game) {
+        int turn = game.getTurn();
+        // a new game or a loaded one shares nothing with the last image
+        boolean restart = turn <= lastTurn;
+        if (!restart && lastImage != null && turn - lastTurn < every) {
+            return false;
+        }
+        if (closed || !busy.compareAndSet(false, true)) {
+            skipped.incrementAndGet();
+            return false;
+        }
+        SaveGame.Image image;
+        try {
+            image = SaveGame.encodeImage(pageBytes, restart ? null : lastImage, game::writeState);
+        } catch (IOException ex) {
+            lastError = ex;
+            busy.set(false);
+            return false;
+        }
+        lastTurn = turn;
+        lastImage = image;
+        writer.execute(() -> {
+            try {
+                write(image, restart);
+                saved.incrementAndGet();
+            } catch (IOException ex) {
+                lastError = ex;
+                previous = null;
+            } finally {
+                busy.set(false);
+            }
+        });
+        return true;
+    }
+
+    /** Turns written so far. */
+    public long getSaved() {
+        return saved.get();
+    }
+
+    /** Turns skipped because the writer was busy. */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /** Pages with changes found while writing deltas so far. */
+    public long getPagesWritten() {
+        return pagesWritten.get();
+    }
+
+    /** Bytes appended to the delta file so far, headers included. */
+    public long getDeltaBytesWritten() {
+        return deltaBytesWritten.get();
+    }
+
+    /** The last write error, or {@code null}. Autosave keeps going after errors. */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /** Wait until every queued turn is written. */
+    public void flush() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        try {
+            writer.submit(() -> { }).get();
+        } catch (ExecutionException ex) {
+            // the marker task cannot fail
+        }
+    }
+
+    /** Finish the queued write and close the files. */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        closeDelta();
+    }
+
+    private void write(SaveGame.Image image, boolean restart) throws IOException {
+        if (previous == null || restart || sinceFull >= fullEvery || deltaBytes > image.data().length
+                || previous.sections().length != image.sections().length) {
+            writeFull(image);
+        } else {
+            writeDelta(image);
+        }
+        previous = image;
+    }
+
+    /**
+     * Replace {@code autosave.sav} and start a delta file whose header names
+     * the image by checksum and gives its section lengths.
+     */
+    private void writeFull(SaveGame.Image image) throws IOException {
+        byte[] data = image.data();
+        Files.createDirectories(dir);
+        Path tmp = dir.resolve(FULL + ".tmp");
+        Files.write(tmp, data);
+        Files.move(tmp, dir.resolve(FULL), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // deltas name the image they continue, so stale ones are never applied
+        closeDelta();
+        delta = FileChannel.open(dir.resolve(DELTA), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        int[] sections = image.sections();
+        ByteBuffer header = ByteBuffer.allocate(12 + 4 * sections.length);
+        header.putLong(checksum(data, 0, data.length)).putInt(sections.length);
+        for (int s = 0; s < sections.length; s++) {
+            header.putInt(sectionEnd(image, s) - sections[s]);
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            delta.write(header);
+        }
+        sinceFull = 0;
+        deltaBytes = 0;
+    }
+
+    /**
+     * Append what changed since the previous image: for every section its
+     * new length and the changed runs as offset, length and bytes, then a
+     * checksum of the record. Runs are found page by page and trimmed to
+     * the bytes that actually differ.
+     */
+    private void writeDelta(SaveGame.Image image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        byte[] data = image.data();
+        byte[] old = previous.data();
+        int[] sections = image.sections();
+        int changed = 0;
+        out.writeInt(sections.length);
+        for (int s = 0; s < sections.length; s++) {
+            int from = sections[s];
+            int len = sectionEnd(image, s) - from;
+            int oldFrom = previous.sections()[s];
+            int oldLen = sectionEnd(previous, s) - oldFrom;
+            int common = Math.min(len, oldLen);
+            out.writeInt(len);
+            ByteArrayOutputStream runs = new ByteArrayOutputStream();
+            DataOutputStream r = new DataOutputStream(runs);
+            int count = 0;
+            int page = 0;
+            while (page < common) {
+                int end = Math.min(common, page + pageBytes);
+                int first = Arrays.mismatch(data, from + page, from + end, old, oldFrom + page, oldFrom + end);
+                if (first < 0) {
+                    page = end;
+                    continue;
+                }
+                // a run covers consecutive changed pages
+                int start = page + first;
+                int last = end;
+                changed++;
+                while (last < common) {
+                    int next = Math.min(common, last + pageBytes);
+                    if (Arrays.equals(data, from + last, from + next, old, oldFrom + last, oldFrom + next)) {
+                        break;
+                    }
+                    last = next;
+                    changed++;
+                }
+                page = last;
+                while (data[from + last - 1] == old[oldFrom + last - 1]) {
+                    last--;
+                }
+                r.writeInt(start);
+                r.writeInt(last - start);
+                r.write(data, from + start, last - start);
+                count++;
+            }
+            if (len > common) {
+                // grown at the end
+                r.writeInt(common);
+                r.writeInt(len - common);
+                r.write(data, from + common, len - common);
+                count++;
+                changed += (len - common + pageBytes - 1) / pageBytes;
+            }
+            out.writeInt(count);
+            runs.writeTo(out);
+        }
+        out.flush();
+        byte[] record = bytes.toByteArray();
+        ByteBuffer buf = ByteBuffer.allocate(4 + record.length + 8);
+        buf.putInt(record.length).put(record).putLong(checksum(record, 0, record.length)).flip();
+        while (buf.hasRemaining()) {
+            delta.write(buf);
+        }
+        delta.force(false);
+        pagesWritten.addAndGet(changed);
+        deltaBytesWritten.addAndGet(buf.capacity());
+        deltaBytes += buf.capacity();
+        sinceFull++;
+    }
+
+    private static int sectionEnd(SaveGame.Image image, int s) {
+        int[] sections = image.sections();
+        return s + 1 < sections.length ? sections[s + 1] : image.data().length;
+    }
+
+    private void closeDelta() {
+        if (delta != null) {
+            try {
+                delta.close();
+            } catch (IOException ignored) {
+                // nothing more to write
+            }
+            delta = null;
+        }
+    }
+
+    /**
+     * Load the latest autosave in {@code dir}: the full image with every
+     * intact delta applied. A torn delta at the end is ignored.
+     */
+    public static Game restore(Path dir) throws IOException {
+        byte[] image = Files.readAllBytes(dir.resolve(FULL));
+        Path deltaFile = dir.resolve(DELTA);
+        if (Files.exists(deltaFile)) {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(deltaFile));
+            if (buf.remaining() >= 12 && buf.getLong() == checksum(image, 0, image.length)) {
+                image = applyDeltas(image, buf);
+            }
+        }
+        return SaveGame.decode(ByteBuffer.wrap(image), dir.resolve(FULL).toString(), SaveGame::readGame);
+    }
+
+    private static byte[] applyDeltas(byte[] image, ByteBuffer buf) {
+        int n = buf.getInt();
+        if (n <= 0 || buf.remaining() < 4L * n) {
+            return image;
+        }
+        byte[][] sections = new byte[n][];
+        int pos = 0;
+        for (int s = 0; s < n; s++) {
+            int len = buf.getInt();
+            if (len < 0 || len > image.length - pos) {
+                return image;
+            }
+            sections[s] = Arrays.copyOfRange(image, pos, pos + len);
+            pos += len;
+        }
+        if (pos != image.length) {
+            return image;
+        }
+        while (buf.remaining() >= 4) {
+            int len = buf.getInt();
+            if (len < 4 || buf.remaining() < len + 8L) {
+                break;
+            }
+            byte[] record = new byte[len];
+            buf.get(record);
+            if (buf.getLong() != checksum(record, 0, len)) {
+                break;
+            }
+            ByteBuffer r = ByteBuffer.wrap(record);
+            if (r.getInt() != n) {
+                break;
+            }
+            for (int s = 0; s < n; s++) {
+                int size = r.getInt();
+                // sections belong to this restore, so ones that keep their length are patched in place
+                byte[] next = size == sections[s].length ? sections[s] : Arrays.copyOf(sections[s], size);
+                int runs = r.getInt();
+                for (int i = 0; i < runs; i++) {
+                    int off = r.getInt();
+                    r.get(next, off, r.getInt());
+                }
+                sections[s] = next;
+            }
+        }
+        int total = 0;
+        for (byte[] section : sections) {
+            total += section.length;
+        }
+        byte[] out = new byte[total];
+        pos = 0;
+        for (byte[] section : sections) {
+            System.arraycopy(section, 0, out, pos, section.length);
+            pos += section.length;
+        }
+        return out;
+    }
+
+    private static long checksum(byte[] data, int off, int len) {
+        CRC32 crc = new CRC32();
+        crc.update(data, off, len);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,18 @@
+package com.dinosurvival.game;
+
+/** Ways an animal can die, as counted by {@link WorldStats}. */
+public enum DeathCause {
+    COMBAT("combat"),
+    STARVATION("starvation"),
+    DISASTER("disaster");
+
+    private final String name;
+
+    DeathCause(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,147 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.DinosaurStats;
+
+/**
+ * Plays many turns in a row with a fixed policy, for example resting for
+ * fifty turns or watching the ecosystem after the player has died. Each
+ * call to {@link #step(Game)} plays one turn and reports whether one of the
+ * configured stop conditions was hit.
+ */
+public class FastForward {
+    /** Chooses the action to take for one turn. */
+    public interface Policy {
+        void play(Game game);
+    }
+
+    /** Rest every turn. */
+    public static final Policy REST = Game::rest;
+
+    /** Drink while standing in a lake and not fully hydrated, otherwise rest. */
+    public static final Policy DRINK_OR_REST = game -> {
+        if (game.getMap().terrainAt(game.getPlayerX(), game.getPlayerY()) == Terrain.LAKE
+                && game.getPlayer().getHydration() < 100.0) {
+            game.drink();
+        } else {
+            game.rest();
+        }
+    };
+
+    /** Why fast-forwarding ended. */
+    public enum StopReason {
+        TURN_LIMIT,
+        ATTACKED,
+        HUNGRY,
+        ERUPTION_NEARBY,
+        PLAYER_DIED,
+        WON,
+        CANCELLED
+    }
+
+    private final Policy policy;
+    private final int turns;
+    private boolean stopOnAttack = true;
+    private double hungerThreshold = 25.0;
+    private int eruptionRadius = 3;
+    private boolean stopOnDeath = true;
+    private int played;
+
+    public FastForward(Policy policy, int turns) {
+        this.policy = policy;
+        this.turns = turns;
+    }
+
+    /**
+     * Stop when the player survives a turn with less health than it started
+     * with, for example after being attacked or burnt.
+     */
+    public void setStopOnAttack(boolean stop) {
+        stopOnAttack = stop;
+    }
+
+    /** Stop when energy falls below this percentage; zero or less disables the check. */
+    public void setHungerThreshold(double threshold) {
+        hungerThreshold = threshold;
+    }
+
+    /**
+     * Stop when an erupting volcano or lava is within this many tiles of
+     * the player; a negative radius disables the check.
+     */
+    public void setEruptionRadius(int radius) {
+        eruptionRadius = radius;
+    }
+
+    /** Stop when the player dies; disable to keep watching the world. */
+    public void setStopOnDeath(boolean stop) {
+        stopOnDeath = stop;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getPlayed() {
+        return played;
+    }
+
+    /**
+     * Play one turn and return the reason to stop, or {@code null} to keep
+     * going. Once the player is dead the world advances without it and the
+     * conditions about the player are no longer checked.
+     */
+    public StopReason step(Game game) {
+        if (played >= turns) {
+            return StopReason.TURN_LIMIT;
+        }
+        DinosaurStats player = game.getPlayer();
+        double hp = player.getHp();
+        boolean alive = hp > 0;
+        boolean won = game.hasWon();
+        if (alive) {
+            policy.play(game);
+        } else {
+            game.spectate();
+        }
+        played++;
+        if (alive) {
+            if (player.getHp() <= 0) {
+                if (stopOnDeath) {
+                    return StopReason.PLAYER_DIED;
+                }
+            } else {
+                if (stopOnAttack && player.getHp() < hp) {
+                    return StopReason.ATTACKED;
+                }
+                if (hungerThreshold > 0 && player.getEnergy() < hungerThreshold) {
+                    return StopReason.HUNGRY;
+                }
+                if (eruptionRadius >= 0 && eruptionNear(game.getMap(), game.getPlayerX(),
+                        game.getPlayerY(), eruptionRadius)) {
+                    return StopReason.ERUPTION_NEARBY;
+                }
+            }
+        }
+        if (!won && game.hasWon()) {
+            return StopReason.WON;
+        }
+        return played >= turns ? StopReason.TURN_LIMIT : null;
+    }
+
+    /** Whether an erupting volcano or lava lies within {@code radius} tiles of (x, y). */
+    public static boolean eruptionNear(Map map, int x, int y, int radius) {
+        int x0 = Math.max(0, x - radius);
+        int x1 = Math.min(map.getWidth() - 1, x + radius);
+        int y0 = Math.max(0, y - radius);
+        int y1 = Math.min(map.getHeight() - 1, y + radius);
+        for (int ty = y0; ty <= y1; ty++) {
+            for (int tx = x0; tx <= x1; tx++) {
+                Terrain t = map.terrainAt(tx, ty);
+                if (t == Terrain.VOLCANO_ERUPTING || t == Terrain.LAVA) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
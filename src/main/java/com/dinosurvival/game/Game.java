@@ -5,13 +5,17 @@ import com.dinosurvival.model.NPCAnimal;
 import com.dinosurvival.model.Plant;
 
 import java.util.Iterator;
+import com.dinosurvival.util.EventStream;
 import com.dinosurvival.util.StatsLoader;
 import com.dinosurvival.util.Constants;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * Very small Java translation of the Python {@code Game} class. It mirrors a
@@ -25,7 +29,7 @@ public class Game {
     private int y;
     private Weather weather;
     private int weatherTurns;
-    private final Random weatherRng = new Random(1);
+    private Random weatherRng = new Random(1);
     private Random rng = new Random();
     private NpcController npcController;
     private boolean won;
@@ -33,16 +37,36 @@ public class Game {
     private List<EncounterEntry> currentEncounters = new ArrayList<>();
     private List<Plant> currentPlants = new ArrayList<>();
     private String lastAction = "";
-    private final java.util.Map<String, List<Integer>> populationHistory = new java.util.HashMap<>();
+    private PopulationSeries populationHistory = new PopulationSeries(List.of());
     private final java.util.Map<String, int[]> huntStats = new java.util.HashMap<>();
-    private final List<Integer> turnHistory = new ArrayList<>();
     private List<String> turnMessages = new ArrayList<>();
+    private boolean playerAttacked;
     private String formation;
     private WorldStats worldStats = new WorldStats();
+    private EventStream eventStream;
+    private Autosave autosave;
+    private InputJournal journal;
+    private WorldEventSeries worldEvents = new WorldEventSeries(List.of(), List.of());
+    private final EnumSet<GameChange> changes = EnumSet.allOf(GameChange.class);
+    private int seenMapVersion;
+    private int seenX = -1;
+    private int seenY = -1;
+    private Weather seenWeather;
+    private long seenPlants;
+    private long seenEncounters;
+    /** Population row of the last {@link #recordPopulation}, and the one last reported. */
+    private int[] population = new int[0];
+    private int[] seenPopulation = new int[0];
 
     /** Number of descendants required to win the game. */
     public static final int DESCENDANTS_TO_WIN = Constants.DESCENDANTS_TO_WIN;
 
+    /**
+     * Turns of world events kept in memory. Each turn is a dense row that
+     * includes every predator and prey pair, so the history is capped.
+     */
+    public static final int WORLD_EVENT_TURNS = 2000;
+
     /** Energy multiplier applied when an NPC walks. */
     public static final double WALKING_ENERGY_DRAIN_MULTIPLIER =
             Constants.WALKING_ENERGY_DRAIN_MULTIPLIER;
@@ -92,6 +116,7 @@ public class Game {
         worldStats = new WorldStats();
         worldStats.initSpecies(StatsLoader.getDinoStats().keySet());
         worldStats.initSpecies(StatsLoader.getCritterStats().keySet());
+        worldStats.setEventStream(eventStream, () -> turn);
 
         map = new Map(18, 10, setting, seed);
         map.setStats(worldStats);
@@ -126,20 +151,28 @@ public class Game {
         weather = chooseWeather();
         weatherTurns = 0;
         npcController = new NpcController(map, weather, worldStats);
+        npcController.setRandom(rng);
         npcController.initMammalSpecies(setting.getFormation());
         npcController.populateAnimals();
         npcController.spawnCritters(true);
         huntStats.clear();
-        populationHistory.clear();
-        for (String name : StatsLoader.getDinoStats().keySet()) {
-            populationHistory.put(name, new ArrayList<>());
-        }
-        for (String name : StatsLoader.getCritterStats().keySet()) {
-            populationHistory.putIfAbsent(name, new ArrayList<>());
-        }
+        java.util.Set<String> species = new java.util.LinkedHashSet<>(StatsLoader.getDinoStats().keySet());
+        species.addAll(StatsLoader.getCritterStats().keySet());
+        populationHistory = new PopulationSeries(species);
+        List<String> plants = new ArrayList<>();
+        for (int p = 0; p < map.getPlantTypes().size(); p++) {
+            plants.add(map.getPlantTypes().getName(p));
+        }
+        worldEvents = new WorldEventSeries(species, plants, WORLD_EVENT_TURNS);
+        worldStats.setEventSeries(worldEvents);
         recordPopulation();
         turn = 0;
         turnMessages.clear();
+        changes.addAll(EnumSet.allOf(GameChange.class));
+        detectChanges();
+        if (journal != null) {
+            journal.begin(seed, formation, playerManager.getPlayer().getName());
+        }
     }
 
     private DinosaurStats cloneStats(DinosaurStats src) {
@@ -221,9 +254,8 @@ public class Game {
                 }
             }
         }
-        Random r = new Random();
         if (!candidates.isEmpty()) {
-            int[] pos = candidates.get(r.nextInt(candidates.size()));
+            int[] pos = candidates.get(rng.nextInt(candidates.size()));
             x = pos[0];
             y = pos[1];
         } else {
@@ -292,10 +324,9 @@ public class Game {
 
         // Clean up any invalid animals on this tile
         List<NPCAnimal> cellAnimals = map.getAnimals(x, y);
-        for (Iterator<NPCAnimal> it = cellAnimals.iterator(); it.hasNext(); ) {
-            NPCAnimal npc = it.next();
+        for (NPCAnimal npc : new ArrayList<>(cellAnimals)) {
             if (npc.getWeight() <= 0) {
-                it.remove();
+                map.removeAnimal(x, y, npc);
             }
         }
 
@@ -371,7 +402,6 @@ public class Game {
      */
     private String aggressiveAttackCheck() {
         double playerA = Math.max(playerEffectiveAttack(), 0.1);
-        Random r = new Random();
         for (EncounterEntry entry : currentEncounters) {
             if (entry.getEggs() != null || entry.getNpc() == null) {
                 continue;
@@ -398,7 +428,7 @@ public class Game {
 
             double targetA = npcEffectiveAttack(npc, stats, x, y);
             double rel = targetA / playerA;
-            if (rel > 2.0 && r.nextDouble() < 0.5) {
+            if (rel > 2.0 && rng.nextDouble() < 0.5) {
                 playerManager.getPlayer().setHp(0);
                 return "A fierce " + npc.getName() + " (" + npc.getId() + ") attacks and kills you! Game Over.";
             }
@@ -409,6 +439,9 @@ public class Game {
     private void updateEggs() {
         for (int ty = 0; ty < map.getHeight(); ty++) {
             for (int tx = 0; tx < map.getWidth(); tx++) {
+                if (!map.hasNest(tx, ty)) {
+                    continue;
+                }
                 List<EggCluster> cell = map.getEggs(tx, ty);
                 for (Iterator<EggCluster> it = cell.iterator(); it.hasNext(); ) {
                     EggCluster egg = it.next();
@@ -456,29 +489,27 @@ public class Game {
     /**
      * Apply spoilage to all carcasses after NPC actions have completed.
      * Dead animals lose weight each turn and are removed once fully decayed.
+     * Only the map's carcass registry is visited; spoilage never changes the
+     * relative order of carcasses so the per-tile ordering stays valid.
      */
     public java.util.List<String> spoilCarcasses() {
         java.util.List<String> messages = new java.util.ArrayList<>();
-        for (int ty = 0; ty < map.getHeight(); ty++) {
-            for (int tx = 0; tx < map.getWidth(); tx++) {
-                java.util.List<NPCAnimal> animals = new java.util.ArrayList<>(map.getAnimals(tx, ty));
-                for (NPCAnimal npc : animals) {
-                    if (!npc.isAlive()) {
-                        double before = npc.getWeight();
-                        double spoiled = npc.getWeight() * 0.10 + 2;
-                        double after = Math.max(0.0, npc.getWeight() - spoiled);
-                        npc.setWeight(after);
-                        double lost = before - after;
-                        if (lost > 0 && tx == x && ty == y) {
-                            String msg = "The " + npcLabel(npc) + " carcass lost " +
-                                    String.format(java.util.Locale.US, "%.1f", lost) + "kg to spoilage.";
-                            messages.add(msg);
-                        }
-                        if (npc.getWeight() <= 0) {
-                            map.removeAnimal(tx, ty, npc);
-                        }
-                    }
-                }
+        for (java.util.Map.Entry<NPCAnimal, int[]> e : map.getCarcassLocations().entrySet()) {
+            NPCAnimal npc = e.getKey();
+            int tx = e.getValue()[0];
+            int ty = e.getValue()[1];
+            double before = npc.getWeight();
+            double spoiled = npc.getWeight() * 0.10 + 2;
+            double after = Math.max(0.0, npc.getWeight() - spoiled);
+            npc.setWeight(after);
+            double lost = before - after;
+            if (lost > 0 && tx == x && ty == y) {
+                String msg = "The " + npcLabel(npc) + " carcass lost " +
+                        String.format(java.util.Locale.US, "%.1f", lost) + "kg to spoilage.";
+                messages.add(msg);
+            }
+            if (npc.getWeight() <= 0) {
+                map.removeAnimal(tx, ty, npc);
             }
         }
         return messages;
@@ -544,8 +575,8 @@ public class Game {
 
     private void startTurn() {
         turnMessages.clear();
+        playerAttacked = false;
         turn++;
-        recordPopulation();
         if (weatherTurns >= 10) {
             weather = chooseWeather();
             weatherTurns = 0;
@@ -585,11 +616,110 @@ public class Game {
         applyTerrainEffects();
         spoilCarcasses();
         generateEncounters();
-        aggressiveAttackCheck();
+        String attack = aggressiveAttackCheck();
+        if (attack != null) {
+            playerAttacked = true;
+            turnMessages.add(attack);
+        }
+        recordWorldEvents();
+        recordPopulation();
+        if (eventStream != null) {
+            eventStream.emit(turn, "action", "action", lastAction, "x", x, "y", y,
+                    "weight", playerManager.getPlayer().getWeight(), "hp", playerManager.getPlayer().getHp());
+        }
+        detectChanges();
+        if (journal != null) {
+            journal.endTurn(this);
+        }
+        if (autosave != null) {
+            autosave.onTurnEnd(this);
+        }
+    }
+
+    private void record(String action, long... args) {
+        if (journal != null) {
+            journal.record(turn, action, args);
+        }
+    }
+
+    /**
+     * Compare the state views display with what was seen after the previous
+     * turn and record which parts changed.
+     */
+    private void detectChanges() {
+        changes.add(GameChange.PLAYER);
+        boolean moved = x != seenX || y != seenY;
+        if (moved || map.getVersion() != seenMapVersion) {
+            changes.add(GameChange.MAP);
+        }
+        long plants = 1;
+        for (Plant p : currentPlants) {
+            plants = 31 * plants + p.getName().hashCode();
+            plants = 31 * plants + Double.hashCode(p.getWeight());
+        }
+        long encounters = encounterHash();
+        if (moved || plants != seenPlants || encounters != seenEncounters) {
+            changes.add(GameChange.TILE);
+        }
+        if (weather != seenWeather) {
+            changes.add(GameChange.WEATHER);
+        }
+        // recordPopulation has just counted this turn's animals
+        if (!Arrays.equals(population, seenPopulation)) {
+            changes.add(GameChange.POPULATION);
+        }
+        seenX = x;
+        seenY = y;
+        seenMapVersion = map.getVersion();
+        seenPlants = plants;
+        seenEncounters = encounters;
+        seenWeather = weather;
+        seenPopulation = population;
+    }
+
+    /** Hash of everything the encounter list shows for the current tile. */
+    private long encounterHash() {
+        if (currentEncounters.isEmpty()) {
+            return 0;
+        }
+        long h = 31 + Double.hashCode(playerEffectiveAttack());
+        h = 31 * h + Double.hashCode(playerEffectiveSpeed());
+        for (EncounterEntry e : currentEncounters) {
+            if (e.getNpc() != null) {
+                NPCAnimal npc = e.getNpc();
+                h = 31 * h + npc.getId();
+                h = 31 * h + (npc.isAlive() ? 1 : 0);
+                h = 31 * h + Double.hashCode(npc.getHp());
+                h = 31 * h + Double.hashCode(npc.getEnergy());
+                h = 31 * h + Double.hashCode(npc.getWeight());
+                h = 31 * h + npc.getBleeding();
+                h = 31 * h + npc.getBrokenBone();
+            } else if (e.getEggs() != null) {
+                EggCluster eggs = e.getEggs();
+                h = 31 * h + Double.hashCode(eggs.getWeight());
+                h = 31 * h + eggs.getNumber();
+                h = 31 * h + eggs.getTurnsUntilHatch();
+            } else if (e.getBurrow() != null) {
+                h = 31 * h + (e.getBurrow().isFull() ? 1 : 0);
+                h = 31 * h + Double.hashCode(e.getBurrow().getProgress());
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Return the kinds of state that changed since the previous call and
+     * reset them. A freshly started game reports every kind.
+     */
+    public Set<GameChange> consumeChanges() {
+        Set<GameChange> out = EnumSet.copyOf(changes);
+        changes.clear();
+        return out;
     }
 
     /** Move the player by the specified delta. */
     public void move(int dx, int dy) {
+        record("move", dx, dy);
         startTurn();
         x = Math.max(0, Math.min(map.getWidth() - 1, x + dx));
         y = Math.max(0, Math.min(map.getHeight() - 1, y + dy));
@@ -609,6 +739,7 @@ public class Game {
 
     /** Skip a turn without moving. */
     public void rest() {
+        record("rest");
         startTurn();
         applyTurnCosts(false, 1.0);
         checkVictory();
@@ -617,8 +748,21 @@ public class Game {
         endTurn();
     }
 
+    /**
+     * Advance the world by one turn without the player acting, used to keep
+     * watching the ecosystem after the player has died. No turn costs or
+     * regeneration are applied to the player.
+     */
+    public void spectate() {
+        record("spectate");
+        startTurn();
+        lastAction = "stay";
+        endTurn();
+    }
+
     /** Drink if the player is on a lake tile. */
     public void drink() {
+        record("drink");
         startTurn();
         if (map.terrainAt(x, y) == Terrain.LAKE) {
             playerManager.getPlayer().setHydration(100.0);
@@ -638,6 +782,7 @@ public class Game {
 
     /** Hunt the NPC with the given identifier on the current tile. */
     public void huntNpc(int id) {
+        record("huntNpc", id);
         NPCAnimal target = null;
         for (NPCAnimal npc : map.getAnimals(x, y)) {
             if (npc.getId() == id) { target = npc; break; }
@@ -727,7 +872,8 @@ public class Game {
         }
 
         if (!target.isAlive()) {
-            worldStats.recordDeath(target.getName(), "combat");
+            worldStats.recordDeath(target.getName(), DeathCause.COMBAT);
+            worldStats.recordHunt(playerManager.getPlayer().getName(), target.getName());
             double meat = target.getWeight();
             double energyGain = 1000 * meat / Math.max(playerManager.getPlayer().getWeight(), 0.1);
             double need = 100.0 - playerManager.getPlayer().getEnergy();
@@ -741,6 +887,8 @@ public class Game {
             target.setWeight(Math.max(0.0, target.getWeight() - eaten));
             if (target.getWeight() <= 0) {
                 map.removeAnimal(x, y, target);
+            } else {
+                map.markCarcass(x, y, target);
             }
             if (wasAlive && hunt != null) {
                 hunt[1]++;
@@ -762,6 +910,7 @@ public class Game {
 
     /** Eat eggs present on the current tile. */
     public void collectEggs() {
+        record("collectEggs");
         startTurn();
         List<EggCluster> eggs = map.getEggs(x, y);
         if (eggs.isEmpty()) {
@@ -794,6 +943,7 @@ public class Game {
 
     /** Dig into a burrow on the current tile if present. */
     public void digBurrow() {
+        record("digBurrow");
         startTurn();
         Burrow b = map.getBurrow(x, y);
         if (b != null && b.isFull()) {
@@ -804,7 +954,7 @@ public class Game {
                 b.setProgress(0.0);
                 List<String> mammals = npcController.getMammalSpecies();
                 if (!mammals.isEmpty()) {
-                    String name = mammals.get(new Random().nextInt(mammals.size()));
+                    String name = mammals.get(rng.nextInt(mammals.size()));
                     java.util.Map<String, Object> stats = StatsLoader.getCritterStats().get(name);
                     double weight = 0.0;
                     Object wObj = stats.get("adult_weight");
@@ -840,6 +990,7 @@ public class Game {
 
     /** Lay eggs if conditions allow. */
     public void layEggs() {
+        record("layEggs");
         // capture the number of animals on the player's tile before turn start
         int animalsBefore = map.getAnimals(x, y).size();
         startTurn();
@@ -882,6 +1033,7 @@ public class Game {
 
     /** Mate with an NPC on the current tile. */
     public void mate(int partnerId) {
+        record("mate", partnerId);
         startTurn();
         List<NPCAnimal> cell = map.getAnimals(x, y);
         NPCAnimal partner = null;
@@ -889,7 +1041,7 @@ public class Game {
             if (npc.getId() == partnerId) { partner = npc; break; }
         }
         if (partner != null) {
-            cell.remove(partner);
+            map.removeAnimal(x, y, partner);
             playerManager.getPlayer().setMated(true);
         }
         applyTurnCosts(false, 1.0);
@@ -901,6 +1053,7 @@ public class Game {
 
     /** Attempt to frighten nearby animals. */
     public void threaten() {
+        record("threaten");
         startTurn();
         List<NPCAnimal> cell = map.getAnimals(x, y);
         double playerA = Math.max(playerEffectiveAttack(), 0.1);
@@ -913,21 +1066,17 @@ public class Game {
             double npcA = npcEffectiveAttack(npc, stats, x, y);
             if (npcA > playerA) stronger.add(npc); else weaker.add(npc);
         }
-        Random r = new Random();
         boolean killed = false;
         if (!stronger.isEmpty()) {
             playerManager.getPlayer().setHp(0.0);
             killed = true;
         } else {
-            java.util.Map<String,int[]> dirs = java.util.Map.of(
-                    "Up", new int[]{0,-1}, "Right", new int[]{1,0},
-                    "Down", new int[]{0,1}, "Left", new int[]{-1,0});
             for (NPCAnimal npc : weaker) {
                 List<String> opts = new ArrayList<>();
                 Object stats = StatsLoader.getDinoStats().get(npc.getName());
                 if (stats == null) stats = StatsLoader.getCritterStats().get(npc.getName());
                 boolean canWalk = !getBool(stats, "can_walk", true) ? false : true;
-                for (var e : dirs.entrySet()) {
+                for (var e : MapUtils.DIRECTIONS.entrySet()) {
                     int nx = x + e.getValue()[0];
                     int ny = y + e.getValue()[1];
                     if (nx<0||ny<0||nx>=map.getWidth()||ny>=map.getHeight()) continue;
@@ -935,7 +1084,7 @@ public class Game {
                     if (!canWalk && t != Terrain.LAKE) continue;
                     opts.add(e.getKey());
                 }
-                npc.setNextMove(opts.isEmpty()?"None":opts.get(r.nextInt(opts.size())));
+                npc.setNextMove(opts.isEmpty()?"None":opts.get(rng.nextInt(opts.size())));
             }
         }
         applyTurnCosts(false, 2.0);
@@ -1166,7 +1315,8 @@ public class Game {
                             npc.setAlive(false);
                             npc.setAge(-1);
                             npc.setSpeed(0.0);
-                            worldStats.recordDeath(npc.getName(), "disaster");
+                            map.markCarcass(tx, ty, npc);
+                            worldStats.recordDeath(npc.getName(), DeathCause.DISASTER);
                             if (tx == x && ty == y) {
                                 turnMessages.add(npcLabel(npc) + " perishes in the flames.");
                             }
@@ -1174,7 +1324,7 @@ public class Game {
                     }
                     map.getEggs(tx, ty).clear();
                     map.removeBurrow(tx, ty);
-                    map.getPlants(tx, ty).clear();
+                    map.clearPlants(tx, ty);
                 } else if (tname.equals("toxic_badlands")) {
                     for (NPCAnimal npc : map.getAnimals(tx, ty)) {
                         if (!npc.isAlive()) continue;
@@ -1185,7 +1335,8 @@ public class Game {
                             npc.setAlive(false);
                             npc.setAge(-1);
                             npc.setSpeed(0.0);
-                            worldStats.recordDeath(npc.getName(), "disaster");
+                            map.markCarcass(tx, ty, npc);
+                            worldStats.recordDeath(npc.getName(), DeathCause.DISASTER);
                             if (tx == x && ty == y && beforeNpc > 0) {
                                 turnMessages.add(npcLabel(npc) + " succumbs to the toxic fumes.");
                             }
@@ -1231,13 +1382,169 @@ public class Game {
         return count;
     }
 
+    private void recordWorldEvents() {
+        double[] biomass = new double[worldEvents.getPlants().size()];
+        for (int p = 0; p < biomass.length; p++) {
+            biomass[p] = map.getTotalPlantBiomass(p);
+        }
+        worldEvents.endTurn(turn, biomass);
+    }
+
     private void recordPopulation() {
         java.util.Map<String, Integer> counts = populationStats();
-        for (String name : populationHistory.keySet()) {
-            List<Integer> list = populationHistory.get(name);
-            list.add(counts.getOrDefault(name, 0));
+        int[] row = new int[populationHistory.speciesCount()];
+        for (java.util.Map.Entry<String, Integer> e : counts.entrySet()) {
+            int i = populationHistory.indexOf(e.getKey());
+            if (i >= 0) {
+                row[i] = e.getValue();
+            }
+        }
+        populationHistory.record(turn, row);
+        population = row;
+    }
+
+    /** Write the complete game state; see {@link SaveGame#save}. */
+    void writeState(SaveGame.Out out) throws IOException {
+        out.putString(formation);
+        out.putInt(x);
+        out.putInt(y);
+        out.putInt(turn);
+        out.putInt(weatherTurns);
+        out.putBoolean(won);
+        out.putString(lastAction);
+        out.putString(weather.getName());
+        out.putString(weather.getIcon());
+        out.putDouble(weather.getFloodChance());
+        out.putDouble(weather.getPlayerHydrationMult());
+        out.putDouble(weather.getPlayerEnergyMult());
+        out.putDouble(weather.getNpcEnergyMult());
+        out.putRandom(rng);
+        out.putRandom(weatherRng);
+        SaveGame.putPlayer(out, playerManager.getPlayer());
+        out.putInt(huntStats.size());
+        for (java.util.Map.Entry<String, int[]> e : huntStats.entrySet()) {
+            out.putString(e.getKey());
+            out.putInt(e.getValue().length);
+            for (int v : e.getValue()) {
+                out.putInt(v);
+            }
+        }
+
+        out.section();
+        List<NPCAnimal> records = map.writeState(out);
+        java.util.Map<NPCAnimal, Integer> index = new java.util.IdentityHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            index.put(records.get(i), i);
+        }
+        // animals spawned this game that have since left the map are not kept
+        List<Integer> spawned = new ArrayList<>();
+        for (NPCAnimal npc : npcController.getSpawned()) {
+            Integer i = index.get(npc);
+            if (i != null) {
+                spawned.add(i);
+            }
         }
-        turnHistory.add(turn);
+        out.putInt(npcController.getNextNpcId());
+        out.putInt(spawned.size());
+        for (int i : spawned) {
+            out.putInt(i);
+        }
+
+        out.section();
+        worldStats.writeState(out);
+        // the histories only grow at the end, so autosave deltas carry just the new samples
+        out.section();
+        out.putInt(populationHistory.speciesCount());
+        for (int s = 0; s < populationHistory.speciesCount(); s++) {
+            out.putString(populationHistory.getSpecies(s));
+        }
+        // packed chunks decode a column at a time, so read whole columns first
+        int samples = populationHistory.size();
+        int[] turns = populationHistory.turns(0, samples, null);
+        int[][] columns = new int[populationHistory.speciesCount()][];
+        for (int s = 0; s < columns.length; s++) {
+            columns[s] = populationHistory.range(s, 0, samples, null);
+        }
+        out.putInt(samples);
+        for (int i = 0; i < samples; i++) {
+            out.putInt(turns[i]);
+            for (int[] column : columns) {
+                out.putInt(column[i]);
+            }
+        }
+        out.section();
+        java.io.ByteArrayOutputStream events = new java.io.ByteArrayOutputStream();
+        worldEvents.writeBinary(events);
+        out.putBytes(events.toByteArray());
+    }
+
+    /** Replace this game's state with one written by {@link #writeState}. */
+    void readState(SaveGame.In in) throws IOException {
+        formation = in.getString();
+        StatsLoader.load(Path.of("conf"), formation);
+        x = in.getInt();
+        y = in.getInt();
+        turn = in.getInt();
+        weatherTurns = in.getInt();
+        won = in.getBoolean();
+        lastAction = in.getString();
+        weather = new Weather(in.getString(), in.getString(), in.getDouble(),
+                in.getDouble(), in.getDouble(), in.getDouble());
+        rng = in.getRandom();
+        weatherRng = in.getRandom();
+        playerManager.setPlayer(SaveGame.getPlayer(in));
+        huntStats.clear();
+        int hunted = in.getInt();
+        for (int i = 0; i < hunted; i++) {
+            String prey = in.getString();
+            int[] counts = new int[in.getInt()];
+            for (int j = 0; j < counts.length; j++) {
+                counts[j] = in.getInt();
+            }
+            huntStats.put(prey, counts);
+        }
+
+        worldStats = new WorldStats();
+        worldStats.initSpecies(StatsLoader.getDinoStats().keySet());
+        worldStats.initSpecies(StatsLoader.getCritterStats().keySet());
+        worldStats.setEventStream(eventStream, () -> turn);
+        List<NPCAnimal> records = new ArrayList<>();
+        map = Map.readState(in, records);
+        map.setStats(worldStats);
+        npcController = new NpcController(map, weather, worldStats);
+        npcController.setRandom(rng);
+        npcController.initMammalSpecies(formation);
+        npcController.setNextNpcId(in.getInt());
+        int spawned = in.getInt();
+        for (int i = 0; i < spawned; i++) {
+            npcController.trackSpawn(records.get(in.getInt()));
+        }
+
+        worldStats.readState(in);
+
+        List<String> species = new ArrayList<>();
+        int speciesCount = in.getInt();
+        for (int s = 0; s < speciesCount; s++) {
+            species.add(in.getString());
+        }
+        populationHistory = new PopulationSeries(species);
+        int samples = in.getInt();
+        for (int i = 0; i < samples; i++) {
+            int sampleTurn = in.getInt();
+            int[] row = new int[speciesCount];
+            for (int s = 0; s < speciesCount; s++) {
+                row[s] = in.getInt();
+            }
+            populationHistory.record(sampleTurn, row);
+        }
+        worldEvents = WorldEventSeries.read(new java.io.ByteArrayInputStream(in.getBytes()), WORLD_EVENT_TURNS);
+        worldStats.setEventSeries(worldEvents);
+
+        turnMessages.clear();
+        playerAttacked = false;
+        generateEncounters();
+        changes.addAll(EnumSet.allOf(GameChange.class));
+        detectChanges();
     }
 
 
@@ -1253,14 +1560,14 @@ public class Game {
         return playerManager.getPlayer();
     }
 
-    public java.util.List<Integer> getPopulationHistory(String name) {
-        java.util.List<Integer> list = populationHistory.get(name);
-        return list != null ? java.util.Collections.unmodifiableList(list)
-                : java.util.List.of();
+    /** Population of every species and the turn number, sampled at the start of each turn. */
+    public PopulationSeries getPopulationHistory() {
+        return populationHistory;
     }
 
-    public java.util.List<Integer> getTurnHistory() {
-        return java.util.Collections.unmodifiableList(turnHistory);
+    /** Whether an aggressive animal attacked the player during the last turn. */
+    public boolean wasPlayerAttacked() {
+        return playerAttacked;
     }
 
     public java.util.List<String> getTurnMessages() {
@@ -1275,6 +1582,36 @@ public class Game {
         return worldStats;
     }
 
+    /**
+     * Emit deaths, kills, births, eruptions and player actions to
+     * {@code stream}, or stop when {@code null}. Kept across {@link #start}.
+     */
+    public void setEventStream(EventStream stream) {
+        eventStream = stream;
+        worldStats.setEventStream(stream, () -> turn);
+    }
+
+    /**
+     * Hand the game to {@code autosave} at the end of every turn, or stop
+     * when {@code null}. Kept across {@link #start}.
+     */
+    public void setAutosave(Autosave autosave) {
+        this.autosave = autosave;
+    }
+
+    /**
+     * Record the seed, player dinosaur and every action of each game
+     * started from now on in {@code journal}, or stop when {@code null}.
+     */
+    public void setJournal(InputJournal journal) {
+        this.journal = journal;
+    }
+
+    /** Per-turn deaths, hatchings, hunts and plant biomass of the current game. */
+    public WorldEventSeries getWorldEvents() {
+        return worldEvents;
+    }
+
     public int getPlayerX() {
         return x;
     }
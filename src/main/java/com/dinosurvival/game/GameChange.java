@@ -0,0 +1,18 @@
+package com.dinosurvival.game;
+
+/**
+ * Kinds of game state a view may need to redraw after a turn. Reported by
+ * {@link Game#consumeChanges()}.
+ */
+public enum GameChange {
+    /** Player statistics such as health, energy, weight or turn count. */
+    PLAYER,
+    /** Terrain or revealed tiles, or the player's position on the map. */
+    MAP,
+    /** Plants and encounters on the player's tile. */
+    TILE,
+    /** The current weather. */
+    WEATHER,
+    /** Species population counts. */
+    POPULATION
+}
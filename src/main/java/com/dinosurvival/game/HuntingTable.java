@@ -0,0 +1,287 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.DinosaurStats;
+import com.dinosurvival.model.NPCAnimal;
+
+import java.util.List;
+
+/**
+ * Precomputed predator and prey combat data for the loaded species. Every
+ * species is given an ordinal and the values NPC hunting needs are resolved
+ * once: scaled stats, ability flags and the armor factor for each attacker
+ * and target pair.
+ *
+ * <p>Weights are additionally split into {@link #BUCKETS} buckets of the
+ * adult weight. For every hunter bucket and target bucket an upper bound of
+ * the catch chance is stored, taking the fastest possible hunter and the
+ * slowest possible target in the two buckets. A zero bound means no animals
+ * from those buckets can pass the speed or size checks, so candidates can be
+ * skipped before the exact evaluation.</p>
+ */
+public final class HuntingTable {
+    /** Number of weight buckets per species. */
+    public static final int BUCKETS = 8;
+
+    /** Largest speed multiplier from an ambush streak. */
+    private static final double MAX_AMBUSH_BONUS = 1.15;
+
+    /** Relative slack so rounding at bucket edges never tightens a bound. */
+    private static final double SLACK = 1e-9;
+
+    private final java.util.Map<String, DinosaurStats> dinoSource;
+    private final java.util.Map<String, java.util.Map<String, Object>> critterSource;
+    private final int dinoCount;
+    private final int critterCount;
+
+    private final String[] names;
+    private final Object[] stats;
+    private final java.util.Map<String, Integer> indices = new java.util.HashMap<>();
+    private final double[] adultWeights;
+    private final double[] adultHp;
+    private final double[] baseAttack;
+    private final double[] hatchSpeed;
+    private final double[] adultSpeed;
+    private final double[] healthRegen;
+    private final boolean[] packHunter;
+    private final boolean[] bleed;
+    private final boolean[] armored;
+    private final double[][] armorFactor;
+    private final float[] maxCatchChance;
+
+    private HuntingTable(java.util.Map<String, DinosaurStats> dinoStats,
+                         java.util.Map<String, java.util.Map<String, Object>> critterStats) {
+        dinoSource = dinoStats;
+        critterSource = critterStats;
+        dinoCount = dinoStats.size();
+        critterCount = critterStats.size();
+
+        java.util.Map<String, Object> all = new java.util.LinkedHashMap<>(critterStats);
+        all.putAll(dinoStats);
+        int n = all.size();
+        names = new String[n];
+        stats = new Object[n];
+        adultWeights = new double[n];
+        adultHp = new double[n];
+        baseAttack = new double[n];
+        hatchSpeed = new double[n];
+        adultSpeed = new double[n];
+        healthRegen = new double[n];
+        packHunter = new boolean[n];
+        bleed = new boolean[n];
+        armored = new boolean[n];
+        int s = 0;
+        for (var entry : all.entrySet()) {
+            Object st = entry.getValue();
+            names[s] = entry.getKey();
+            stats[s] = st;
+            indices.put(entry.getKey(), s);
+            adultWeights[s] = CombatUtils.getStat(st, "adult_weight");
+            adultHp[s] = CombatUtils.getStat(st, "hp");
+            baseAttack[s] = st instanceof DinosaurStats ds ? ds.getAdultAttack()
+                    : CombatUtils.getStat(st, "attack");
+            hatchSpeed[s] = CombatUtils.getStat(st, "hatchling_speed");
+            adultSpeed[s] = CombatUtils.getStat(st, "adult_speed");
+            healthRegen[s] = CombatUtils.getStat(st, "health_regen");
+            List<String> abil = CombatUtils.abilities(st);
+            packHunter[s] = abil.contains("pack_hunter");
+            bleed[s] = abil.contains("bleed");
+            armored[s] = abil.contains("light_armor") || abil.contains("heavy_armor");
+            s++;
+        }
+
+        armorFactor = new double[n][n];
+        for (int a = 0; a < n; a++) {
+            for (int t = 0; t < n; t++) {
+                double eff = CombatUtils.effectiveArmor(stats[t], stats[a]);
+                armorFactor[a][t] = Math.max(0.0, 1.0 - eff / 100.0);
+            }
+        }
+
+        double[] fastest = new double[n * BUCKETS];
+        double[] slowest = new double[n * BUCKETS];
+        double[] lightest = new double[n * BUCKETS];
+        double[] heaviest = new double[n * BUCKETS];
+        for (int sp = 0; sp < n; sp++) {
+            for (int b = 0; b < BUCKETS; b++) {
+                double lo = speedAt(sp, (double) b / BUCKETS);
+                double hi = speedAt(sp, (double) (b + 1) / BUCKETS);
+                int i = sp * BUCKETS + b;
+                fastest[i] = Math.max(Math.max(lo, hi) * MAX_AMBUSH_BONUS, 0.1) * (1 + SLACK);
+                slowest[i] = Math.max(Math.min(lo, hi) * 0.5, 0.1) * (1 - SLACK);
+                if (adultWeights[sp] > 0) {
+                    lightest[i] = adultWeights[sp] * b / BUCKETS * (1 - SLACK);
+                    heaviest[i] = b == BUCKETS - 1 ? Double.POSITIVE_INFINITY
+                            : adultWeights[sp] * (b + 1) / BUCKETS * (1 + SLACK);
+                } else {
+                    lightest[i] = 0.0;
+                    heaviest[i] = Double.POSITIVE_INFINITY;
+                }
+            }
+        }
+        int cells = n * BUCKETS;
+        maxCatchChance = new float[cells * cells];
+        for (int h = 0; h < cells; h++) {
+            for (int t = 0; t < cells; t++) {
+                float chance = 0f;
+                if (slowest[t] < fastest[h] && heaviest[t] >= lightest[h] * 0.01) {
+                    chance = (float) catchChance(slowest[t] / fastest[h]);
+                }
+                maxCatchChance[h * cells + t] = chance;
+            }
+        }
+    }
+
+    /**
+     * Build the table for the given loaded statistics. Dinosaur entries take
+     * precedence over critters sharing the same name, matching the lookups
+     * used throughout the NPC code.
+     */
+    public static HuntingTable build(java.util.Map<String, DinosaurStats> dinoStats,
+                                     java.util.Map<String, java.util.Map<String, Object>> critterStats) {
+        return new HuntingTable(dinoStats, critterStats);
+    }
+
+    /** Whether the table was built from the given statistics maps. */
+    public boolean isFor(java.util.Map<String, DinosaurStats> dinoStats,
+                         java.util.Map<String, java.util.Map<String, Object>> critterStats) {
+        return dinoSource == dinoStats && critterSource == critterStats
+                && dinoCount == dinoStats.size() && critterCount == critterStats.size();
+    }
+
+    /** Number of species in the table. */
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int species) {
+        return names[species];
+    }
+
+    /** Ordinal of the named species or {@code -1} if it is unknown. */
+    public int indexOf(String name) {
+        Integer idx = indices.get(name);
+        return idx != null ? idx : -1;
+    }
+
+    /** Statistics object the species entry was built from. */
+    public Object getStats(int species) {
+        return stats[species];
+    }
+
+    public boolean isPackHunter(int species) {
+        return packHunter[species];
+    }
+
+    /** Weight bucket of an animal relative to its species' adult weight. */
+    public int bucket(int species, double weight) {
+        double adult = adultWeights[species];
+        if (adult <= 0) {
+            return BUCKETS - 1;
+        }
+        int b = (int) (weight / adult * BUCKETS);
+        return Math.max(0, Math.min(BUCKETS - 1, b));
+    }
+
+    /**
+     * Upper bound of the catch chance a hunter in the given bucket has
+     * against a target in the given bucket. Zero when no such pair can pass
+     * the speed and size checks.
+     */
+    public double maxCatchChance(int hunter, int hunterBucket, int target, int targetBucket) {
+        int cells = names.length * BUCKETS;
+        return maxCatchChance[(hunter * BUCKETS + hunterBucket) * cells
+                + target * BUCKETS + targetBucket];
+    }
+
+    /** Maximum HP of an animal of the species at the given weight. */
+    public double scaledHp(int species, double weight) {
+        return CombatUtils.scaleByWeight(weight, adultWeights[species], adultHp[species]);
+    }
+
+    /** Effective attack scaled by weight, pack bonus and remaining HP. */
+    public double effectiveAttack(int species, NPCAnimal npc, boolean hasPackmate) {
+        double atk = CombatUtils.scaleByWeight(npc.getWeight(), adultWeights[species], baseAttack[species]);
+        if (packHunter[species] && hasPackmate) {
+            atk *= 3;
+        }
+        double hpPct = 1.0;
+        if (npc.getMaxHp() > 0) {
+            hpPct = Math.max(0.0, Math.min(npc.getHp() / npc.getMaxHp(), 1.0));
+        }
+        return atk * hpPct;
+    }
+
+    /** Effective speed including ambush and broken bone modifiers. */
+    public double effectiveSpeed(int species, NPCAnimal npc) {
+        double adult = adultWeights[species];
+        double speed = speedAt(species, adult > 0 ? npc.getWeight() / adult : 1.0);
+        if (npc.getAbilities().contains("ambush")) {
+            speed *= 1 + Math.min(npc.getAmbushStreak(), 3) * 0.05;
+        }
+        if (npc.getBrokenBone() > 0) {
+            speed *= 0.5;
+        }
+        return Math.max(speed, 0.1);
+    }
+
+    /**
+     * Table driven equivalent of {@link CombatUtils#npcDamageAdvantage}.
+     */
+    public boolean damageAdvantage(int hunter, double hunterAtk, double hunterHp,
+                                   int target, double targetAtk, double targetHp) {
+        double dmgToTarget = hunterAtk * armorFactor[hunter][target];
+        double dmgToHunter = targetAtk * armorFactor[target][hunter];
+
+        int targetBleed = 0;
+        int hunterBleed = 0;
+        if (dmgToTarget > 0 && bleed[hunter]) {
+            targetBleed = armored[target] ? 2 : 5;
+        }
+        if (dmgToHunter > 0 && bleed[target]) {
+            hunterBleed = armored[hunter] ? 2 : 5;
+        }
+
+        boolean bleeding = targetBleed > 0 || hunterBleed > 0;
+        double bleedDmgTarget = bleeding ? targetBleed * 0.05 * targetHp : 0.0;
+        double bleedDmgHunter = bleeding ? hunterBleed * 0.05 * hunterHp : 0.0;
+
+        double regenDmgTarget = 0.0;
+        double regenDmgHunter = 0.0;
+        if (bleeding) {
+            int regenTurnsTarget = Math.max(0, 5 - targetBleed);
+            int regenTurnsHunter = Math.max(0, 5 - hunterBleed);
+            regenDmgTarget = -healthRegen[target] / 100.0 * targetHp * regenTurnsTarget;
+            regenDmgHunter = -healthRegen[hunter] / 100.0 * hunterHp * regenTurnsHunter;
+        }
+
+        double totalTarget = Math.max(0.0, dmgToTarget + bleedDmgTarget + regenDmgTarget);
+        double totalHunter = Math.max(0.0, dmgToHunter + bleedDmgHunter + regenDmgHunter);
+
+        double pctTarget = totalTarget / Math.max(targetHp, 0.1);
+        double pctHunter = totalHunter / Math.max(hunterHp, 0.1);
+
+        return pctHunter < pctTarget;
+    }
+
+    /** Base speed at the given fraction of the adult weight. */
+    private double speedAt(int species, double pct) {
+        double hatch = hatchSpeed[species];
+        double adult = adultSpeed[species];
+        if (hatch > 0 || adult > 0) {
+            pct = Math.max(0.0, Math.min(1.0, pct));
+            return hatch + pct * (adult - hatch);
+        }
+        return adult;
+    }
+
+    /** Same curve as the catch roll used by hunting. */
+    static double catchChance(double relSpeed) {
+        if (relSpeed < 0.5) {
+            return 1.0;
+        }
+        if (relSpeed <= 1.0) {
+            return 1.0 - (relSpeed - 0.5);
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,232 @@
+package com.dinosurvival.game;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Everything needed to play a game again exactly: the seed, formation and
+ * player dinosaur it started with and every player action together with
+ * the turn it was taken on. Every {@link #setHashEvery} turns a hash of the
+ * whole game state is added so a {@link Replay} can tell where it first
+ * went differently. Journals are text files with one {@code |} separated
+ * entry per line:
+ * <pre>
+ * seed|42
+ * formation|Morrison
+ * dino|Allosaurus
+ * 0|move|1|0
+ * 1|huntNpc|17
+ * 100|hash|5f1c09a2
+ * </pre>
+ */
+public class InputJournal implements AutoCloseable {
+    public static final int DEFAULT_HASH_EVERY = 100;
+    /** Action name of state hash entries. */
+    public static final String HASH = "hash";
+    private static final String HEADER = "# dino-survival journal v1";
+
+    /** A player action, or a state hash when {@code action} is {@link #HASH}. */
+    public record Entry(int turn, String action, long[] args) {
+    }
+
+    private long seed;
+    private String formation;
+    private String dino;
+    private final List<Entry> entries = new ArrayList<>();
+    private int hashEvery = DEFAULT_HASH_EVERY;
+    private Path outFile;
+    private Writer out;
+
+    /** Also hash the game state every {@code turns} turns; zero never hashes. */
+    public void setHashEvery(int turns) {
+        this.hashEvery = Math.max(0, turns);
+    }
+
+    /**
+     * Write every entry to {@code file} as it is recorded, starting with
+     * those so far. The file is started over with each new game.
+     */
+    public void setOutput(Path file) throws IOException {
+        outFile = file;
+        reopen();
+    }
+
+    private void reopen() throws IOException {
+        close();
+        out = Files.newBufferedWriter(outFile, StandardCharsets.UTF_8);
+        out.write(HEADER + "\n");
+        if (formation != null) {
+            writeStart();
+            for (Entry e : entries) {
+                writeEntry(e);
+            }
+        }
+        out.flush();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getFormation() {
+        return formation;
+    }
+
+    public String getDino() {
+        return dino;
+    }
+
+    public List<Entry> getEntries() {
+        return List.copyOf(entries);
+    }
+
+    /** Start over for a new game. */
+    void begin(long seed, String formation, String dino) {
+        this.seed = seed;
+        this.formation = formation;
+        this.dino = dino;
+        entries.clear();
+        if (outFile != null) {
+            try {
+                reopen();
+            } catch (IOException ex) {
+                closeQuietly();
+            }
+        }
+    }
+
+    /** Record a player action taken on {@code turn}. */
+    void record(int turn, String action, long... args) {
+        add(new Entry(turn, action, args));
+    }
+
+    /** Called after every turn; adds a state hash when one is due. */
+    void endTurn(Game game) {
+        if (hashEvery > 0 && game.getTurn() % hashEvery == 0) {
+            add(new Entry(game.getTurn(), HASH, new long[]{stateHash(game)}));
+        }
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException ex) {
+                closeQuietly();
+            }
+        }
+    }
+
+    private void add(Entry e) {
+        entries.add(e);
+        if (out != null) {
+            try {
+                writeEntry(e);
+            } catch (IOException ex) {
+                // the journal in memory is still complete
+                closeQuietly();
+            }
+        }
+    }
+
+    /** Checksum of the complete state of {@code game}, as written by {@link SaveGame}. */
+    static long stateHash(Game game) {
+        try {
+            byte[] image = SaveGame.encode(1 << 16, game::writeState);
+            CRC32 crc = new CRC32();
+            crc.update(image);
+            return crc.getValue();
+        } catch (IOException ex) {
+            // only written to memory
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /** Write the whole journal to {@code file}. */
+    public void save(Path file) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            Writer saved = out;
+            out = w;
+            try {
+                out.write(HEADER + "\n");
+                writeStart();
+                for (Entry e : entries) {
+                    writeEntry(e);
+                }
+            } finally {
+                out = saved;
+            }
+        }
+    }
+
+    /** Read a journal written by {@link #save} or {@link #setOutput}. */
+    public static InputJournal load(Path file) throws IOException {
+        InputJournal journal = new InputJournal();
+        int n = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            n++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\|");
+            try {
+                switch (parts[0]) {
+                    case "seed" -> journal.seed = Long.parseLong(parts[1]);
+                    case "formation" -> journal.formation = parts[1];
+                    case "dino" -> journal.dino = parts[1];
+                    default -> {
+                        String action = parts[1];
+                        long[] args = new long[parts.length - 2];
+                        for (int i = 0; i < args.length; i++) {
+                            args[i] = HASH.equals(action)
+                                    ? Long.parseLong(parts[i + 2], 16)
+                                    : Long.parseLong(parts[i + 2]);
+                        }
+                        journal.entries.add(new Entry(Integer.parseInt(parts[0]), action, args));
+                    }
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                throw new IOException("Bad journal line " + n + ": " + line, ex);
+            }
+        }
+        if (journal.formation == null) {
+            throw new IOException("Journal has no formation: " + file);
+        }
+        return journal;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            try {
+                out.close();
+            } finally {
+                out = null;
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+            // already failing
+        }
+    }
+
+    private void writeStart() throws IOException {
+        out.write("seed|" + seed + "\nformation|" + formation + "\ndino|" + dino + "\n");
+    }
+
+    private void writeEntry(Entry e) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(e.turn()).append('|').append(e.action());
+        for (long a : e.args()) {
+            sb.append('|').append(HASH.equals(e.action()) ? String.format("%08x", a) : Long.toString(a));
+        }
+        out.write(sb.append('\n').toString());
+    }
+}
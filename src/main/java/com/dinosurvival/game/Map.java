@@ -8,8 +8,12 @@ import com.dinosurvival.game.Burrow;
 import com.dinosurvival.game.LavaInfo;
 import com.dinosurvival.model.DinosaurStats;
 import com.dinosurvival.game.WorldStats;
+import com.dinosurvival.util.StatsLoader;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Random;
 import com.dinosurvival.game.Settings;
@@ -23,11 +27,45 @@ public class Map {
     private final int width;
     private final int height;
     private final Terrain[][] grid;
+    /**
+     * Flat tile indices grouped by terrain ordinal, built on first use and
+     * then kept current tile by tile. Only the first {@code terrainCounts[t]}
+     * entries of each class are used; they stay in ascending order, so the
+     * classes follow from the grid alone and need not be saved.
+     */
+    private int[][] terrainTiles;
+    private int[] terrainCounts;
+    /** Position of every tile within its terrain class. */
+    private int[] terrainPos;
+    private int version;
+    private final int[] changeLog = new int[CHANGE_LOG_SIZE];
     private final boolean[][] revealed;
-    private final List<Plant>[][] plants;
+    private PlantTypes plantTypes;
+    /** Plant biomass indexed by {@code [plantOrdinal][y * width + x]}. */
+    private float[][] plantBiomass;
+    /** Running total of every plant grid, kept current by each change. */
+    private double[] plantTotals;
+    /** Scratch buffer of tile indices for one batch of growth events. */
+    private final int[] growthEvents;
+    private int growthCount;
+    private int[] growthClass;
+    /** Collects sampled tiles of {@link #growthClass}; one instance so batches allocate nothing. */
+    private final java.util.function.IntConsumer growthSink;
+    /** Number of tile changes remembered for {@link #changedTilesSince}. */
+    public static final int CHANGE_LOG_SIZE = 4096;
+    private static final PlantGrowthKernel GROWTH_KERNEL = PlantGrowthKernel.select();
     private final List<EggCluster>[][] eggs;
     private final List<NPCAnimal>[][] animals;
+    /** Dead animals on each tile, heaviest first. */
+    private final List<NPCAnimal>[][] carcasses;
+    /** Every carcass on the map mapped to its tile coordinates. */
+    private final java.util.Map<NPCAnimal, int[]> carcassLocations = new LinkedHashMap<>();
     private final Burrow[][] burrows;
+    /** Flat tile indices of every burrow on the map; the first {@code burrowCount} are used. */
+    private int[] burrowTiles = new int[16];
+    private int burrowCount;
+    /** Position of each burrow tile within {@link #burrowTiles}. */
+    private final int[] burrowPos;
     private final LavaInfo[][] lavaInfo;
     private final boolean[][] erupting;
     private final Terrain[][] lavaOrig;
@@ -35,8 +73,8 @@ public class Map {
     private final int[][] fireTurns;
     private final int[][] burntTurns;
     private final Terrain[][] floodInfo;
-    private final Random floodRng = new Random();
-    private final Random fireRng = new Random();
+    private final Random floodRng;
+    private final Random fireRng;
     private final Random rng;
     private boolean activeFlood = false;
     private int floodTurn = 0;
@@ -49,19 +87,36 @@ public class Map {
         this(width, height, setting, new Random());
     }
 
+    /** A map whose generation, floods and fires all follow from {@code seed}. */
     public Map(int width, int height, Setting setting, long seed) {
-        this(width, height, setting, new Random(seed));
+        this(width, height, setting, new Random(seed), new Random(seed + 1), new Random(seed + 2));
     }
 
     public Map(int width, int height, Setting setting, Random rng) {
+        this(width, height, setting, rng, new Random(), new Random());
+    }
+
+    private Map(int width, int height, Setting setting, Random rng, Random floodRng, Random fireRng) {
+        this(width, height, rng, floodRng, fireRng);
+        generate(setting.getTerrains(), setting.getHeightLevels(), setting.getHumidityLevels());
+    }
+
+    /** An empty map whose tiles are filled by {@link #generate} or {@link #readState}. */
+    private Map(int width, int height, Random rng, Random floodRng, Random fireRng) {
         this.width = width;
         this.height = height;
         this.grid = new Terrain[height][width];
         this.revealed = new boolean[height][width];
-        this.plants = (List<Plant>[][]) new ArrayList[height][width];
+        this.plantTypes = PlantTypes.of(StatsLoader.getPlantStats());
+        this.plantBiomass = new float[plantTypes.size()][width * height];
+        this.plantTotals = new double[plantTypes.size()];
+        this.growthEvents = new int[width * height];
+        this.growthSink = i -> growthEvents[growthCount++] = growthClass[i];
         this.eggs = (List<EggCluster>[][]) new ArrayList[height][width];
         this.animals = (List<NPCAnimal>[][]) new ArrayList[height][width];
+        this.carcasses = (List<NPCAnimal>[][]) new ArrayList[height][width];
         this.burrows = new Burrow[height][width];
+        this.burrowPos = new int[width * height];
         this.lavaInfo = new LavaInfo[height][width];
         this.erupting = new boolean[height][width];
         this.lavaOrig = new Terrain[height][width];
@@ -70,7 +125,13 @@ public class Map {
         this.burntTurns = new int[height][width];
         this.floodInfo = new Terrain[height][width];
         this.rng = rng;
-        generate(setting.getTerrains(), setting.getHeightLevels(), setting.getHumidityLevels());
+        this.floodRng = floodRng;
+        this.fireRng = fireRng;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                grid[y][x] = Terrain.PLAINS;
+            }
+        }
     }
 
     public void setStats(WorldStats stats) {
@@ -85,7 +146,7 @@ public class Map {
     }
 
     public Map(int width, int height, long seed) {
-        this(width, height, defaultSetting(), new Random(seed));
+        this(width, height, defaultSetting(), seed);
     }
 
     private static Setting defaultSetting() {
@@ -156,9 +217,9 @@ public class Map {
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
                 revealed[y][x] = false;
-                plants[y][x] = new ArrayList<>();
-                eggs[y][x] = new ArrayList<>();
+                eggs[y][x] = null;
                 animals[y][x] = new ArrayList<>();
+                carcasses[y][x] = null;
                 burrows[y][x] = null;
                 lavaInfo[y][x] = null;
                 erupting[y][x] = false;
@@ -248,6 +309,112 @@ public class Map {
         return grid[y][x];
     }
 
+    /** Change the terrain of a tile, keeping the terrain index current. */
+    private void setTerrain(int x, int y, Terrain terrain) {
+        if (grid[y][x] != terrain) {
+            if (terrainTiles != null) {
+                int idx = y * width + x;
+                removeTerrainTile(grid[y][x].ordinal(), idx);
+                addTerrainTile(terrain.ordinal(), idx);
+            }
+            grid[y][x] = terrain;
+            logChange(x, y);
+        }
+    }
+
+    /**
+     * Counter increased whenever terrain changes or a tile is revealed, so
+     * views can tell cheaply whether the map needs redrawing.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    private void logChange(int x, int y) {
+        changeLog[version & (CHANGE_LOG_SIZE - 1)] = y * width + x;
+        version++;
+    }
+
+    /**
+     * Tile indices ({@code y * width + x}) changed since {@code since}, one
+     * per version step, or {@code null} when more than
+     * {@link #CHANGE_LOG_SIZE} changes happened and the caller has to rescan.
+     */
+    public int[] changedTilesSince(int since) {
+        int count = version - since;
+        if (count < 0 || count > CHANGE_LOG_SIZE) {
+            return null;
+        }
+        int[] tiles = new int[count];
+        for (int i = 0; i < count; i++) {
+            tiles[i] = changeLog[(since + i) & (CHANGE_LOG_SIZE - 1)];
+        }
+        return tiles;
+    }
+
+    /**
+     * Flat {@code y * width + x} indices of every tile grouped by terrain
+     * ordinal. Used to sample random events per class of equally likely
+     * tiles rather than per tile.
+     */
+    private int[][] terrainTiles() {
+        if (terrainTiles == null) {
+            int[] counts = new int[Terrain.values().length];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    counts[grid[y][x].ordinal()]++;
+                }
+            }
+            initTerrainTiles(counts);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    addTerrainTile(grid[y][x].ordinal(), y * width + x);
+                }
+            }
+        }
+        return terrainTiles;
+    }
+
+    private void initTerrainTiles(int[] capacity) {
+        terrainTiles = new int[capacity.length][];
+        for (int t = 0; t < capacity.length; t++) {
+            terrainTiles[t] = new int[capacity[t]];
+        }
+        terrainCounts = new int[capacity.length];
+        terrainPos = new int[width * height];
+    }
+
+    private void addTerrainTile(int t, int idx) {
+        int n = terrainCounts[t];
+        int[] tiles = terrainTiles[t];
+        if (n == tiles.length) {
+            tiles = Arrays.copyOf(tiles, Math.min(width * height, Math.max(16, n * 2)));
+            terrainTiles[t] = tiles;
+        }
+        int pos = n;
+        if (n > 0 && tiles[n - 1] > idx) {
+            pos = -Arrays.binarySearch(tiles, 0, n, idx) - 1;
+            System.arraycopy(tiles, pos, tiles, pos + 1, n - pos);
+            for (int i = pos + 1; i <= n; i++) {
+                terrainPos[tiles[i]] = i;
+            }
+        }
+        tiles[pos] = idx;
+        terrainPos[idx] = pos;
+        terrainCounts[t] = n + 1;
+    }
+
+    /** Remove {@code idx} from class {@code t}, closing the gap it leaves. */
+    private void removeTerrainTile(int t, int idx) {
+        int last = --terrainCounts[t];
+        int pos = terrainPos[idx];
+        int[] tiles = terrainTiles[t];
+        System.arraycopy(tiles, pos + 1, tiles, pos, last - pos);
+        for (int i = pos; i < last; i++) {
+            terrainPos[tiles[i]] = i;
+        }
+    }
+
     /** Compatibility helper for old tests. */
     public Terrain getTerrain(int x, int y) {
         return terrainAt(x, y);
@@ -262,13 +429,28 @@ public class Map {
     }
 
     public void reveal(int x, int y) {
-        revealed[y][x] = true;
+        if (!revealed[y][x]) {
+            revealed[y][x] = true;
+            logChange(x, y);
+        }
     }
 
     public boolean isRevealed(int x, int y) {
         return revealed[y][x];
     }
 
+    int getFireTurns(int x, int y) {
+        return fireTurns[y][x];
+    }
+
+    int getBurntTurns(int x, int y) {
+        return burntTurns[y][x];
+    }
+
+    int getSolidifiedTurns(int x, int y) {
+        return solidifiedTurns[y][x];
+    }
+
     public boolean hasBurrow(int x, int y) {
         return burrows[y][x] != null;
     }
@@ -277,6 +459,9 @@ public class Map {
         if (terrainAt(x, y) == Terrain.LAKE) {
             return;
         }
+        if (burrows[y][x] == null) {
+            addBurrowTile(y * width + x);
+        }
         burrows[y][x] = new Burrow(full);
     }
 
@@ -286,7 +471,22 @@ public class Map {
 
     /** Remove any burrow present on the specified tile. */
     public void removeBurrow(int x, int y) {
-        burrows[y][x] = null;
+        if (burrows[y][x] != null) {
+            int last = --burrowCount;
+            int pos = burrowPos[y * width + x];
+            int moved = burrowTiles[last];
+            burrowTiles[pos] = moved;
+            burrowPos[moved] = pos;
+            burrows[y][x] = null;
+        }
+    }
+
+    private void addBurrowTile(int idx) {
+        if (burrowCount == burrowTiles.length) {
+            burrowTiles = Arrays.copyOf(burrowTiles, burrowCount * 2);
+        }
+        burrowTiles[burrowCount] = idx;
+        burrowPos[idx] = burrowCount++;
     }
 
     /**
@@ -303,12 +503,11 @@ public class Map {
                 }
             }
         }
-        Random r = new Random();
         for (int i = 0; i < count; i++) {
             if (land.isEmpty()) {
                 break;
             }
-            int idx = r.nextInt(land.size());
+            int idx = rng.nextInt(land.size());
             int[] pos = land.remove(idx);
             spawnBurrow(pos[0], pos[1], true);
         }
@@ -328,10 +527,14 @@ public class Map {
     }
 
     /**
-     * Add an animal to the specified tile.
+     * Add an animal to the specified tile. Dead animals are also registered
+     * as carcasses.
      */
     public void addAnimal(int x, int y, NPCAnimal npc) {
         animals[y][x].add(npc);
+        if (!npc.isAlive()) {
+            markCarcass(x, y, npc);
+        }
     }
 
     /**
@@ -339,20 +542,105 @@ public class Map {
      */
     public void removeAnimal(int x, int y, NPCAnimal npc) {
         animals[y][x].remove(npc);
+        if (carcassLocations.remove(npc) != null) {
+            carcassCell(x, y).remove(npc);
+        }
+    }
+
+    /** Remove every animal and carcass from the specified tile. */
+    public void clearAnimals(int x, int y) {
+        List<NPCAnimal> cell = carcasses[y][x];
+        if (cell != null) {
+            for (NPCAnimal npc : cell) {
+                carcassLocations.remove(npc);
+            }
+            cell.clear();
+        }
+        animals[y][x].clear();
+    }
+
+    /**
+     * Register a dead animal on the given tile as a carcass, or restore the
+     * weight ordering after an existing carcass lost weight. Must be called
+     * whenever an animal on the map dies or a carcass is partially eaten.
+     */
+    public void markCarcass(int x, int y, NPCAnimal npc) {
+        List<NPCAnimal> cell = carcassCell(x, y);
+        if (carcassLocations.put(npc, new int[]{x, y}) != null) {
+            cell.remove(npc);
+        }
+        int idx = 0;
+        while (idx < cell.size() && cell.get(idx).getWeight() >= npc.getWeight()) {
+            idx++;
+        }
+        cell.add(idx, npc);
+    }
+
+    /**
+     * Get the carcasses present at the given coordinates ordered from
+     * heaviest to lightest.
+     */
+    public List<NPCAnimal> getCarcasses(int x, int y) {
+        List<NPCAnimal> cell = carcasses[y][x];
+        return cell == null ? java.util.Collections.emptyList() : java.util.Collections.unmodifiableList(cell);
+    }
+
+    /**
+     * Carcass list of a tile, created on first use. Most tiles never hold a
+     * carcass or a nest, so those lists are left out until needed.
+     */
+    private List<NPCAnimal> carcassCell(int x, int y) {
+        List<NPCAnimal> cell = carcasses[y][x];
+        if (cell == null) {
+            cell = new ArrayList<>();
+            carcasses[y][x] = cell;
+        }
+        return cell;
+    }
+
+    /**
+     * Return the heaviest carcass with meat left on the tile or {@code null}
+     * if there is none.
+     */
+    public NPCAnimal heaviestCarcass(int x, int y) {
+        List<NPCAnimal> cell = carcasses[y][x];
+        if (cell == null || cell.isEmpty() || cell.get(0).getWeight() <= 0) {
+            return null;
+        }
+        return cell.get(0);
+    }
+
+    /**
+     * Snapshot of every carcass on the map mapped to its {@code {x, y}}
+     * tile coordinates.
+     */
+    public java.util.Map<NPCAnimal, int[]> getCarcassLocations() {
+        return new LinkedHashMap<>(carcassLocations);
     }
 
     /**
      * Get the list of egg clusters present at the given coordinates.
      */
     public List<EggCluster> getEggs(int x, int y) {
-        return eggs[y][x];
+        List<EggCluster> cell = eggs[y][x];
+        if (cell == null) {
+            cell = new ArrayList<>();
+            eggs[y][x] = cell;
+        }
+        return cell;
+    }
+
+    private void clearEggs(int x, int y) {
+        if (eggs[y][x] != null) {
+            eggs[y][x].clear();
+        }
     }
 
     /**
      * Return {@code true} if any egg clusters are present in the cell.
      */
     public boolean hasNest(int x, int y) {
-        return !eggs[y][x].isEmpty();
+        return eggs[y][x] != null && !eggs[y][x].isEmpty();
     }
 
     /**
@@ -360,7 +648,7 @@ public class Map {
      */
     public EggCluster takeEggs(int x, int y) {
         List<EggCluster> cell = eggs[y][x];
-        if (!cell.isEmpty()) {
+        if (cell != null && !cell.isEmpty()) {
             return cell.remove(0);
         }
         return null;
@@ -370,14 +658,105 @@ public class Map {
      * Add an egg cluster to the specified cell.
      */
     public void addEggs(int x, int y, EggCluster cluster) {
-        eggs[y][x].add(cluster);
+        getEggs(x, y).add(cluster);
     }
 
     /**
-     * Get the list of plants present at the given coordinates.
+     * Get a snapshot of the plants present at the given coordinates. Changes
+     * to the returned list do not affect the map.
      */
     public List<Plant> getPlants(int x, int y) {
-        return plants[y][x];
+        List<Plant> out = new ArrayList<>();
+        int idx = y * width + x;
+        for (int p = 0; p < plantBiomass.length; p++) {
+            float w = plantBiomass[p][idx];
+            if (w > 0) {
+                Plant plant = new Plant();
+                plant.setName(plantTypes.getName(p));
+                plant.setWeight(w);
+                out.add(plant);
+            }
+        }
+        return out;
+    }
+
+    public PlantTypes getPlantTypes() {
+        return plantTypes;
+    }
+
+    /** Biomass of the given plant ordinal on the tile. */
+    public double getPlantBiomass(int x, int y, int plant) {
+        return plantBiomass[plant][y * width + x];
+    }
+
+    public void setPlantBiomass(int x, int y, int plant, double weight) {
+        int idx = y * width + x;
+        float old = plantBiomass[plant][idx];
+        plantBiomass[plant][idx] = (float) Math.max(0.0, weight);
+        plantTotals[plant] += (double) plantBiomass[plant][idx] - old;
+    }
+
+    /** Biomass of the given plant ordinal summed over every tile. */
+    public double getTotalPlantBiomass(int plant) {
+        return Math.max(0.0, plantTotals[plant]);
+    }
+
+    /** Add biomass of the named plant to the tile. Unknown plants are ignored. */
+    public void addPlant(int x, int y, String name, double weight) {
+        int p = plantTypes.indexOf(name);
+        if (p >= 0) {
+            int idx = y * width + x;
+            float old = plantBiomass[p][idx];
+            plantBiomass[p][idx] += (float) weight;
+            plantTotals[p] += (double) plantBiomass[p][idx] - old;
+        }
+    }
+
+    /** Remove every plant from the specified tile. */
+    public void clearPlants(int x, int y) {
+        int idx = y * width + x;
+        for (int p = 0; p < plantBiomass.length; p++) {
+            plantTotals[p] -= plantBiomass[p][idx];
+            plantBiomass[p][idx] = 0f;
+        }
+    }
+
+    /**
+     * Return the ordinal of the heaviest plant on the tile that is allowed by
+     * {@code diet} (indexed by plant ordinal), or {@code -1} if none is present.
+     */
+    public int heaviestPlant(int x, int y, boolean[] diet) {
+        int idx = y * width + x;
+        int best = -1;
+        float bestWeight = 0f;
+        for (int p = 0; p < plantBiomass.length; p++) {
+            float w = plantBiomass[p][idx];
+            if (diet[p] && w > bestWeight) {
+                best = p;
+                bestWeight = w;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Switch the plant index used by this map, carrying over any biomass for
+     * plants that exist in both indices.
+     */
+    public void setPlantTypes(PlantTypes types) {
+        if (types == plantTypes) {
+            return;
+        }
+        float[][] grids = new float[types.size()][];
+        double[] totals = new double[types.size()];
+        for (int p = 0; p < types.size(); p++) {
+            int old = plantTypes.indexOf(types.getName(p));
+            grids[p] = old >= 0 ? plantBiomass[old] : new float[width * height];
+            totals[p] = old >= 0 ? plantTotals[old] : 0.0;
+        }
+        plantTypes = types;
+        plantBiomass = grids;
+        plantTotals = totals;
     }
 
     // ---------------------------------------------------------------------
@@ -408,6 +787,9 @@ public class Map {
         };
 
         erupting[y][x] = true;
+        if (stats != null) {
+            stats.recordEruption(x, y, size);
+        }
 
         int[][] dirs = { {0,0}, {1,0}, {-1,0}, {0,1}, {0,-1} };
         for (int[] d : dirs) {
@@ -417,20 +799,20 @@ public class Map {
                 continue;
             }
 
-            animals[ay][ax].clear();
-            eggs[ay][ax].clear();
-            burrows[ay][ax] = null;
+            clearAnimals(ax, ay);
+            clearEggs(ax, ay);
+            removeBurrow(ax, ay);
 
             int spreadSteps;
             if (ax == x && ay == y) {
-                grid[ay][ax] = Terrain.VOLCANO_ERUPTING;
+                setTerrain(ax, ay, Terrain.VOLCANO_ERUPTING);
                 spreadSteps = steps;
             } else {
                 if (lavaOrig[ay][ax] == null) {
                     lavaOrig[ay][ax] = grid[ay][ax];
                 }
                 solidifiedTurns[ay][ax] = 0;
-                grid[ay][ax] = Terrain.LAVA;
+                setTerrain(ax, ay, Terrain.LAVA);
                 spreadSteps = Math.max(steps - 1, 0);
             }
 
@@ -474,9 +856,9 @@ public class Map {
                     info.setCooldown(info.getCooldown() - 1);
                     if (info.getCooldown() <= 0) {
                         if (grid[y][x] == Terrain.VOLCANO_ERUPTING) {
-                            grid[y][x] = Terrain.VOLCANO;
+                            setTerrain(x, y, Terrain.VOLCANO);
                         } else {
-                            grid[y][x] = Terrain.SOLIDIFIED_LAVA_FIELD;
+                            setTerrain(x, y, Terrain.SOLIDIFIED_LAVA_FIELD);
                             solidifiedTurns[y][x] = 100;
                         }
                         lavaInfo[y][x] = null;
@@ -496,21 +878,21 @@ public class Map {
                     npc.setAge(-1);
                     npc.setSpeed(0.0);
                     if (stats != null) {
-                        stats.recordDeath(npc.getName(), "disaster");
+                        stats.recordDeath(npc.getName(), DeathCause.DISASTER);
                     }
                     if (nx == playerX && ny == playerY) {
                         msgs.add(npcLabel(npc) + " is incinerated by lava.");
                     }
                 }
             }
-            animals[ny][nx].clear();
-            eggs[ny][nx].clear();
-            burrows[ny][nx] = null;
+            clearAnimals(nx, ny);
+            clearEggs(nx, ny);
+            removeBurrow(nx, ny);
             if (lavaOrig[ny][nx] == null) {
                 lavaOrig[ny][nx] = grid[ny][nx];
             }
             solidifiedTurns[ny][nx] = 0;
-            grid[ny][nx] = Terrain.LAVA;
+            setTerrain(nx, ny, Terrain.LAVA);
             lavaInfo[ny][nx] = new LavaInfo(steps, 1);
             if (nx == playerX && ny == playerY) {
                 msgs.add("Lava flows over you!");
@@ -543,7 +925,7 @@ public class Map {
                 if (solidifiedTurns[y][x] <= 0) {
                     Terrain prev = lavaOrig[y][x];
                     if (prev != null) {
-                        grid[y][x] = prev;
+                        setTerrain(x, y, prev);
                     }
                     lavaOrig[y][x] = null;
                 }
@@ -561,9 +943,9 @@ public class Map {
     public void startForestFire(int x, int y) {
         Terrain t = terrainAt(x, y);
         if (t == Terrain.FOREST) {
-            grid[y][x] = Terrain.FOREST_FIRE;
+            setTerrain(x, y, Terrain.FOREST_FIRE);
         } else if (t == Terrain.HIGHLAND_FOREST) {
-            grid[y][x] = Terrain.HIGHLAND_FOREST_FIRE;
+            setTerrain(x, y, Terrain.HIGHLAND_FOREST_FIRE);
         } else {
             return;
         }
@@ -576,14 +958,14 @@ public class Map {
                 npc.setAge(-1);
                 npc.setSpeed(0.0);
                 if (stats != null) {
-                    stats.recordDeath(npc.getName(), "disaster");
+                    stats.recordDeath(npc.getName(), DeathCause.DISASTER);
                 }
             }
         }
-        animals[y][x].clear();
-        eggs[y][x].clear();
-        burrows[y][x] = null;
-        plants[y][x].clear();
+        clearAnimals(x, y);
+        clearEggs(x, y);
+        removeBurrow(x, y);
+        clearPlants(x, y);
     }
 
     public List<String> updateForestFire() {
@@ -607,10 +989,10 @@ public class Map {
                     fireTurns[y][x]--;
                     if (fireTurns[y][x] == 0) {
                         if (grid[y][x] == Terrain.FOREST_FIRE) {
-                            grid[y][x] = Terrain.FOREST_BURNT;
+                            setTerrain(x, y, Terrain.FOREST_BURNT);
                             burntTurns[y][x] = 50;
                         } else if (grid[y][x] == Terrain.HIGHLAND_FOREST_FIRE) {
-                            grid[y][x] = Terrain.HIGHLAND_FOREST_BURNT;
+                            setTerrain(x, y, Terrain.HIGHLAND_FOREST_BURNT);
                             burntTurns[y][x] = 50;
                         }
                     }
@@ -619,9 +1001,9 @@ public class Map {
                     burntTurns[y][x]--;
                     if (burntTurns[y][x] == 0) {
                         if (grid[y][x] == Terrain.FOREST_BURNT) {
-                            grid[y][x] = Terrain.FOREST;
+                            setTerrain(x, y, Terrain.FOREST);
                         } else if (grid[y][x] == Terrain.HIGHLAND_FOREST_BURNT) {
-                            grid[y][x] = Terrain.HIGHLAND_FOREST;
+                            setTerrain(x, y, Terrain.HIGHLAND_FOREST);
                         }
                     }
                 }
@@ -640,11 +1022,14 @@ public class Map {
             return;
         }
         List<int[]> options = new ArrayList<>();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                Terrain t = grid[y][x];
-                if ((t == Terrain.FOREST || t == Terrain.HIGHLAND_FOREST)
-                        && fireTurns[y][x] == 0 && burntTurns[y][x] == 0) {
+        int[][] tiles = terrainTiles();
+        for (Terrain t : new Terrain[]{Terrain.FOREST, Terrain.HIGHLAND_FOREST}) {
+            int[] cls = tiles[t.ordinal()];
+            for (int i = 0; i < terrainCounts[t.ordinal()]; i++) {
+                int idx = cls[i];
+                int x = idx % width;
+                int y = idx / width;
+                if (fireTurns[y][x] == 0 && burntTurns[y][x] == 0) {
                     options.add(new int[]{x, y});
                 }
             }
@@ -688,47 +1073,35 @@ public class Map {
     }
 
     public void refreshBurrows() {
-        Random r = new Random();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                Burrow b = burrows[y][x];
-                if (b != null && !b.isFull()) {
-                    if (r.nextDouble() < 0.02) {
-                        b.setFull(true);
-                        b.setProgress(0.0);
-                    }
-                }
+        // Trials run for every burrow; full ones simply ignore a success.
+        SparseEventSampler.forEachEvent(burrowCount, 0.02, rng, i -> {
+            int idx = burrowTiles[i];
+            Burrow b = burrows[idx / width][idx % width];
+            if (!b.isFull()) {
+                b.setFull(true);
+                b.setProgress(0.0);
             }
-        }
+        });
     }
 
     public void growPlants(java.util.Map<String, PlantStats> plantStats) {
-        Random r = new Random();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                List<Plant> cell = plants[y][x];
-                String terrain = terrainAt(x, y).getName();
-                for (PlantStats ps : plantStats.values()) {
-                    Double chance = ps.getGrowthChance().get(terrain);
-                    if (chance == null) continue;
-                    if (r.nextDouble() < chance) {
-                        Plant existing = null;
-                        for (Plant p : cell) {
-                            if (ps.getName().equals(p.getName())) {
-                                existing = p;
-                                break;
-                            }
-                        }
-                        if (existing != null) {
-                            existing.setWeight(Math.min(existing.getWeight() + ps.getWeight(), ps.getWeight() * 10));
-                        } else {
-                            Plant p = new Plant();
-                            p.setName(ps.getName());
-                            p.setWeight(ps.getWeight());
-                            cell.add(p);
-                        }
-                    }
-                }
+        setPlantTypes(PlantTypes.of(plantStats));
+        int n = plantTypes.size();
+        float[] unit = new float[n];
+        float[] max = new float[n];
+        for (int p = 0; p < n; p++) {
+            unit[p] = (float) plantTypes.getUnitWeight(p);
+            max[p] = (float) plantTypes.getMaxWeight(p);
+        }
+        int[][] tiles = terrainTiles();
+        for (Terrain t : Terrain.values()) {
+            int[] cls = tiles[t.ordinal()];
+            double[] chances = plantTypes.growthChances(t);
+            growthClass = cls;
+            for (int p = 0; p < n; p++) {
+                growthCount = 0;
+                SparseEventSampler.forEachEvent(terrainCounts[t.ordinal()], chances[p], rng, growthSink);
+                plantTotals[p] += GROWTH_KERNEL.grow(plantBiomass[p], growthEvents, growthCount, unit[p], max[p]);
             }
         }
     }
@@ -771,8 +1144,8 @@ public class Map {
             return;
         }
         floodInfo[y][x] = orig;
-        grid[y][x] = flooded;
-        plants[y][x].clear();
+        setTerrain(x, y, flooded);
+        clearPlants(x, y);
         for (NPCAnimal npc : new ArrayList<>(animals[y][x])) {
             if (npc.isAlive()) {
                 double dmg = npc.getMaxHp() * 0.5;
@@ -782,8 +1155,9 @@ public class Map {
                     npc.setAlive(false);
                     npc.setAge(-1);
                     npc.setSpeed(0.0);
+                    markCarcass(x, y, npc);
                     if (stats != null) {
-                        stats.recordDeath(npc.getName(), "disaster");
+                        stats.recordDeath(npc.getName(), DeathCause.DISASTER);
                     }
                     if (player != null && x == playerX && y == playerY && before > 0) {
                         if (msgs != null) {
@@ -811,7 +1185,7 @@ public class Map {
             for (int x = 0; x < width; x++) {
                 Terrain orig = floodInfo[y][x];
                 if (orig != null) {
-                    grid[y][x] = orig;
+                    setTerrain(x, y, orig);
                     floodInfo[y][x] = null;
                 }
             }
@@ -902,4 +1276,347 @@ public class Map {
     private String npcLabel(NPCAnimal npc) {
         return npc.getName() + " (" + npc.getId() + ")";
     }
+
+    // ---------------------------------------------------------------------
+    // Save games
+    // ---------------------------------------------------------------------
+
+    /**
+     * Write every layer of the map to a save game. Returns the animals in
+     * record order so other parts of the save can refer to them by index.
+     */
+    List<NPCAnimal> writeState(SaveGame.Out out) throws IOException {
+        out.putInt(width);
+        out.putInt(height);
+        out.putRandom(rng);
+        out.putRandom(floodRng);
+        out.putRandom(fireRng);
+
+        Terrain[] terrains = Terrain.values();
+        out.putInt(terrains.length);
+        for (Terrain t : terrains) {
+            out.putString(t.name());
+        }
+        for (Terrain[] row : grid) {
+            for (Terrain t : row) {
+                out.putByte(t.ordinal());
+            }
+        }
+        out.putBits(revealed);
+
+        out.putInt(plantTypes.size());
+        for (int p = 0; p < plantTypes.size(); p++) {
+            out.putString(plantTypes.getName(p));
+            out.putFloats(plantBiomass[p]);
+            // the running total, which can differ from a fresh sum in the last bits
+            out.putDouble(plantTotals[p]);
+        }
+
+        // the layers above keep their size; what follows grows and shrinks
+        out.section();
+        int clusters = 0;
+        for (List<EggCluster>[] row : eggs) {
+            for (List<EggCluster> cell : row) {
+                clusters += cell == null ? 0 : cell.size();
+            }
+        }
+        out.putInt(clusters);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (eggs[y][x] == null) {
+                    continue;
+                }
+                for (EggCluster egg : eggs[y][x]) {
+                    out.putInt(y * width + x);
+                    out.putString(egg.getSpecies());
+                    out.putInt(egg.getNumber());
+                    out.putDouble(egg.getWeight());
+                    out.putInt(egg.getTurnsUntilHatch());
+                    out.putBoolean(egg.isDescendant());
+                }
+            }
+        }
+
+        out.putInt(burrowCount);
+        for (int i = 0; i < burrowCount; i++) {
+            int idx = burrowTiles[i];
+            Burrow b = burrows[idx / width][idx % width];
+            out.putInt(idx);
+            out.putBoolean(b.isFull());
+            out.putDouble(b.getProgress());
+        }
+
+        int lava = 0;
+        for (LavaInfo[] row : lavaInfo) {
+            for (LavaInfo info : row) {
+                lava += info != null ? 1 : 0;
+            }
+        }
+        out.putInt(lava);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (lavaInfo[y][x] != null) {
+                    out.putInt(y * width + x);
+                    out.putInt(lavaInfo[y][x].getSteps());
+                    out.putInt(lavaInfo[y][x].getCooldown());
+                }
+            }
+        }
+        out.putBits(erupting);
+        putSparse(out, lavaOrig);
+        putSparse(out, solidifiedTurns);
+        putSparse(out, fireTurns);
+        putSparse(out, burntTurns);
+        putSparse(out, floodInfo);
+        out.putBoolean(activeFlood);
+        out.putInt(floodTurn);
+
+        out.section();
+        // animals in tile order, then carcasses that are no longer listed on a tile
+        java.util.Map<NPCAnimal, Integer> index = new java.util.IdentityHashMap<>();
+        List<NPCAnimal> records = new ArrayList<>();
+        for (List<NPCAnimal>[] row : animals) {
+            for (List<NPCAnimal> cell : row) {
+                for (NPCAnimal npc : cell) {
+                    index.put(npc, records.size());
+                    records.add(npc);
+                }
+            }
+        }
+        int listed = records.size();
+        for (NPCAnimal npc : carcassLocations.keySet()) {
+            if (!index.containsKey(npc)) {
+                index.put(npc, records.size());
+                records.add(npc);
+            }
+        }
+        out.putInt(records.size());
+        int r = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (NPCAnimal npc : animals[y][x]) {
+                    SaveGame.putNpc(out, npc, y * width + x, 0);
+                    r++;
+                }
+            }
+        }
+        for (; r < records.size(); r++) {
+            int[] pos = carcassLocations.get(records.get(r));
+            SaveGame.putNpc(out, records.get(r), pos[1] * width + pos[0], SaveGame.DETACHED);
+        }
+        out.section();
+        for (NPCAnimal npc : records) {
+            SaveGame.putHunts(out, npc);
+        }
+
+        out.section();
+        int carcassTiles = 0;
+        for (List<NPCAnimal>[] row : carcasses) {
+            for (List<NPCAnimal> cell : row) {
+                carcassTiles += cell == null || cell.isEmpty() ? 0 : 1;
+            }
+        }
+        out.putInt(carcassTiles);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (carcasses[y][x] != null && !carcasses[y][x].isEmpty()) {
+                    out.putInt(y * width + x);
+                    out.putInt(carcasses[y][x].size());
+                    for (NPCAnimal npc : carcasses[y][x]) {
+                        out.putInt(index.get(npc));
+                    }
+                }
+            }
+        }
+        out.putInt(carcassLocations.size());
+        for (NPCAnimal npc : carcassLocations.keySet()) {
+            out.putInt(index.get(npc));
+        }
+        return records;
+    }
+
+    /** Read a map written by {@link #writeState}, adding its animals to {@code records}. */
+    static Map readState(SaveGame.In in, List<NPCAnimal> records) throws IOException {
+        int width = in.getInt();
+        int height = in.getInt();
+        Map map = new Map(width, height, in.getRandom(), in.getRandom(), in.getRandom());
+
+        Terrain[] terrains = readTerrains(in);
+        for (Terrain[] row : map.grid) {
+            for (int x = 0; x < width; x++) {
+                int t = in.getByte();
+                if (t < 0 || t >= terrains.length) {
+                    throw new IOException("Terrain index out of range: " + t);
+                }
+                row[x] = terrains[t];
+            }
+        }
+        in.getBits(map.revealed);
+
+        int plants = in.getInt();
+        for (int i = 0; i < plants; i++) {
+            int p = map.plantTypes.indexOf(in.getString());
+            if (p >= 0) {
+                in.getFloats(map.plantBiomass[p]);
+                map.plantTotals[p] = in.getDouble();
+            } else {
+                // plants missing from the loaded statistics are dropped
+                in.skipFloats(width * height);
+                in.getDouble();
+            }
+        }
+
+        int clusters = in.getInt();
+        for (int i = 0; i < clusters; i++) {
+            int idx = in.getInt();
+            map.getEggs(idx % width, idx / width).add(new EggCluster(
+                    in.getString(), in.getInt(), in.getDouble(), in.getInt(), in.getBoolean()));
+        }
+
+        int burrowCount = in.getInt();
+        for (int i = 0; i < burrowCount; i++) {
+            int idx = in.getInt();
+            Burrow b = new Burrow(in.getBoolean());
+            b.setProgress(in.getDouble());
+            map.burrows[idx / width][idx % width] = b;
+            map.addBurrowTile(idx);
+        }
+
+        int lava = in.getInt();
+        for (int i = 0; i < lava; i++) {
+            int idx = in.getInt();
+            map.lavaInfo[idx / width][idx % width] = new LavaInfo(in.getInt(), in.getInt());
+        }
+        in.getBits(map.erupting);
+        getSparse(in, map.lavaOrig, terrains);
+        getSparse(in, map.solidifiedTurns);
+        getSparse(in, map.fireTurns);
+        getSparse(in, map.burntTurns);
+        getSparse(in, map.floodInfo, terrains);
+        map.activeFlood = in.getBoolean();
+        map.floodTurn = in.getInt();
+
+        // records come in tile order, so each tile's list is sized once from the run ahead
+        int count = in.getInt();
+        int base = records.size();
+        int[] tiles = new int[count];
+        int[] hunts = new int[count];
+        List<NPCAnimal> cell = null;
+        int cellTile = -1;
+        for (int i = 0; i < count; i++) {
+            SaveGame.NpcRecord rec = SaveGame.getNpc(in);
+            tiles[i] = rec.tile();
+            hunts[i] = rec.hunts();
+            records.add(rec.npc());
+            if ((rec.flags() & SaveGame.DETACHED) != 0) {
+                continue;
+            }
+            if (rec.tile() != cellTile) {
+                cellTile = rec.tile();
+                int run = 1;
+                while (i + run < count && SaveGame.peekNpcTile(in, run - 1) == cellTile) {
+                    run++;
+                }
+                cell = map.animals[cellTile / width][cellTile % width];
+                if (cell == null) {
+                    cell = new ArrayList<>(run);
+                    map.animals[cellTile / width][cellTile % width] = cell;
+                }
+            }
+            cell.add(rec.npc());
+        }
+        for (int i = 0; i < count; i++) {
+            SaveGame.getHunts(in, records.get(base + i), hunts[i]);
+        }
+        for (List<NPCAnimal>[] row : map.animals) {
+            for (int x = 0; x < width; x++) {
+                if (row[x] == null) {
+                    row[x] = new ArrayList<>();
+                }
+            }
+        }
+
+        int carcassTiles = in.getInt();
+        for (int i = 0; i < carcassTiles; i++) {
+            int idx = in.getInt();
+            List<NPCAnimal> dead = map.carcassCell(idx % width, idx / width);
+            int n = in.getInt();
+            for (int j = 0; j < n; j++) {
+                dead.add(records.get(base + in.getInt()));
+            }
+        }
+        int located = in.getInt();
+        for (int i = 0; i < located; i++) {
+            int r = in.getInt();
+            map.carcassLocations.put(records.get(base + r), new int[]{tiles[r] % width, tiles[r] / width});
+        }
+        return map;
+    }
+
+    private static Terrain[] readTerrains(SaveGame.In in) throws IOException {
+        Terrain[] terrains = new Terrain[in.getInt()];
+        for (int i = 0; i < terrains.length; i++) {
+            String name = in.getString();
+            try {
+                terrains[i] = Terrain.valueOf(name);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Unknown terrain in save game: " + name, ex);
+            }
+        }
+        return terrains;
+    }
+
+    private void putSparse(SaveGame.Out out, int[][] layer) throws IOException {
+        int n = 0;
+        for (int[] row : layer) {
+            for (int v : row) {
+                n += v != 0 ? 1 : 0;
+            }
+        }
+        out.putInt(n);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (layer[y][x] != 0) {
+                    out.putInt(y * width + x);
+                    out.putInt(layer[y][x]);
+                }
+            }
+        }
+    }
+
+    private void putSparse(SaveGame.Out out, Terrain[][] layer) throws IOException {
+        int n = 0;
+        for (Terrain[] row : layer) {
+            for (Terrain t : row) {
+                n += t != null ? 1 : 0;
+            }
+        }
+        out.putInt(n);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (layer[y][x] != null) {
+                    out.putInt(y * width + x);
+                    out.putByte(layer[y][x].ordinal());
+                }
+            }
+        }
+    }
+
+    private static void getSparse(SaveGame.In in, int[][] layer) {
+        int width = layer[0].length;
+        int n = in.getInt();
+        for (int i = 0; i < n; i++) {
+            int idx = in.getInt();
+            layer[idx / width][idx % width] = in.getInt();
+        }
+    }
+
+    private static void getSparse(SaveGame.In in, Terrain[][] layer, Terrain[] terrains) {
+        int width = layer[0].length;
+        int n = in.getInt();
+        for (int i = 0; i < n; i++) {
+            int idx = in.getInt();
+            layer[idx / width][idx % width] = terrains[in.getByte()];
+        }
+    }
 }
@@ -3,6 +3,18 @@ package com.dinosurvival.game;
 /** Utility methods for {@link Map} objects. */
 public final class MapUtils {
 
+    /** The four cardinal moves by name, always iterated in the same order. */
+    public static final java.util.Map<String, int[]> DIRECTIONS;
+
+    static {
+        java.util.Map<String, int[]> dirs = new java.util.LinkedHashMap<>();
+        dirs.put("Up", new int[]{0, -1});
+        dirs.put("Right", new int[]{1, 0});
+        dirs.put("Down", new int[]{0, 1});
+        dirs.put("Left", new int[]{-1, 0});
+        DIRECTIONS = java.util.Collections.unmodifiableMap(dirs);
+    }
+
     private MapUtils() {
         // utility class
     }
@@ -2,7 +2,6 @@ package com.dinosurvival.game;
 
 import com.dinosurvival.model.DinosaurStats;
 import com.dinosurvival.model.NPCAnimal;
-import com.dinosurvival.model.Plant;
 import com.dinosurvival.util.StatsLoader;
 import com.dinosurvival.game.CombatUtils;
 import com.dinosurvival.game.WorldStats;
@@ -19,8 +18,12 @@ public class NpcController {
     private Weather weather;
     private WorldStats stats;
     private int nextNpcId = 1;
+    private Random rng = new Random();
     private final List<NPCAnimal> spawned = new ArrayList<>();
     private final List<String> mammalSpecies = new ArrayList<>();
+    private PlantTypes dietPlantTypes;
+    private final java.util.Map<String, boolean[]> plantDiets = new java.util.HashMap<>();
+    private HuntingTable huntingTable;
 
     public NpcController(Map map, Weather weather, WorldStats stats) {
         this.map = map;
@@ -36,6 +39,19 @@ public class NpcController {
         this.weather = weather;
     }
 
+    /** Source of every random choice NPCs make; share the game's to make turns reproducible. */
+    public void setRandom(Random rng) {
+        this.rng = rng;
+    }
+
+    int getNextNpcId() {
+        return nextNpcId;
+    }
+
+    void setNextNpcId(int id) {
+        nextNpcId = id;
+    }
+
     public int allocateNpcId() {
         return nextNpcId++;
     }
@@ -119,7 +135,6 @@ public class NpcController {
             spawnCounts = base;
         }
 
-        Random rand = new Random();
         for (var e : species) {
             String name = e.getKey();
             DinosaurStats stats = e.getValue();
@@ -130,20 +145,20 @@ public class NpcController {
             if (tiles.isEmpty() || loopCount <= 0) {
                 for (int i = 0; i < loopCount; i++) {
                     if (!tiles.isEmpty()) {
-                        rand.nextInt(tiles.size());
+                        rng.nextInt(tiles.size());
                     }
                     if (stats.isCanBeJuvenile()) {
-                        rand.nextDouble();
+                        rng.nextDouble();
                     }
                 }
                 continue;
             }
             for (int i = 0; i < loopCount; i++) {
-                int[] pos = tiles.get(rand.nextInt(tiles.size()));
+                int[] pos = tiles.get(rng.nextInt(tiles.size()));
                 double weight;
                 if (stats.isCanBeJuvenile()) {
                     double max = Math.max(stats.getAdultWeight(), 0.0);
-                    weight = 3.0 + rand.nextDouble() * (max - 3.0);
+                    weight = 3.0 + rng.nextDouble() * (max - 3.0);
                     if (weight > max) weight = max;
                 } else {
                     weight = stats.getAdultWeight();
@@ -183,7 +198,6 @@ public class NpcController {
             }
         }
 
-        Random rand = new Random();
         StatsLoader.getCritterStats().forEach((name, stats) -> {
             int maxInd = 0;
             Object maxObj = stats.get("maximum_individuals");
@@ -212,7 +226,7 @@ public class NpcController {
                 if (avgObj instanceof Number num) {
                     avg = num.doubleValue();
                 }
-                spawnCount = (int) Math.round(rand.nextGaussian() * 0.5 + avg);
+                spawnCount = (int) Math.round(rng.nextGaussian() * 0.5 + avg);
                 if (spawnCount < 0) spawnCount = 0;
             }
 
@@ -221,7 +235,7 @@ public class NpcController {
             List<int[]> tiles = canWalk ? land : lake;
 
             for (int i = 0; i < toSpawn && !tiles.isEmpty(); i++) {
-                int[] pos = tiles.get(rand.nextInt(tiles.size()));
+                int[] pos = tiles.get(rng.nextInt(tiles.size()));
 
                 boolean occupied = false;
                 for (NPCAnimal npc : map.getAnimals(pos[0], pos[1])) {
@@ -309,9 +323,23 @@ public class NpcController {
         return false;
     }
 
-    private boolean statsDietHasPlant(Object stats) {
-        return statsDietHas(stats, "ferns") || statsDietHas(stats, "cycads")
-                || statsDietHas(stats, "conifers") || statsDietHas(stats, "fruits");
+    /**
+     * Plants edible by the species indexed by plant ordinal. Masks are built
+     * once per species and rebuilt only if the map's plant index changes.
+     */
+    private boolean[] plantDietMask(String species, Object stats) {
+        PlantTypes types = map.getPlantTypes();
+        if (types != dietPlantTypes) {
+            plantDiets.clear();
+            dietPlantTypes = types;
+        }
+        return plantDiets.computeIfAbsent(species, k -> {
+            boolean[] mask = new boolean[types.size()];
+            for (int p = 0; p < mask.length; p++) {
+                mask[p] = statsDietHas(stats, types.getName(p));
+            }
+            return mask;
+        });
     }
 
     private boolean applyBleedAndRegen(NPCAnimal npc, double regen) {
@@ -323,7 +351,7 @@ public class NpcController {
                 npc.setAge(-1);
                 npc.setSpeed(0.0);
                 if (this.stats != null) {
-                    this.stats.recordDeath(npc.getName(), "combat");
+                    this.stats.recordDeath(npc.getName(), DeathCause.COMBAT);
                 }
                 return true;
             }
@@ -348,7 +376,7 @@ public class NpcController {
                 npc.setAge(-1);
                 npc.setSpeed(0.0);
                 if (this.stats != null) {
-                    this.stats.recordDeath(npc.getName(), "starvation");
+                    this.stats.recordDeath(npc.getName(), DeathCause.STARVATION);
                 }
                 return true;
             }
@@ -385,12 +413,13 @@ public class NpcController {
         npc.setHp(newMax * ratio);
     }
 
-    private void npcConsumePlant(int tx, int ty, NPCAnimal npc, Plant plant, Object stats,
+    private void npcConsumePlant(int tx, int ty, NPCAnimal npc, int plant, Object stats,
                                  int playerX, int playerY, List<String> messages) {
+        double plantWeight = map.getPlantBiomass(tx, ty, plant);
         double energyNeeded = 100.0 - npc.getEnergy();
         double weightForEnergy = energyNeeded * npc.getWeight() / 1000.0;
         double growthTarget = npcMaxGrowthGain(npc.getWeight(), stats);
-        double eatAmount = Math.min(plant.getWeight(), weightForEnergy + growthTarget);
+        double eatAmount = Math.min(plantWeight, weightForEnergy + growthTarget);
         double energyGainPossible = 1000 * eatAmount / Math.max(npc.getWeight(), 0.1);
         double actualGain = Math.min(energyNeeded, energyGainPossible);
         double beforeEnergy = npc.getEnergy();
@@ -400,7 +429,7 @@ public class NpcController {
         double beforeWeight = npc.getWeight();
         npcApplyGrowth(npc, remaining, stats);
         double weightGain = npc.getWeight() - beforeWeight;
-        plant.setWeight(plant.getWeight() - eatAmount);
+        map.setPlantBiomass(tx, ty, plant, plantWeight - eatAmount);
         printNpcEatingInfoIfOnPlayersTile(tx, ty, npc, playerX, playerY, messages, eatAmount, beforeEnergy, weightGain);
     }
 
@@ -462,8 +491,7 @@ public class NpcController {
         b.setProgress(0.0);
 
         if (!mammalSpecies.isEmpty()) {
-            Random r = new Random();
-            String name = mammalSpecies.get(r.nextInt(mammalSpecies.size()));
+            String name = mammalSpecies.get(rng.nextInt(mammalSpecies.size()));
             java.util.Map<String, Object> stats = StatsLoader.getCritterStats().get(name);
             double weight = 0.0;
             Object wObj = stats.get("adult_weight");
@@ -605,11 +633,12 @@ public class NpcController {
     }
 
     private void updateNpcsInternal(int playerX, int playerY, List<String> messages) {
-        Random r = new Random();
         for (int ty = 0; ty < map.getHeight(); ty++) {
             for (int tx = 0; tx < map.getWidth(); tx++) {
+                if (map.getAnimals(tx, ty).isEmpty()) {
+                    continue;
+                }
                 List<NPCAnimal> animals = new ArrayList<>(map.getAnimals(tx, ty));
-                List<Plant> plants = map.getPlants(tx, ty);
                 List<EggCluster> eggs = map.getEggs(tx, ty);
                 for (NPCAnimal npc : animals) {
                     if (npc.getWeight() <= 0) {
@@ -621,6 +650,7 @@ public class NpcController {
                         npc.setAlive(false);
                         npc.setAge(-1);
                         npc.setSpeed(0.0);
+                        map.markCarcass(tx, ty, npc);
                         continue;
                     }
 
@@ -650,6 +680,7 @@ public class NpcController {
                             npcChooseMove(tx, ty, npc, cstats);
                             double regen = getStat(cstats, "health_regen");
                             if (applyBleedAndRegen(npc, regen)) {
+                                map.markCarcass(tx, ty, npc);
                                 if (tx == playerX && ty == playerY) {
                                     messages.add(npcLabel(npc) + " bleeds to death.");
                                 }
@@ -670,8 +701,9 @@ public class NpcController {
                         npc.setAlive(false);
                         npc.setAge(-1);
                         npc.setSpeed(0.0);
+                        map.markCarcass(tx, ty, npc);
                         if (this.stats != null) {
-                            this.stats.recordDeath(npc.getName(), "starvation");
+                            this.stats.recordDeath(npc.getName(), DeathCause.STARVATION);
                         }
                         if (tx == playerX && ty == playerY) {
                             messages.add(npcLabel(npc) + " starves to death.");
@@ -681,6 +713,7 @@ public class NpcController {
 
                     double regen = getStat(stats, "health_regen");
                     if (applyBleedAndRegen(npc, regen)) {
+                        map.markCarcass(tx, ty, npc);
                         if (tx == playerX && ty == playerY) {
                             messages.add(npcLabel(npc) + " bleeds to death.");
                         }
@@ -696,6 +729,7 @@ public class NpcController {
                             npcChooseMoveForced(tx, ty, npc, stats);
                             if (!"None".equals(npc.getNextMove())) {
                                 if (npcApplyWalkingDrain(npc, baseDrain)) {
+                                    map.markCarcass(tx, ty, npc);
                                     if (tx == playerX && ty == playerY) {
                                         messages.add(npcLabel(npc) + " starves to death.");
                                     }
@@ -745,18 +779,13 @@ public class NpcController {
 
                     if (npc.getEnergy() <= 90) {
                         if (statsDietHas(stats, "meat")) {
-                            NPCAnimal carcass = null;
-                            for (NPCAnimal other : animals) {
-                                if (other != npc && !other.isAlive() && other.getWeight() > 0) {
-                                    if (carcass == null || other.getWeight() > carcass.getWeight()) {
-                                        carcass = other;
-                                    }
-                                }
-                            }
+                            NPCAnimal carcass = map.heaviestCarcass(tx, ty);
                             if (carcass != null) {
                                 npcConsumeMeat(tx, ty, npc, carcass, stats, playerX, playerY, messages);
                                 if (carcass.getWeight() <= 0) {
                                     map.removeAnimal(tx, ty, carcass);
+                                } else {
+                                    map.markCarcass(tx, ty, carcass);
                                 }
                                 npc.setLastAction("act");
                                 continue;
@@ -784,23 +813,11 @@ public class NpcController {
                             }
                         }
 
-                        if (statsDietHasPlant(stats) && !plants.isEmpty()) {
-                            Plant chosen = null;
-                            for (Plant p : plants) {
-                                if (statsDietHas(stats, p.getName())) {
-                                    if (chosen == null || p.getWeight() > chosen.getWeight()) {
-                                        chosen = p;
-                                    }
-                                }
-                            }
-                            if (chosen != null) {
-                                npcConsumePlant(tx, ty, npc, chosen, stats, playerX, playerY, messages);
-                                if (chosen.getWeight() <= 0) {
-                                    plants.remove(chosen);
-                                }
-                                npc.setLastAction("act");
-                                continue;
-                            }
+                        int chosen = map.heaviestPlant(tx, ty, plantDietMask(npc.getName(), stats));
+                        if (chosen >= 0) {
+                            npcConsumePlant(tx, ty, npc, chosen, stats, playerX, playerY, messages);
+                            npc.setLastAction("act");
+                            continue;
                         }
 
                         if (npcTryHunt(tx, ty, npc, stats, animals, adultWeight, playerX, playerY, messages)) {
@@ -811,6 +828,7 @@ public class NpcController {
                     npcChooseMove(tx, ty, npc, stats);
                     if (!"None".equals(npc.getNextMove())) {
                         if (npcApplyWalkingDrain(npc, baseDrain)) {
+                            map.markCarcass(tx, ty, npc);
                             if (tx == playerX && ty == playerY) {
                                 messages.add(npcLabel(npc) + " starves to death.");
                             }
@@ -825,21 +843,15 @@ public class NpcController {
     }
 
     public void npcChooseMove(int x, int y, NPCAnimal npc, Object stats) {
-        Random r = new Random();
-        if (r.nextDouble() < 0.5) {
+        if (rng.nextDouble() < 0.5) {
             npc.setNextMove("None");
             return;
         }
-        java.util.Map<String, int[]> dirs = java.util.Map.of(
-                "Up", new int[]{0, -1},
-                "Right", new int[]{1, 0},
-                "Down", new int[]{0, 1},
-                "Left", new int[]{-1, 0});
         boolean canWalk = !getBool(stats, "can_walk", true) ? false : true;
         List<String> candidates = new ArrayList<>();
         List<String> preferredCandidates = new ArrayList<>();
         List<String> prefBiomes = preferredBiomes(stats);
-        for (var e : dirs.entrySet()) {
+        for (var e : MapUtils.DIRECTIONS.entrySet()) {
             int nx = x + e.getValue()[0];
             int ny = y + e.getValue()[1];
             if (nx < 0 || ny < 0 || nx >= map.getWidth() || ny >= map.getHeight())
@@ -853,26 +865,20 @@ public class NpcController {
             }
         }
         String moveChoice = null;
-        if (!preferredCandidates.isEmpty() && !candidates.isEmpty() && r.nextDouble() < 0.2) {
-            moveChoice = candidates.get(r.nextInt(candidates.size()));
+        if (!preferredCandidates.isEmpty() && !candidates.isEmpty() && rng.nextDouble() < 0.2) {
+            moveChoice = candidates.get(rng.nextInt(candidates.size()));
         } else if (!preferredCandidates.isEmpty()) {
-            moveChoice = preferredCandidates.get(r.nextInt(preferredCandidates.size()));
+            moveChoice = preferredCandidates.get(rng.nextInt(preferredCandidates.size()));
         } else if (!candidates.isEmpty()) {
-            moveChoice = candidates.get(r.nextInt(candidates.size()));
+            moveChoice = candidates.get(rng.nextInt(candidates.size()));
         }
         npc.setNextMove(moveChoice != null ? moveChoice : "None");
     }
 
     public void npcChooseMoveForced(int x, int y, NPCAnimal npc, Object stats) {
-        Random r = new Random();
-        java.util.Map<String, int[]> dirs = java.util.Map.of(
-                "Up", new int[]{0, -1},
-                "Right", new int[]{1, 0},
-                "Down", new int[]{0, 1},
-                "Left", new int[]{-1, 0});
         boolean canWalk = !getBool(stats, "can_walk", true) ? false : true;
         List<String> candidates = new ArrayList<>();
-        for (var e : dirs.entrySet()) {
+        for (var e : MapUtils.DIRECTIONS.entrySet()) {
             int nx = x + e.getValue()[0];
             int ny = y + e.getValue()[1];
             if (nx < 0 || ny < 0 || nx >= map.getWidth() || ny >= map.getHeight())
@@ -885,7 +891,7 @@ public class NpcController {
         if (candidates.isEmpty()) {
             npc.setNextMove("None");
         } else {
-            npc.setNextMove(candidates.get(r.nextInt(candidates.size())));
+            npc.setNextMove(candidates.get(rng.nextInt(candidates.size())));
         }
     }
 
@@ -895,45 +901,50 @@ public class NpcController {
         if (!statsDietHas(stats, "meat")) {
             return false;
         }
-        Random r = new Random();
         double npcSpeed = npcEffectiveSpeed(npc, stats);
         double npcAtk = npcEffectiveAttack(npc, stats, tx, ty);
         double npcHp = CombatUtils.scaleByWeight(npc.getWeight(), adultWeight, getStat(stats, "hp"));
 
+        HuntingTable table = huntingTable();
+        int hunter = table.indexOf(npc.getName());
         List<PotentialTarget> options = new ArrayList<>();
-        for (NPCAnimal other : animals) {
-            if (other == npc || !other.isAlive()) {
-                continue;
-            }
-            Object oStats = StatsLoader.getDinoStats().get(other.getName());
-            if (oStats == null) {
-                oStats = StatsLoader.getCritterStats().get(other.getName());
-            }
-            if (oStats == null) {
-                continue;
-            }
-            double oAtk = npcEffectiveAttack(other, oStats, tx, ty);
-            double oHp = CombatUtils.scaleByWeight(other.getWeight(), getStat(oStats, "adult_weight"), getStat(oStats, "hp"));
-            if (!CombatUtils.npcDamageAdvantage(npcAtk, npcHp, stats, oAtk, oHp, oStats)) {
-                continue;
-            }
-            double oSpeed = npcEffectiveSpeed(other, oStats);
-            if (oSpeed >= npcSpeed) {
-                continue;
-            }
-            if (other.getWeight() < npc.getWeight() * 0.01) {
-                continue;
+        if (hunter >= 0 && table.getStats(hunter) == stats) {
+            collectHuntTargets(table, hunter, tx, ty, npc, npcSpeed, npcAtk, npcHp, animals, options);
+        } else {
+            for (NPCAnimal other : animals) {
+                if (other == npc || !other.isAlive()) {
+                    continue;
+                }
+                Object oStats = StatsLoader.getDinoStats().get(other.getName());
+                if (oStats == null) {
+                    oStats = StatsLoader.getCritterStats().get(other.getName());
+                }
+                if (oStats == null) {
+                    continue;
+                }
+                double oAtk = npcEffectiveAttack(other, oStats, tx, ty);
+                double oHp = CombatUtils.scaleByWeight(other.getWeight(), getStat(oStats, "adult_weight"), getStat(oStats, "hp"));
+                if (!CombatUtils.npcDamageAdvantage(npcAtk, npcHp, stats, oAtk, oHp, oStats)) {
+                    continue;
+                }
+                double oSpeed = npcEffectiveSpeed(other, oStats);
+                if (oSpeed >= npcSpeed) {
+                    continue;
+                }
+                if (other.getWeight() < npc.getWeight() * 0.01) {
+                    continue;
+                }
+                options.add(new PotentialTarget(other, oSpeed, oAtk, oStats));
             }
-            options.add(new PotentialTarget(other, oSpeed, oAtk, oStats));
         }
 
         if (options.isEmpty()) {
             return false;
         }
 
-        PotentialTarget pt = options.get(r.nextInt(options.size()));
+        PotentialTarget pt = options.get(rng.nextInt(options.size()));
         double relSpeed = pt.speed / Math.max(npcSpeed, 0.1);
-        if (r.nextDouble() > calculateCatchChance(relSpeed)) {
+        if (rng.nextDouble() > calculateCatchChance(relSpeed)) {
             return false;
         }
 
@@ -966,7 +977,8 @@ public class NpcController {
         }
         if (killed) {
             if (this.stats != null) {
-                this.stats.recordDeath(pt.npc.getName(), "combat");
+                this.stats.recordDeath(pt.npc.getName(), DeathCause.COMBAT);
+                this.stats.recordHunt(npc.getName(), pt.npc.getName());
             }
             java.util.Map<String, Integer> hunts = npc.getHunts();
             hunts.put(pt.npc.getName(), hunts.getOrDefault(pt.npc.getName(), 0) + 1);
@@ -976,6 +988,8 @@ public class NpcController {
             npcConsumeMeat(tx, ty, npc, pt.npc, stats, playerX, playerY, messages);
             if (pt.npc.getWeight() <= 0) {
                 map.removeAnimal(tx, ty, pt.npc);
+            } else {
+                map.markCarcass(tx, ty, pt.npc);
             }
         }
 
@@ -983,8 +997,9 @@ public class NpcController {
             npc.setAlive(false);
             npc.setAge(-1);
             npc.setSpeed(0.0);
+            map.markCarcass(tx, ty, npc);
             if (this.stats != null) {
-                this.stats.recordDeath(npc.getName(), "combat");
+                this.stats.recordDeath(npc.getName(), DeathCause.COMBAT);
             }
         }
 
@@ -1023,6 +1038,64 @@ public class NpcController {
         }
     }
 
+    /** Hunting table for the loaded statistics, rebuilt when they change. */
+    HuntingTable huntingTable() {
+        var dinos = StatsLoader.getDinoStats();
+        var critters = StatsLoader.getCritterStats();
+        if (huntingTable == null || !huntingTable.isFor(dinos, critters)) {
+            huntingTable = HuntingTable.build(dinos, critters);
+        }
+        return huntingTable;
+    }
+
+    /**
+     * Table driven candidate search for {@link #npcTryHunt}. Living animals
+     * on the tile are counted per species once so pack bonuses need no
+     * further scans, and pairs whose weight buckets rule out a catch are
+     * skipped before the exact attack, HP and speed evaluation.
+     */
+    private void collectHuntTargets(HuntingTable table, int hunter, int tx, int ty,
+                                    NPCAnimal npc, double npcSpeed, double npcAtk, double npcHp,
+                                    List<NPCAnimal> animals, List<PotentialTarget> options) {
+        int[] alive = new int[table.size()];
+        for (NPCAnimal a : map.getAnimals(tx, ty)) {
+            if (a.isAlive()) {
+                int s = table.indexOf(a.getName());
+                if (s >= 0) {
+                    alive[s]++;
+                }
+            }
+        }
+        int hunterBucket = table.bucket(hunter, npc.getWeight());
+        for (NPCAnimal other : animals) {
+            if (other == npc || !other.isAlive()) {
+                continue;
+            }
+            int target = table.indexOf(other.getName());
+            if (target < 0) {
+                continue;
+            }
+            if (table.maxCatchChance(hunter, hunterBucket, target,
+                    table.bucket(target, other.getWeight())) <= 0) {
+                continue;
+            }
+            boolean packmate = table.isPackHunter(target) && alive[target] > 1;
+            double oAtk = table.effectiveAttack(target, other, packmate);
+            double oHp = table.scaledHp(target, other.getWeight());
+            if (!table.damageAdvantage(hunter, npcAtk, npcHp, target, oAtk, oHp)) {
+                continue;
+            }
+            double oSpeed = table.effectiveSpeed(target, other);
+            if (oSpeed >= npcSpeed) {
+                continue;
+            }
+            if (other.getWeight() < npc.getWeight() * 0.01) {
+                continue;
+            }
+            options.add(new PotentialTarget(other, oSpeed, oAtk, table.getStats(target)));
+        }
+    }
+
     // Class used by npcTryHunt
     private static class PotentialTarget {
         NPCAnimal npc;
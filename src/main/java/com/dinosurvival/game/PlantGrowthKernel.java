@@ -0,0 +1,36 @@
+package com.dinosurvival.game;
+
+/**
+ * Applies a batch of plant growth events to a biomass grid. The scalar loop
+ * is the default; a vectorised implementation backed by the
+ * {@code jdk.incubator.vector} module is compiled only by the
+ * {@code vector} Maven profile and used when the module is present.
+ */
+interface PlantGrowthKernel {
+
+    /**
+     * Add {@code unit} to {@code biomass} at each of the first {@code count}
+     * indices in {@code tiles}, capping every tile at {@code max}. The
+     * indices must be distinct. Returns the biomass actually added.
+     */
+    double grow(float[] biomass, int[] tiles, int count, float unit, float max);
+
+    /**
+     * Return the fastest kernel supported by the running JVM. The vector
+     * implementation is only loaded if it was built and the incubator module
+     * was added with {@code --add-modules jdk.incubator.vector}.
+     */
+    static PlantGrowthKernel select() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (PlantGrowthKernel) Class
+                        .forName("com.dinosurvival.game.VectorPlantGrowthKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall back to the scalar implementation
+            }
+        }
+        return new ScalarPlantGrowthKernel();
+    }
+}
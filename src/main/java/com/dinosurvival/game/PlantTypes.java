@@ -0,0 +1,88 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.PlantStats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dense index of the plant species loaded for the current formation. Each
+ * plant is assigned an ordinal so per-tile biomass can be kept in numeric
+ * arrays, and the growth chance for every terrain and plant pair is resolved
+ * once into a {@code [terrainOrdinal][plantOrdinal]} table.
+ */
+public final class PlantTypes {
+    private static java.util.Map<String, PlantStats> cachedSource;
+    private static PlantTypes cached;
+
+    private final String[] names;
+    private final double[] unitWeights;
+    private final double[] maxWeights;
+    private final double[][] growthChance;
+    private final java.util.Map<String, Integer> indices = new java.util.HashMap<>();
+
+    private PlantTypes(java.util.Map<String, PlantStats> plantStats) {
+        List<String> sorted = new ArrayList<>(plantStats.keySet());
+        Collections.sort(sorted);
+        int n = sorted.size();
+        names = new String[n];
+        unitWeights = new double[n];
+        maxWeights = new double[n];
+        growthChance = new double[Terrain.values().length][n];
+        for (int p = 0; p < n; p++) {
+            PlantStats ps = plantStats.get(sorted.get(p));
+            String name = ps.getName() != null ? ps.getName() : sorted.get(p);
+            names[p] = name;
+            indices.put(name, p);
+            unitWeights[p] = ps.getWeight();
+            maxWeights[p] = ps.getWeight() * 10;
+            for (Terrain t : Terrain.values()) {
+                Double chance = ps.getGrowthChance().get(t.getName());
+                growthChance[t.ordinal()][p] = chance != null ? chance : 0.0;
+            }
+        }
+    }
+
+    /**
+     * Return the index for the given plant statistics. The result is cached
+     * so repeated calls with the same loaded statistics reuse the table.
+     */
+    public static synchronized PlantTypes of(java.util.Map<String, PlantStats> plantStats) {
+        if (cached == null || cachedSource != plantStats) {
+            cached = new PlantTypes(plantStats);
+            cachedSource = plantStats;
+        }
+        return cached;
+    }
+
+    /** Number of plant species. */
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int plant) {
+        return names[plant];
+    }
+
+    /** Ordinal of the named plant or {@code -1} if it is unknown. */
+    public int indexOf(String name) {
+        Integer idx = indices.get(name);
+        return idx != null ? idx : -1;
+    }
+
+    /** Biomass added by a single successful growth roll. */
+    public double getUnitWeight(int plant) {
+        return unitWeights[plant];
+    }
+
+    /** Maximum biomass a single tile can hold for the plant. */
+    public double getMaxWeight(int plant) {
+        return maxWeights[plant];
+    }
+
+    /** Growth chances per plant ordinal for the given terrain. */
+    public double[] growthChances(Terrain terrain) {
+        return growthChance[terrain.ordinal()];
+    }
+}
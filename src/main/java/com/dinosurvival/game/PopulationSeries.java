@@ -0,0 +1,277 @@
+package com.dinosurvival.game;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Columnar history of species populations, one sample per recorded turn.
+ * Samples are stored in fixed size chunks of primitive {@code int} columns,
+ * one column for the turn number and one per species. Full chunks other
+ * than the newest can be packed as zigzag delta varints, which shrinks the
+ * slowly changing counts to a byte or two per value. With a sample limit
+ * the oldest chunks are dropped, turning the store into a ring buffer.
+ * Every accessor is synchronized: the simulation thread records while the
+ * UI and the autosave read, and packed reads share one decode buffer.
+ */
+public class PopulationSeries {
+    /** Samples per chunk. */
+    static final int CHUNK = 1024;
+
+    private final String[] species;
+    private final java.util.Map<String, Integer> index = new java.util.HashMap<>();
+    private final int maxSamples;
+    private final boolean compress;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private long dropped;
+
+    // last column decoded from a packed chunk, reused for sequential reads
+    private Chunk decodedChunk;
+    private int decodedColumn = -1;
+    private final int[] decoded = new int[CHUNK];
+
+    /** An unbounded series that packs older chunks. */
+    public PopulationSeries(Collection<String> species) {
+        this(species, 0, true);
+    }
+
+    /**
+     * @param maxSamples keep at least this many of the latest samples and
+     *                   drop older chunks; zero keeps everything
+     * @param compress   pack full chunks except the newest
+     */
+    public PopulationSeries(Collection<String> species, int maxSamples, boolean compress) {
+        this.species = species.toArray(new String[0]);
+        for (int i = 0; i < this.species.length; i++) {
+            index.putIfAbsent(this.species[i], i);
+        }
+        this.maxSamples = maxSamples;
+        this.compress = compress;
+    }
+
+    /** Index of {@code name} in the recorded rows, or -1 if it is not tracked. */
+    public int indexOf(String name) {
+        Integer i = index.get(name);
+        return i == null ? -1 : i;
+    }
+
+    public int speciesCount() {
+        return species.length;
+    }
+
+    public String getSpecies(int i) {
+        return species[i];
+    }
+
+    /** Number of samples currently held. */
+    public synchronized int size() {
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+        return (chunks.size() - 1) * CHUNK + chunks.get(chunks.size() - 1).count;
+    }
+
+    /** Number of samples dropped from the front because of the sample limit. */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Append one sample. {@code counts} is indexed like {@link #indexOf};
+     * missing trailing entries count as zero.
+     */
+    public synchronized void record(int turn, int[] counts) {
+        Chunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last == null || last.count == CHUNK) {
+            if (last != null && compress) {
+                last.pack();
+            }
+            last = new Chunk(species.length + 1);
+            chunks.add(last);
+            trim();
+        }
+        int row = last.count;
+        last.raw[0][row] = turn;
+        for (int s = 0; s < species.length; s++) {
+            last.raw[s + 1][row] = s < counts.length ? counts[s] : 0;
+        }
+        last.count++;
+    }
+
+    /** Remove every sample. */
+    public synchronized void clear() {
+        chunks.clear();
+        dropped = 0;
+        decodedChunk = null;
+        decodedColumn = -1;
+    }
+
+    /** Turn number of sample {@code i}. */
+    public synchronized int getTurn(int i) {
+        return value(0, i);
+    }
+
+    /** Population of {@code species} (see {@link #indexOf}) at sample {@code i}. */
+    public synchronized int get(int species, int i) {
+        return value(species + 1, i);
+    }
+
+    /** Population of {@code name} in the newest sample, or zero if unknown. */
+    public synchronized int latest(String name) {
+        int s = indexOf(name);
+        int n = size();
+        return s < 0 || n == 0 ? 0 : get(s, n - 1);
+    }
+
+    /** Copy the turn numbers of samples {@code [from, to)} into {@code dest} starting at 0. */
+    public synchronized int[] turns(int from, int to, int[] dest) {
+        return copy(0, from, to, dest);
+    }
+
+    /**
+     * Copy the populations of {@code species} for samples {@code [from, to)}
+     * into {@code dest} starting at index 0. A new array is allocated when
+     * {@code dest} is {@code null} or too small.
+     */
+    public synchronized int[] range(int species, int from, int to, int[] dest) {
+        return copy(species + 1, from, to, dest);
+    }
+
+    /** Every held population sample of {@code name}; empty for unknown species. */
+    public synchronized int[] toArray(String name) {
+        int s = indexOf(name);
+        return s < 0 ? new int[0] : range(s, 0, size(), null);
+    }
+
+    /** Approximate heap used by the stored samples in bytes. */
+    public synchronized long memoryBytes() {
+        long total = 0;
+        for (Chunk c : chunks) {
+            if (c.raw != null) {
+                total += (long) c.raw.length * CHUNK * Integer.BYTES;
+            } else {
+                for (byte[] b : c.packed) {
+                    total += b.length;
+                }
+            }
+        }
+        return total;
+    }
+
+    private void trim() {
+        if (maxSamples <= 0) {
+            return;
+        }
+        // keep whole chunks so sample i stays in chunk i / CHUNK
+        while (chunks.size() > 1 && size() - CHUNK >= maxSamples) {
+            Chunk c = chunks.remove(0);
+            if (c == decodedChunk) {
+                decodedChunk = null;
+            }
+            dropped += CHUNK;
+        }
+    }
+
+    private int value(int column, int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        Chunk c = chunks.get(i / CHUNK);
+        int row = i % CHUNK;
+        return c.raw != null ? c.raw[column][row] : decode(c, column)[row];
+    }
+
+    private int[] copy(int column, int from, int to, int[] dest) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") of " + size());
+        }
+        int n = to - from;
+        if (dest == null || dest.length < n) {
+            dest = new int[n];
+        }
+        int out = 0;
+        int i = from;
+        while (i < to) {
+            Chunk c = chunks.get(i / CHUNK);
+            int row = i % CHUNK;
+            int len = Math.min(to - i, c.count - row);
+            int[] src = c.raw != null ? c.raw[column] : decode(c, column);
+            System.arraycopy(src, row, dest, out, len);
+            out += len;
+            i += len;
+        }
+        return dest;
+    }
+
+    private int[] decode(Chunk c, int column) {
+        if (c != decodedChunk || column != decodedColumn) {
+            Varint.decodeDeltas(c.packed[column], decoded, c.count);
+            decodedChunk = c;
+            decodedColumn = column;
+        }
+        return decoded;
+    }
+
+    private static final class Chunk {
+        int[][] raw;
+        byte[][] packed;
+        int count;
+
+        Chunk(int columns) {
+            raw = new int[columns][CHUNK];
+        }
+
+        void pack() {
+            packed = new byte[raw.length][];
+            for (int c = 0; c < raw.length; c++) {
+                packed[c] = Varint.encodeDeltas(raw[c], count);
+            }
+            raw = null;
+        }
+    }
+
+    /** Zigzag delta varint coding of int columns. */
+    static final class Varint {
+        private Varint() {
+            // utility class
+        }
+
+        static byte[] encodeDeltas(int[] values, int n) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(n + 8);
+            int prev = 0;
+            for (int i = 0; i < n; i++) {
+                int delta = values[i] - prev;
+                prev = values[i];
+                int v = (delta << 1) ^ (delta >> 31);
+                while ((v & ~0x7f) != 0) {
+                    out.write((v & 0x7f) | 0x80);
+                    v >>>= 7;
+                }
+                out.write(v);
+            }
+            return out.toByteArray();
+        }
+
+        static void decodeDeltas(byte[] data, int[] dest, int n) {
+            int pos = 0;
+            int prev = 0;
+            for (int i = 0; i < n; i++) {
+                int v = 0;
+                int shift = 0;
+                int b;
+                do {
+                    b = data[pos++];
+                    v |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                prev += (v >>> 1) ^ -(v & 1);
+                dest[i] = prev;
+            }
+            if (n < dest.length) {
+                Arrays.fill(dest, n, dest.length, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.dinosurvival.game;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Plays an {@link InputJournal} again without a UI, as fast as the
+ * simulation runs, and checks every recorded state hash. The first turn
+ * where the replay differs from the recording is reported.
+ */
+public final class Replay {
+
+    /**
+     * Outcome of a replay.
+     *
+     * @param turns         turns played
+     * @param hashesChecked state hashes that matched
+     * @param mismatchTurn  first turn where the replay went differently, or -1
+     * @param reason        why the replay stopped early, or {@code null}
+     * @param nanos         time spent replaying, game setup included
+     */
+    public record Result(int turns, int hashesChecked, int mismatchTurn, String reason, long nanos) {
+        public boolean matches() {
+            return mismatchTurn < 0;
+        }
+    }
+
+    private Replay() {
+        // utility class
+    }
+
+    /** Replay {@code journal} from the start. */
+    public static Result run(InputJournal journal) {
+        long start = System.nanoTime();
+        Game game = new Game();
+        game.start(journal.getFormation(), journal.getDino(), journal.getSeed());
+        int checked = 0;
+        for (InputJournal.Entry e : journal.getEntries()) {
+            if (game.getTurn() != e.turn()) {
+                return new Result(game.getTurn(), checked, game.getTurn(),
+                        "expected turn " + e.turn() + " before " + e.action(), System.nanoTime() - start);
+            }
+            if (InputJournal.HASH.equals(e.action())) {
+                if (InputJournal.stateHash(game) != e.args()[0]) {
+                    return new Result(game.getTurn(), checked, game.getTurn(),
+                            "state hash differs", System.nanoTime() - start);
+                }
+                checked++;
+                continue;
+            }
+            if (!apply(game, e)) {
+                return new Result(game.getTurn(), checked, game.getTurn(),
+                        "unknown action " + e.action(), System.nanoTime() - start);
+            }
+        }
+        return new Result(game.getTurn(), checked, -1, null, System.nanoTime() - start);
+    }
+
+    private static boolean apply(Game game, InputJournal.Entry e) {
+        long[] a = e.args();
+        switch (e.action()) {
+            case "move" -> game.move((int) a[0], (int) a[1]);
+            case "rest" -> game.rest();
+            case "spectate" -> game.spectate();
+            case "drink" -> game.drink();
+            case "huntNpc" -> game.huntNpc((int) a[0]);
+            case "collectEggs" -> game.collectEggs();
+            case "digBurrow" -> game.digBurrow();
+            case "layEggs" -> game.layEggs();
+            case "mate" -> game.mate((int) a[0]);
+            case "threaten" -> game.threaten();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Replay the journal file given as the only argument and print the outcome. */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: Replay <journal file>");
+            System.exit(2);
+        }
+        Result r = run(InputJournal.load(Path.of(args[0])));
+        System.out.printf("%d turns, %d hashes checked in %.1f ms%n",
+                r.turns(), r.hashesChecked(), r.nanos() / 1e6);
+        if (!r.matches()) {
+            System.out.println("Replay differs at turn " + r.mismatchTurn() + ": " + r.reason());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,657 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.Diet;
+import com.dinosurvival.model.DinosaurStats;
+import com.dinosurvival.model.NPCAnimal;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Versioned binary save games. A save starts with a fixed header holding
+ * the offset of the string table, which is written last so the body can be
+ * streamed out in one pass; every species, plant, ability and action name
+ * in the body is an index into that table. Per-tile data is stored as
+ * packed arrays, sparse layers such as lava, floods and fires as
+ * {@code (tile, value)} lists and animals as fixed-width records, so a load
+ * maps the file and decodes it front to back without parsing.
+ */
+public final class SaveGame {
+    private static final int MAGIC = 0x44535356; // "DSSV"
+    /** Format written by {@link #save}. */
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private SaveGame() {
+        // utility class
+    }
+
+    /** Write the complete state of {@code game} to {@code file}. */
+    public static void save(Game game, Path file) throws IOException {
+        write(file, 1 << 20, game::writeState);
+    }
+
+    /**
+     * Load a game written by {@link #save}. The statistics of the saved
+     * formation are loaded first, as {@link Game#start} does.
+     */
+    public static Game load(Path file) throws IOException {
+        return read(file, SaveGame::readGame);
+    }
+
+    static Game readGame(In in) throws IOException {
+        Game game = new Game();
+        game.readState(in);
+        return game;
+    }
+
+    /** Writes the body of a file in this format. */
+    interface Body {
+        void write(Out out) throws IOException;
+    }
+
+    /** Reads the body of a file in this format. */
+    interface Reader<T> {
+        T read(In in) throws IOException;
+    }
+
+    /** Write a header, the body and the string table to {@code file}. */
+    static void write(Path file, int bufferSize, Body body) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Out out = new Out(ch, bufferSize);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putLong(0); // string table offset, patched below
+            body.write(out);
+            long tableOffset = out.position();
+            out.writeTable();
+            out.flush();
+            ByteBuffer patch = ByteBuffer.allocate(8).putLong(0, tableOffset);
+            ch.write(patch, 8);
+        }
+    }
+
+    /**
+     * A file encoded in memory. {@code sections} holds the start of every
+     * section marked with {@link Out#section}, beginning with 0 and ending
+     * with the string table; {@code strings} and {@code lists} are the
+     * string table in id order.
+     */
+    record Image(byte[] data, int[] sections, List<String> strings, List<List<String>> lists) {
+    }
+
+    /** Encode a whole file in memory, header and string table included. */
+    static byte[] encode(int bufferSize, Body body) throws IOException {
+        return encodeImage(bufferSize, null, body).data();
+    }
+
+    /**
+     * Encode a whole file in memory. The string table starts with the
+     * entries of {@code previous}, if given, so names keep their ids from
+     * one image to the next.
+     */
+    static Image encodeImage(int bufferSize, Image previous, Body body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(bufferSize);
+        Out out = new Out(Channels.newChannel(bytes), bufferSize);
+        if (previous != null) {
+            for (String str : previous.strings()) {
+                out.id(str);
+            }
+            for (List<String> list : previous.lists()) {
+                out.listId(list);
+            }
+        }
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putLong(0);
+        body.write(out);
+        long tableOffset = out.position();
+        out.section();
+        out.writeTable();
+        out.flush();
+        byte[] data = bytes.toByteArray();
+        ByteBuffer.wrap(data).putLong(8, tableOffset);
+        int[] sections = new int[out.sections.size() + 1];
+        for (int i = 0; i < out.sections.size(); i++) {
+            sections[i + 1] = out.sections.get(i);
+        }
+        return new Image(data, sections, List.copyOf(out.strings), List.copyOf(out.lists));
+    }
+
+    /** Map {@code file}, check its header and decode the body. */
+    static <T> T read(Path file, Reader<T> reader) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), file.toString(), reader);
+        }
+    }
+
+    /** Check the header in {@code buf} and decode the body. */
+    static <T> T decode(ByteBuffer buf, String source, Reader<T> reader) throws IOException {
+        if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC) {
+            throw new IOException("Not a save file: " + source);
+        }
+        int version = buf.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save file version " + version);
+        }
+        try {
+            return reader.read(new In(buf, buf.getLong()));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | ArithmeticException | NegativeArraySizeException ex) {
+            // a bad offset or count in the file, not a bug in the reader
+            throw new IOException("Truncated or corrupt save file: " + source, ex);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Encoding
+    // ---------------------------------------------------------------------
+
+    /** Buffered writer over a channel that also collects the string table. */
+    static final class Out {
+        private final WritableByteChannel ch;
+        private final ByteBuffer buf;
+        private final java.util.Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final java.util.Map<List<String>, Integer> listIds = new HashMap<>();
+        private final List<List<String>> lists = new ArrayList<>();
+        private final List<Integer> sections = new ArrayList<>();
+        private long written;
+
+        Out(WritableByteChannel ch, int bufferSize) {
+            this.ch = ch;
+            this.buf = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        long position() {
+            return written + buf.position();
+        }
+
+        /**
+         * Start a new section here. Autosave diffs each section on its own,
+         * so a section that changes length does not shift the ones after it.
+         */
+        void section() {
+            sections.add((int) position());
+        }
+
+        private void ensure(int n) throws IOException {
+            if (buf.remaining() < n) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                written += ch.write(buf);
+            }
+            buf.clear();
+        }
+
+        void putByte(int v) throws IOException {
+            ensure(1);
+            buf.put((byte) v);
+        }
+
+        void putBoolean(boolean v) throws IOException {
+            putByte(v ? 1 : 0);
+        }
+
+        void putInt(int v) throws IOException {
+            ensure(4);
+            buf.putInt(v);
+        }
+
+        void putLong(long v) throws IOException {
+            ensure(8);
+            buf.putLong(v);
+        }
+
+        void putFloat(float v) throws IOException {
+            ensure(4);
+            buf.putFloat(v);
+        }
+
+        void putDouble(double v) throws IOException {
+            ensure(8);
+            buf.putDouble(v);
+        }
+
+        /** Write {@code s} as its string table index, -1 for {@code null}. */
+        void putString(String s) throws IOException {
+            putInt(id(s));
+        }
+
+        int id(String s) {
+            if (s == null) {
+                return -1;
+            }
+            Integer id = ids.get(s);
+            if (id == null) {
+                id = strings.size();
+                ids.put(s, id);
+                strings.add(s);
+            }
+            return id;
+        }
+
+        /** Index of a shared list of strings, such as a set of abilities. */
+        int listId(List<String> list) {
+            Integer id = listIds.get(list);
+            if (id == null) {
+                List<String> copy = List.copyOf(list);
+                id = lists.size();
+                listIds.put(copy, id);
+                lists.add(copy);
+                for (String s : copy) {
+                    id(s);
+                }
+            }
+            return id;
+        }
+
+        void putStringList(List<String> list) throws IOException {
+            putInt(list == null ? -1 : listId(list));
+        }
+
+        void putBytes(byte[] data) throws IOException {
+            putInt(data.length);
+            int off = 0;
+            while (off < data.length) {
+                ensure(1);
+                int n = Math.min(buf.remaining(), data.length - off);
+                buf.put(data, off, n);
+                off += n;
+            }
+        }
+
+        void putBits(boolean[][] grid) throws IOException {
+            long word = 0;
+            int bit = 0;
+            for (boolean[] row : grid) {
+                for (boolean b : row) {
+                    if (b) {
+                        word |= 1L << bit;
+                    }
+                    if (++bit == 64) {
+                        putLong(word);
+                        word = 0;
+                        bit = 0;
+                    }
+                }
+            }
+            if (bit > 0) {
+                putLong(word);
+            }
+        }
+
+        void putFloats(float[] values) throws IOException {
+            int off = 0;
+            while (off < values.length) {
+                ensure(4);
+                int n = Math.min(buf.remaining() / 4, values.length - off);
+                buf.asFloatBuffer().put(values, off, n);
+                buf.position(buf.position() + n * 4);
+                off += n;
+            }
+        }
+
+        void putRandom(Random rng) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(rng);
+            }
+            putBytes(bytes.toByteArray());
+        }
+
+        void writeTable() throws IOException {
+            // lists only refer to strings, so every string is known here
+            putInt(lists.size());
+            for (List<String> list : lists) {
+                putInt(list.size());
+                for (String s : list) {
+                    putInt(ids.get(s));
+                }
+            }
+            putInt(strings.size());
+            for (String s : strings) {
+                putBytes(s.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /** Reader over a mapped save file with its string table already decoded. */
+    static final class In {
+        private final ByteBuffer buf;
+        private final String[] strings;
+        private final List<List<String>> lists = new ArrayList<>();
+
+        In(ByteBuffer buf, long tableOffset) {
+            this.buf = buf;
+            int body = buf.position();
+            buf.position(Math.toIntExact(tableOffset));
+            int nLists = buf.getInt();
+            int[][] listIds = new int[nLists][];
+            for (int i = 0; i < nLists; i++) {
+                listIds[i] = new int[buf.getInt()];
+                for (int j = 0; j < listIds[i].length; j++) {
+                    listIds[i][j] = buf.getInt();
+                }
+            }
+            strings = new String[buf.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] b = new byte[buf.getInt()];
+                buf.get(b);
+                strings[i] = new String(b, StandardCharsets.UTF_8);
+            }
+            for (int[] ids : listIds) {
+                List<String> list = new ArrayList<>(ids.length);
+                for (int id : ids) {
+                    list.add(strings[id]);
+                }
+                lists.add(List.copyOf(list));
+            }
+            buf.position(body);
+        }
+
+        int getByte() {
+            return buf.get();
+        }
+
+        boolean getBoolean() {
+            return buf.get() != 0;
+        }
+
+        int getInt() {
+            return buf.getInt();
+        }
+
+        long getLong() {
+            return buf.getLong();
+        }
+
+        float getFloat() {
+            return buf.getFloat();
+        }
+
+        double getDouble() {
+            return buf.getDouble();
+        }
+
+        String getString() {
+            return string(buf.getInt());
+        }
+
+        String string(int id) {
+            return id < 0 ? null : strings[id];
+        }
+
+        /** Shared immutable list for the id, {@code null} for -1. */
+        List<String> list(int id) {
+            return id < 0 ? null : lists.get(id);
+        }
+
+        /** A fresh mutable copy of a string list. */
+        List<String> getStringList() {
+            List<String> list = list(buf.getInt());
+            return list == null ? null : new ArrayList<>(list);
+        }
+
+        byte[] getBytes() {
+            byte[] b = new byte[buf.getInt()];
+            buf.get(b);
+            return b;
+        }
+
+        void getBits(boolean[][] grid) {
+            long word = 0;
+            int bit = 64;
+            for (boolean[] row : grid) {
+                for (int x = 0; x < row.length; x++) {
+                    if (bit == 64) {
+                        word = buf.getLong();
+                        bit = 0;
+                    }
+                    row[x] = (word & (1L << bit)) != 0;
+                    bit++;
+                }
+            }
+        }
+
+        void getFloats(float[] values) {
+            buf.asFloatBuffer().get(values);
+            buf.position(buf.position() + values.length * 4);
+        }
+
+        /** Skip {@code n} packed floats. */
+        void skipFloats(int n) {
+            buf.position(buf.position() + n * 4);
+        }
+
+        Random getRandom() throws IOException {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(getBytes()))) {
+                return (Random) ois.readObject();
+            } catch (ClassNotFoundException | ClassCastException ex) {
+                throw new IOException("Corrupt random state", ex);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Records shared by the game and the map
+    // ---------------------------------------------------------------------
+
+    private static final int ALIVE = 1;
+    private static final int DESCENDANT = 2;
+    /** Set on carcasses that are not in the animal list of their tile. */
+    static final int DETACHED = 4;
+
+    /** Bytes in one animal record. */
+    static final int NPC_RECORD_BYTES = 16 * 4 + 6 * 8 + 1;
+
+    /** Write one fixed-width animal record; its hunts follow in a separate section. */
+    static void putNpc(Out out, NPCAnimal npc, int tile, int flags) throws IOException {
+        out.ensure(NPC_RECORD_BYTES);
+        ByteBuffer b = out.buf;
+        b.putInt(tile);
+        b.putInt(npc.getId());
+        b.putInt(out.id(npc.getName()));
+        b.putInt(out.id(npc.getSex()));
+        b.putInt(npc.getAge());
+        b.putInt(out.id(npc.getNextMove()));
+        b.putInt(npc.getTurnsUntilLayEggs());
+        b.putInt(npc.getEggClustersEaten());
+        b.putInt(npc.getAbilities() == null ? -1 : out.listId(npc.getAbilities()));
+        b.putInt(npc.getAmbushStreak());
+        b.putInt(out.id(npc.getLastAction()));
+        b.putInt(npc.getBleeding());
+        b.putInt(npc.getBrokenBone());
+        b.putInt(npc.getBleedWaitTarget());
+        b.putInt(npc.getBleedWaitTurns());
+        b.putInt(npc.getHunts() == null ? 0 : npc.getHunts().size());
+        b.putDouble(npc.getWeight());
+        b.putDouble(npc.getEnergy());
+        b.putDouble(npc.getMaxHp());
+        b.putDouble(npc.getHp());
+        b.putDouble(npc.getAttack());
+        b.putDouble(npc.getSpeed());
+        b.put((byte) (flags | (npc.isAlive() ? ALIVE : 0) | (npc.isDescendant() ? DESCENDANT : 0)));
+    }
+
+    /** Hunt counts of one animal, written after all the records. */
+    static void putHunts(Out out, NPCAnimal npc) throws IOException {
+        if (npc.getHunts() == null) {
+            return;
+        }
+        for (java.util.Map.Entry<String, Integer> e : npc.getHunts().entrySet()) {
+            out.putString(e.getKey());
+            out.putInt(e.getValue());
+        }
+    }
+
+    /** Decoded animal record. */
+    record NpcRecord(NPCAnimal npc, int tile, int flags, int hunts) {
+    }
+
+    static NpcRecord getNpc(In in) {
+        ByteBuffer b = in.buf;
+        int tile = b.getInt();
+        NPCAnimal npc = new NPCAnimal();
+        npc.setId(b.getInt());
+        npc.setName(in.string(b.getInt()));
+        npc.setSex(in.string(b.getInt()));
+        npc.setAge(b.getInt());
+        npc.setNextMove(in.string(b.getInt()));
+        npc.setTurnsUntilLayEggs(b.getInt());
+        npc.setEggClustersEaten(b.getInt());
+        List<String> abilities = in.list(b.getInt());
+        if (abilities == null) {
+            npc.setAbilities(null);
+        } else {
+            // fill the animal's own empty list rather than allocate another
+            npc.getAbilities().addAll(abilities);
+        }
+        npc.setAmbushStreak(b.getInt());
+        npc.setLastAction(in.string(b.getInt()));
+        npc.setBleeding(b.getInt());
+        npc.setBrokenBone(b.getInt());
+        npc.setBleedWaitTarget(b.getInt());
+        npc.setBleedWaitTurns(b.getInt());
+        int hunts = b.getInt();
+        npc.setWeight(b.getDouble());
+        npc.setEnergy(b.getDouble());
+        npc.setMaxHp(b.getDouble());
+        npc.setHp(b.getDouble());
+        npc.setAttack(b.getDouble());
+        npc.setSpeed(b.getDouble());
+        int flags = b.get();
+        npc.setAlive((flags & ALIVE) != 0);
+        npc.setDescendant((flags & DESCENDANT) != 0);
+        return new NpcRecord(npc, tile, flags, hunts);
+    }
+
+    /** Tile of the record {@code ahead} records after the current position, without reading it. */
+    static int peekNpcTile(In in, int ahead) {
+        return in.buf.getInt(in.buf.position() + ahead * NPC_RECORD_BYTES);
+    }
+
+    static void getHunts(In in, NpcRecord rec) {
+        getHunts(in, rec.npc(), rec.hunts());
+    }
+
+    static void getHunts(In in, NPCAnimal npc, int n) {
+        java.util.Map<String, Integer> hunts = npc.getHunts();
+        for (int i = 0; i < n; i++) {
+            hunts.put(in.getString(), in.getInt());
+        }
+    }
+
+    static void putPlayer(Out out, DinosaurStats p) throws IOException {
+        out.putString(p.getName());
+        out.putInt(p.getGrowthStages());
+        double[] values = {
+                p.getHatchlingWeight(), p.getAdultWeight(), p.getHatchlingAttack(), p.getAdultAttack(),
+                p.getHatchlingHp(), p.getAdultHp(), p.getHatchlingSpeed(), p.getAdultSpeed(),
+                p.getHatchlingEnergyDrain(), p.getAdultEnergyDrain(), p.getGrowthRate(),
+                p.getWalkingEnergyDrainMultiplier(), p.getInitialSpawnMultiplier(),
+                p.getAttack(), p.getMaxHp(), p.getHp(), p.getSpeed(), p.getEnergy(), p.getWeight(),
+                p.getHealthRegen(), p.getHydration(), p.getHydrationDrain(), p.getAquaticBoost()
+        };
+        out.putInt(values.length);
+        for (double v : values) {
+            out.putDouble(v);
+        }
+        out.putBoolean(p.isCanWalk());
+        out.putBoolean(p.isCanBeJuvenile());
+        out.putBoolean(p.isMated());
+        out.putInt(p.getTurnsUntilLayEggs());
+        out.putInt(p.getNumEggs());
+        out.putInt(p.getEggLayingInterval());
+        out.putInt(p.getAmbushStreak());
+        out.putInt(p.getBleeding());
+        out.putInt(p.getBrokenBone());
+        List<Diet> diet = p.getDiet() == null ? List.of() : p.getDiet();
+        out.putInt(diet.size());
+        for (Diet d : diet) {
+            out.putString(d.name());
+        }
+        out.putStringList(p.getAbilities());
+        out.putStringList(p.getPreferredBiomes());
+    }
+
+    static DinosaurStats getPlayer(In in) throws IOException {
+        DinosaurStats p = new DinosaurStats();
+        p.setName(in.getString());
+        p.setGrowthStages(in.getInt());
+        double[] v = new double[in.getInt()];
+        if (v.length != 23) {
+            throw new IOException("Unexpected player record size " + v.length);
+        }
+        for (int i = 0; i < v.length; i++) {
+            v[i] = in.getDouble();
+        }
+        p.setHatchlingWeight(v[0]);
+        p.setAdultWeight(v[1]);
+        p.setHatchlingAttack(v[2]);
+        p.setAdultAttack(v[3]);
+        p.setHatchlingHp(v[4]);
+        p.setAdultHp(v[5]);
+        p.setHatchlingSpeed(v[6]);
+        p.setAdultSpeed(v[7]);
+        p.setHatchlingEnergyDrain(v[8]);
+        p.setAdultEnergyDrain(v[9]);
+        p.setGrowthRate(v[10]);
+        p.setWalkingEnergyDrainMultiplier(v[11]);
+        p.setInitialSpawnMultiplier(v[12]);
+        p.setAttack(v[13]);
+        p.setMaxHp(v[14]);
+        p.setHp(v[15]);
+        p.setSpeed(v[16]);
+        p.setEnergy(v[17]);
+        p.setWeight(v[18]);
+        p.setHealthRegen(v[19]);
+        p.setHydration(v[20]);
+        p.setHydrationDrain(v[21]);
+        p.setAquaticBoost(v[22]);
+        p.setCanWalk(in.getBoolean());
+        p.setCanBeJuvenile(in.getBoolean());
+        p.setMated(in.getBoolean());
+        p.setTurnsUntilLayEggs(in.getInt());
+        p.setNumEggs(in.getInt());
+        p.setEggLayingInterval(in.getInt());
+        p.setAmbushStreak(in.getInt());
+        p.setBleeding(in.getInt());
+        p.setBrokenBone(in.getInt());
+        int nDiet = in.getInt();
+        List<Diet> diet = new ArrayList<>(nDiet);
+        for (int i = 0; i < nDiet; i++) {
+            try {
+                diet.add(Diet.valueOf(in.getString()));
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Unknown diet in save game", ex);
+            }
+        }
+        p.setDiet(diet);
+        List<String> abilities = in.getStringList();
+        p.setAbilities(abilities == null ? new ArrayList<>() : abilities);
+        List<String> biomes = in.getStringList();
+        p.setPreferredBiomes(biomes == null ? new ArrayList<>() : biomes);
+        return p;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dinosurvival.game;
+
+/** Plain loop implementation of {@link PlantGrowthKernel}. */
+final class ScalarPlantGrowthKernel implements PlantGrowthKernel {
+
+    @Override
+    public double grow(float[] biomass, int[] tiles, int count, float unit, float max) {
+        double added = 0.0;
+        for (int i = 0; i < count; i++) {
+            int idx = tiles[i];
+            float old = biomass[idx];
+            biomass[idx] = Math.min(old + unit, max);
+            added += (double) biomass[idx] - old;
+        }
+        return added;
+    }
+}
@@ -0,0 +1,53 @@
+package com.dinosurvival.game;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Samples rare independent events without drawing a random number for every
+ * candidate. Instead of testing each of {@code n} candidates against the
+ * same probability, the gap to the next success is drawn from a geometric
+ * distribution so the cost is proportional to the number of events.
+ */
+public final class SparseEventSampler {
+
+    private SparseEventSampler() {
+        // utility class
+    }
+
+    /**
+     * Invoke {@code action} with the index of every candidate in
+     * {@code [0, n)} whose independent trial with probability {@code p}
+     * succeeds. Indices are visited in increasing order.
+     */
+    public static void forEachEvent(int n, double p, Random rng, IntConsumer action) {
+        if (n <= 0 || p <= 0) {
+            return;
+        }
+        if (p >= 1.0) {
+            for (int i = 0; i < n; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        double logQ = Math.log1p(-p);
+        long i = -1;
+        while (true) {
+            i += nextSkip(rng, logQ) + 1;
+            if (i >= n) {
+                return;
+            }
+            action.accept((int) i);
+        }
+    }
+
+    /**
+     * Number of failed trials before the next success, drawn from a
+     * geometric distribution with {@code log(1 - p) = logQ}.
+     */
+    private static long nextSkip(Random rng, double logQ) {
+        // 1 - nextDouble() lies in (0, 1] so the logarithm is finite
+        double skip = Math.floor(Math.log(1.0 - rng.nextDouble()) / logQ);
+        return skip >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (long) skip;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dinosurvival.game;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PlantGrowthKernel} using the incubating Vector API. Biomass for a
+ * full vector of event tiles is gathered, grown and capped in one step and
+ * scattered back; the remainder is handled by a scalar tail loop.
+ */
+final class VectorPlantGrowthKernel implements PlantGrowthKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public double grow(float[] biomass, int[] tiles, int count, float unit, float max) {
+        int i = 0;
+        int bound = SPECIES.loopBound(count);
+        FloatVector added = FloatVector.zero(SPECIES);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector v = FloatVector.fromArray(SPECIES, biomass, 0, tiles, i);
+            FloatVector grown = v.add(unit).min(max);
+            grown.intoArray(biomass, 0, tiles, i);
+            added = added.add(grown.sub(v));
+        }
+        double total = added.reduceLanes(VectorOperators.ADD);
+        for (; i < count; i++) {
+            int idx = tiles[i];
+            float old = biomass[idx];
+            biomass[idx] = Math.min(old + unit, max);
+            total += (double) biomass[idx] - old;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,539 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Disk backed world for experiments larger than the heap. Tiles are grouped
+ * into square chunks; every chunk owns a fixed-size block of
+ * {@code tiles.dat} holding its terrain, fire, burnt and solidified lava
+ * counters and plant biomass, laid out chunk after chunk in row-major
+ * order. Animals of a chunk are fixed-width records in their own file
+ * under {@code npcs/}, in the {@link SaveGame} format.
+ * <p>
+ * Only a working set of chunks is mapped at once. Chunks near the focus
+ * (usually the player) and chunks holding an active disaster are hot and
+ * stay mapped; the others are paged out least recently used first once
+ * more than {@link #setMaxResident} chunks are mapped.
+ * {@link #forEachChunk} visits every chunk in file order, so a full sweep
+ * reads {@code tiles.dat} front to back, and {@link #generate} builds a
+ * world chunk by chunk without holding it all in memory.
+ */
+public class WorldChunkStore implements AutoCloseable {
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+    public static final int DEFAULT_MAX_RESIDENT = 64;
+    private static final String META = "world.meta";
+    private static final String TILES = "tiles.dat";
+    private static final String NPCS = "npcs";
+
+    /** Per-tile counters kept by the store. */
+    public enum Layer {
+        FIRE,
+        BURNT,
+        SOLIDIFIED
+    }
+
+    /** Receives the tile bounds of each chunk, upper bounds exclusive. */
+    public interface ChunkVisitor {
+        void visit(int x0, int y0, int x1, int y1) throws IOException;
+    }
+
+    /** Fills the tiles of one chunk of a world being generated, upper bounds exclusive. */
+    public interface ChunkGenerator {
+        void generate(WorldChunkStore store, int x0, int y0, int x1, int y1) throws IOException;
+    }
+
+    private static final class Chunk {
+        final int index;
+        final MappedByteBuffer tiles;
+        List<NPCAnimal>[] animals;
+        boolean tilesDirty;
+        boolean animalsDirty;
+
+        Chunk(int index, MappedByteBuffer tiles) {
+            this.index = index;
+            this.tiles = tiles;
+        }
+    }
+
+    private final Path dir;
+    private final int width;
+    private final int height;
+    private final int chunkSize;
+    private final int chunksX;
+    private final int chunksY;
+    private final List<String> plants;
+    private final Terrain[] terrains;
+    private final int[] terrainCodes;
+    private final int tilesPerChunk;
+    private final long chunkBytes;
+    private final FileChannel channel;
+    private final LinkedHashMap<Integer, Chunk> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Integer> active = new HashSet<>();
+    private int maxResident = DEFAULT_MAX_RESIDENT;
+    private int focusChunkX = -1;
+    private int focusChunkY = -1;
+    private int focusRadius;
+    private long pagedIn;
+    private long pagedOut;
+
+    private WorldChunkStore(Path dir, int width, int height, int chunkSize,
+                            List<String> plants, Terrain[] terrains) throws IOException {
+        this.dir = dir;
+        this.width = width;
+        this.height = height;
+        this.chunkSize = chunkSize;
+        this.chunksX = (width + chunkSize - 1) / chunkSize;
+        this.chunksY = (height + chunkSize - 1) / chunkSize;
+        this.plants = List.copyOf(plants);
+        this.terrains = terrains;
+        this.terrainCodes = new int[Terrain.values().length];
+        Arrays.fill(terrainCodes, -1);
+        for (int i = 0; i < terrains.length; i++) {
+            terrainCodes[terrains[i].ordinal()] = i;
+        }
+        this.tilesPerChunk = chunkSize * chunkSize;
+        // terrain byte, three int layers and a float per plant
+        this.chunkBytes = (long) tilesPerChunk * (1 + 4 * Layer.values().length + 4 * plants.size());
+        Files.createDirectories(dir.resolve(NPCS));
+        this.channel = FileChannel.open(dir.resolve(TILES), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Create an empty store in {@code dir}. Every tile starts as
+     * {@link Terrain#values()}{@code [0]} with no biomass or animals.
+     */
+    public static WorldChunkStore create(Path dir, int width, int height, int chunkSize,
+                                         List<String> plants) throws IOException {
+        if (width <= 0 || height <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid world size " + width + "x" + height
+                    + " with chunks of " + chunkSize);
+        }
+        Files.createDirectories(dir);
+        Files.deleteIfExists(dir.resolve(TILES));
+        // animals of an earlier world would otherwise turn up in the new one
+        if (Files.isDirectory(dir.resolve(NPCS))) {
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir.resolve(NPCS), "*.bin")) {
+                for (Path p : ds) {
+                    Files.delete(p);
+                }
+            }
+        }
+        Terrain[] terrains = Terrain.values();
+        SaveGame.write(dir.resolve(META), 1 << 12, out -> {
+            out.putInt(width);
+            out.putInt(height);
+            out.putInt(chunkSize);
+            out.putStringList(plants);
+            out.putInt(terrains.length);
+            for (Terrain t : terrains) {
+                out.putString(t.name());
+            }
+        });
+        return new WorldChunkStore(dir, width, height, chunkSize, plants, terrains);
+    }
+
+    /** Open a store written earlier by {@link #create}. */
+    public static WorldChunkStore open(Path dir) throws IOException {
+        return SaveGame.read(dir.resolve(META), in -> {
+            int width = in.getInt();
+            int height = in.getInt();
+            int chunkSize = in.getInt();
+            List<String> plants = in.getStringList();
+            Terrain[] terrains = new Terrain[in.getInt()];
+            for (int i = 0; i < terrains.length; i++) {
+                String name = in.getString();
+                try {
+                    terrains[i] = Terrain.valueOf(name);
+                } catch (IllegalArgumentException ex) {
+                    throw new IOException("Unknown terrain in world store: " + name, ex);
+                }
+            }
+            return new WorldChunkStore(dir, width, height, chunkSize, plants, terrains);
+        });
+    }
+
+    /**
+     * Create a store in {@code dir} and fill it chunk by chunk in file
+     * order. Each chunk is written and paged out once {@code generator} is
+     * done with it, so only one chunk of the new world is in memory at a
+     * time however large the world is.
+     */
+    public static WorldChunkStore generate(Path dir, int width, int height, int chunkSize,
+                                           List<String> plants, ChunkGenerator generator) throws IOException {
+        WorldChunkStore store = create(dir, width, height, chunkSize, plants);
+        try {
+            store.forEachChunk((x0, y0, x1, y1) -> generator.generate(store, x0, y0, x1, y1));
+            store.flush();
+        } catch (IOException | RuntimeException ex) {
+            store.close();
+            throw ex;
+        }
+        return store;
+    }
+
+    /** Copy the terrain, plants, fire and lava counters and animals of {@code map}. */
+    public static WorldChunkStore copyOf(Map map, Path dir, int chunkSize) throws IOException {
+        List<String> plants = new ArrayList<>();
+        for (int p = 0; p < map.getPlantTypes().size(); p++) {
+            plants.add(map.getPlantTypes().getName(p));
+        }
+        return generate(dir, map.getWidth(), map.getHeight(), chunkSize, plants, (store, x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    store.setTerrain(x, y, map.terrainAt(x, y));
+                    store.setLayer(Layer.FIRE, x, y, map.getFireTurns(x, y));
+                    store.setLayer(Layer.BURNT, x, y, map.getBurntTurns(x, y));
+                    store.setLayer(Layer.SOLIDIFIED, x, y, map.getSolidifiedTurns(x, y));
+                    for (int p = 0; p < plants.size(); p++) {
+                        store.setPlantBiomass(x, y, p, map.getPlantBiomass(x, y, p));
+                    }
+                    for (NPCAnimal npc : map.getAnimals(x, y)) {
+                        store.addAnimal(x, y, npc);
+                    }
+                }
+            }
+        });
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public List<String> getPlants() {
+        return plants;
+    }
+
+    /** Most chunks kept mapped besides hot ones. */
+    public void setMaxResident(int chunks) {
+        this.maxResident = Math.max(1, chunks);
+    }
+
+    /** Keep chunks within {@code radius} chunks of the tile {@code (x, y)} mapped. */
+    public void setFocus(int x, int y, int radius) {
+        checkBounds(x, y);
+        focusChunkX = x / chunkSize;
+        focusChunkY = y / chunkSize;
+        focusRadius = Math.max(0, radius);
+    }
+
+    /** Keep the chunk holding {@code (x, y)} mapped until {@link #clearActive}, e.g. during a disaster. */
+    public void markActive(int x, int y) {
+        checkBounds(x, y);
+        active.add(chunkIndex(x, y));
+    }
+
+    public void clearActive() {
+        active.clear();
+    }
+
+    public Terrain terrainAt(int x, int y) {
+        Chunk c = chunk(x, y);
+        return terrains[c.tiles.get(local(x, y)) & 0xff];
+    }
+
+    public void setTerrain(int x, int y, Terrain terrain) {
+        int code = terrainCodes[terrain.ordinal()];
+        if (code < 0) {
+            throw new IllegalArgumentException("Terrain not known to this store: " + terrain);
+        }
+        Chunk c = chunk(x, y);
+        c.tiles.put(local(x, y), (byte) code);
+        c.tilesDirty = true;
+    }
+
+    public int getLayer(Layer layer, int x, int y) {
+        Chunk c = chunk(x, y);
+        return c.tiles.getInt(layerOffset(layer, local(x, y)));
+    }
+
+    public void setLayer(Layer layer, int x, int y, int value) {
+        Chunk c = chunk(x, y);
+        c.tiles.putInt(layerOffset(layer, local(x, y)), value);
+        c.tilesDirty = true;
+    }
+
+    public double getPlantBiomass(int x, int y, int plant) {
+        Chunk c = chunk(x, y);
+        return c.tiles.getFloat(plantOffset(plant, local(x, y)));
+    }
+
+    public void setPlantBiomass(int x, int y, int plant, double weight) {
+        Chunk c = chunk(x, y);
+        c.tiles.putFloat(plantOffset(plant, local(x, y)), (float) weight);
+        c.tilesDirty = true;
+    }
+
+    /**
+     * Read-only view of the animals on a tile. It must not be kept once its
+     * chunk may have been paged out; use {@link #editAnimals} to change them.
+     */
+    public List<NPCAnimal> getAnimals(int x, int y) {
+        return Collections.unmodifiableList(animals(chunk(x, y))[local(x, y)]);
+    }
+
+    /**
+     * Animals on a tile for changing. The list and the animals in it are
+     * written back when the chunk is paged out; it must not be kept once
+     * its chunk may have been paged out.
+     */
+    public List<NPCAnimal> editAnimals(int x, int y) {
+        Chunk c = chunk(x, y);
+        c.animalsDirty = true;
+        return animals(c)[local(x, y)];
+    }
+
+    public void addAnimal(int x, int y, NPCAnimal npc) {
+        editAnimals(x, y).add(npc);
+    }
+
+    public void removeAnimal(int x, int y, NPCAnimal npc) {
+        Chunk c = chunk(x, y);
+        if (animals(c)[local(x, y)].remove(npc)) {
+            c.animalsDirty = true;
+        }
+    }
+
+    private List<NPCAnimal>[] animals(Chunk c) {
+        if (c.animals == null) {
+            c.animals = readAnimals(c.index);
+        }
+        return c.animals;
+    }
+
+    /**
+     * Visit every chunk in file order. Chunks that are not hot are paged out
+     * again straight after their visit so a sweep leaves the working set as
+     * it was.
+     */
+    public void forEachChunk(ChunkVisitor visitor) throws IOException {
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                int index = cy * chunksX + cx;
+                boolean wasResident = resident.containsKey(index);
+                chunk(index).tiles.load();
+                int x0 = cx * chunkSize;
+                int y0 = cy * chunkSize;
+                visitor.visit(x0, y0, Math.min(width, x0 + chunkSize), Math.min(height, y0 + chunkSize));
+                if (!wasResident && !isHot(index)) {
+                    Chunk c = resident.remove(index);
+                    if (c != null) {
+                        pageOut(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Page out every chunk that is not hot. */
+    public void pageOutIdle() throws IOException {
+        Iterator<Chunk> it = resident.values().iterator();
+        while (it.hasNext()) {
+            Chunk c = it.next();
+            if (!isHot(c.index)) {
+                it.remove();
+                pageOut(c);
+            }
+        }
+    }
+
+    /** Number of chunks currently mapped. */
+    public int getResidentCount() {
+        return resident.size();
+    }
+
+    /** Chunks paged in and out since the store was opened, as {@code {in, out}}. */
+    public long[] getPagingCounts() {
+        return new long[]{pagedIn, pagedOut};
+    }
+
+    /** Write every changed chunk to disk while keeping the working set. */
+    public void flush() throws IOException {
+        for (Chunk c : resident.values()) {
+            write(c);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            resident.clear();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IndexOutOfBoundsException("Tile (" + x + ", " + y + ") outside "
+                    + width + "x" + height + " world");
+        }
+    }
+
+    private int chunkIndex(int x, int y) {
+        return (y / chunkSize) * chunksX + x / chunkSize;
+    }
+
+    private int local(int x, int y) {
+        return (y % chunkSize) * chunkSize + x % chunkSize;
+    }
+
+    private int layerOffset(Layer layer, int tile) {
+        return tilesPerChunk + (layer.ordinal() * tilesPerChunk + tile) * 4;
+    }
+
+    private int plantOffset(int plant, int tile) {
+        if (plant < 0 || plant >= plants.size()) {
+            throw new IndexOutOfBoundsException("Plant " + plant + " of " + plants.size());
+        }
+        return tilesPerChunk * (1 + 4 * Layer.values().length) + (plant * tilesPerChunk + tile) * 4;
+    }
+
+    private boolean isHot(int index) {
+        if (active.contains(index)) {
+            return true;
+        }
+        if (focusChunkX < 0) {
+            return false;
+        }
+        int cx = index % chunksX;
+        int cy = index / chunksX;
+        return Math.abs(cx - focusChunkX) <= focusRadius && Math.abs(cy - focusChunkY) <= focusRadius;
+    }
+
+    private Chunk chunk(int x, int y) {
+        checkBounds(x, y);
+        return chunk(chunkIndex(x, y));
+    }
+
+    private Chunk chunk(int index) {
+        Chunk c = resident.get(index);
+        if (c != null) {
+            return c;
+        }
+        try {
+            c = new Chunk(index, channel.map(FileChannel.MapMode.READ_WRITE, index * chunkBytes, chunkBytes));
+            pagedIn++;
+            resident.put(index, c);
+            evictOverflow();
+            return c;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** Page out the least recently used chunks that are not hot until the limit is met. */
+    private void evictOverflow() throws IOException {
+        Iterator<Chunk> it = resident.values().iterator();
+        int excess = resident.size() - maxResident;
+        while (excess > 0 && it.hasNext()) {
+            Chunk c = it.next();
+            // the newest chunk is last in access order and never evicted here
+            if (!isHot(c.index) && it.hasNext()) {
+                it.remove();
+                pageOut(c);
+                excess--;
+            }
+        }
+    }
+
+    private void pageOut(Chunk c) throws IOException {
+        write(c);
+        pagedOut++;
+    }
+
+    private void write(Chunk c) throws IOException {
+        if (c.tilesDirty) {
+            c.tiles.force();
+            c.tilesDirty = false;
+        }
+        if (c.animalsDirty) {
+            writeAnimals(c.index, c.animals);
+            c.animalsDirty = false;
+        }
+    }
+
+    private Path npcFile(int index) {
+        return dir.resolve(NPCS).resolve(index + ".bin");
+    }
+
+    private void writeAnimals(int index, List<NPCAnimal>[] animals) throws IOException {
+        int count = 0;
+        for (List<NPCAnimal> cell : animals) {
+            count += cell.size();
+        }
+        if (count == 0) {
+            Files.deleteIfExists(npcFile(index));
+            return;
+        }
+        int total = count;
+        SaveGame.write(npcFile(index), 1 << 16, out -> {
+            out.putInt(total);
+            for (int t = 0; t < animals.length; t++) {
+                for (NPCAnimal npc : animals[t]) {
+                    SaveGame.putNpc(out, npc, t, 0);
+                }
+            }
+            for (List<NPCAnimal> cell : animals) {
+                for (NPCAnimal npc : cell) {
+                    SaveGame.putHunts(out, npc);
+                }
+            }
+        });
+    }
+
+    private List<NPCAnimal>[] readAnimals(int index) {
+        @SuppressWarnings("unchecked")
+        List<NPCAnimal>[] animals = (List<NPCAnimal>[]) new ArrayList<?>[tilesPerChunk];
+        for (int t = 0; t < animals.length; t++) {
+            animals[t] = new ArrayList<>();
+        }
+        Path file = npcFile(index);
+        if (!Files.exists(file)) {
+            return animals;
+        }
+        try {
+            SaveGame.read(file, in -> {
+                int count = in.getInt();
+                List<SaveGame.NpcRecord> records = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    SaveGame.NpcRecord rec = SaveGame.getNpc(in);
+                    records.add(rec);
+                    animals[rec.tile()].add(rec.npc());
+                }
+                for (SaveGame.NpcRecord rec : records) {
+                    SaveGame.getHunts(in, rec);
+                }
+                return null;
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return animals;
+    }
+}
@@ -0,0 +1,354 @@
+package com.dinosurvival.game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-turn counts of world events. Every committed turn is one row of
+ * {@code int} columns laid out as deaths per species and cause, hatchings
+ * per species, hunts per predator and prey pair and total plant biomass
+ * per plant type, so each turn costs the same amount of memory however
+ * eventful it was. Events for the turn in progress are accumulated with the
+ * {@code record} methods and committed by {@link #endTurn}. With a turn
+ * limit the oldest rows are overwritten. Biomass is kept in whole kg and
+ * saturates at {@link Integer#MAX_VALUE}. Recording and reading rows are
+ * synchronized, so NPC updates on several threads may record while the UI
+ * reads.
+ */
+public class WorldEventSeries {
+    private static final int MAGIC = 0x44534556; // "DSEV"
+    private static final int VERSION = 1;
+    private static final DeathCause[] CAUSES = DeathCause.values();
+
+    private final String[] species;
+    private final String[] plants;
+    private final java.util.Map<String, Integer> index = new java.util.HashMap<>();
+    private final int hatchBase;
+    private final int huntBase;
+    private final int biomassBase;
+    private final int width;
+    private final int maxTurns;
+
+    private final int[] current;
+    private int[] turns = new int[64];
+    private int[] rows;
+    private int start;
+    private int size;
+
+    /** An unbounded series. */
+    public WorldEventSeries(Collection<String> species, List<String> plants) {
+        this(species, plants, 0);
+    }
+
+    /**
+     * @param maxTurns keep only this many of the latest turns; zero keeps
+     *                 everything
+     */
+    public WorldEventSeries(Collection<String> species, List<String> plants, int maxTurns) {
+        this.species = species.toArray(new String[0]);
+        this.plants = plants.toArray(new String[0]);
+        for (int i = 0; i < this.species.length; i++) {
+            index.putIfAbsent(this.species[i], i);
+        }
+        int s = this.species.length;
+        hatchBase = s * CAUSES.length;
+        huntBase = hatchBase + s;
+        biomassBase = huntBase + s * s;
+        width = biomassBase + this.plants.length;
+        this.maxTurns = maxTurns;
+        current = new int[width];
+        if (maxTurns > 0 && maxTurns < turns.length) {
+            turns = new int[maxTurns];
+        }
+        rows = new int[turns.length * width];
+    }
+
+    /** Index of {@code name} in the species columns, or -1 if it is not tracked. */
+    public int indexOf(String name) {
+        Integer i = index.get(name);
+        return i == null ? -1 : i;
+    }
+
+    public List<String> getSpecies() {
+        return List.of(species);
+    }
+
+    public List<String> getPlants() {
+        return List.of(plants);
+    }
+
+    // ---------------------------------------------------------------------
+    // Recording. Events for untracked species are ignored.
+    // ---------------------------------------------------------------------
+
+    public synchronized void recordDeath(String name, DeathCause cause) {
+        int s = indexOf(name);
+        if (s >= 0) {
+            current[deathColumn(s, cause)]++;
+        }
+    }
+
+    public synchronized void recordHatch(String name, int number) {
+        int s = indexOf(name);
+        if (s >= 0) {
+            current[hatchColumn(s)] += number;
+        }
+    }
+
+    public synchronized void recordHunt(String predator, String prey) {
+        int p = indexOf(predator);
+        int q = indexOf(prey);
+        if (p >= 0 && q >= 0) {
+            current[huntColumn(p, q)]++;
+        }
+    }
+
+    /**
+     * Commit the events recorded since the last call as the row for
+     * {@code turn}. {@code biomass} holds the total biomass of each plant
+     * type in kg; missing trailing entries count as zero.
+     */
+    public synchronized void endTurn(int turn, double[] biomass) {
+        for (int p = 0; p < plants.length; p++) {
+            current[biomassBase + p] = p < biomass.length ? kg(biomass[p]) : 0;
+        }
+        int slot;
+        if (maxTurns > 0 && size == maxTurns) {
+            slot = start;
+            start = (start + 1) % maxTurns;
+        } else {
+            if (size == turns.length) {
+                grow();
+            }
+            slot = size++;
+        }
+        turns[slot] = turn;
+        System.arraycopy(current, 0, rows, slot * width, width);
+        Arrays.fill(current, 0);
+    }
+
+    private static int kg(double biomass) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, Math.round(biomass)));
+    }
+
+    private void grow() {
+        int capacity = turns.length * 2;
+        if (maxTurns > 0) {
+            capacity = Math.min(capacity, maxTurns);
+        }
+        turns = Arrays.copyOf(turns, capacity);
+        rows = Arrays.copyOf(rows, capacity * width);
+    }
+
+    /** Remove every committed row and any events of the turn in progress. */
+    public synchronized void clear() {
+        start = 0;
+        size = 0;
+        Arrays.fill(current, 0);
+    }
+
+    // ---------------------------------------------------------------------
+    // Columns
+    // ---------------------------------------------------------------------
+
+    public int columnCount() {
+        return width;
+    }
+
+    public int deathColumn(int species, DeathCause cause) {
+        return species * CAUSES.length + cause.ordinal();
+    }
+
+    public int hatchColumn(int species) {
+        return hatchBase + species;
+    }
+
+    public int huntColumn(int predator, int prey) {
+        return huntBase + predator * species.length + prey;
+    }
+
+    public int biomassColumn(int plant) {
+        return biomassBase + plant;
+    }
+
+    /** Header used for {@code column} in CSV exports. */
+    public String columnName(int column) {
+        if (column < hatchBase) {
+            return "deaths:" + species[column / CAUSES.length] + ":"
+                    + CAUSES[column % CAUSES.length].getName();
+        }
+        if (column < huntBase) {
+            return "hatched:" + species[column - hatchBase];
+        }
+        if (column < biomassBase) {
+            int pair = column - huntBase;
+            return "hunts:" + species[pair / species.length] + ">" + species[pair % species.length];
+        }
+        return "biomass:" + plants[column - biomassBase];
+    }
+
+    // ---------------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------------
+
+    /** Number of committed turns currently held. */
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Turn number of row {@code i}, oldest first. */
+    public synchronized int getTurn(int i) {
+        return turns[slot(i)];
+    }
+
+    public synchronized int get(int column, int i) {
+        return rows[slot(i) * width + column];
+    }
+
+    /** Value of {@code column} recorded so far in the turn in progress. */
+    public synchronized int getPending(int column) {
+        return current[column];
+    }
+
+    /** Sum of {@code column} over the latest {@code window} committed turns. */
+    public synchronized long windowSum(int column, int window) {
+        long sum = 0;
+        for (int i = Math.max(0, size - window); i < size; i++) {
+            sum += get(column, i);
+        }
+        return sum;
+    }
+
+    /**
+     * Rolling sums of {@code column}: entry {@code i} is the sum over rows
+     * {@code (i - window, i]}, or over every earlier row near the start.
+     */
+    public synchronized long[] rollingSum(int column, int window) {
+        long[] out = new long[size];
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += get(column, i);
+            if (i >= window) {
+                sum -= get(column, i - window);
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    private int slot(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return maxTurns > 0 ? (start + i) % turns.length : i;
+    }
+
+    // ---------------------------------------------------------------------
+    // Export
+    // ---------------------------------------------------------------------
+
+    /** Write a header and one line per committed turn as comma separated values. */
+    public synchronized void writeCsv(Writer out) throws IOException {
+        StringBuilder sb = new StringBuilder("turn");
+        for (int c = 0; c < width; c++) {
+            sb.append(',').append(columnName(c));
+        }
+        out.write(sb.append('\n').toString());
+        for (int i = 0; i < size; i++) {
+            sb.setLength(0);
+            sb.append(getTurn(i));
+            int base = slot(i) * width;
+            for (int c = 0; c < width; c++) {
+                sb.append(',').append(rows[base + c]);
+            }
+            out.write(sb.append('\n').toString());
+        }
+        out.flush();
+    }
+
+    /** Write the committed turns in a compact binary form readable by {@link #read}. */
+    public synchronized void writeBinary(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        writeNames(out, species);
+        String[] causes = new String[CAUSES.length];
+        for (DeathCause c : CAUSES) {
+            causes[c.ordinal()] = c.getName();
+        }
+        writeNames(out, causes);
+        writeNames(out, plants);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(getTurn(i));
+            int base = slot(i) * width;
+            for (int c = 0; c < width; c++) {
+                out.writeInt(rows[base + c]);
+            }
+        }
+        out.flush();
+    }
+
+    /** Read a series written by {@link #writeBinary}. */
+    public static WorldEventSeries read(InputStream is) throws IOException {
+        return read(is, 0);
+    }
+
+    /** Read a series written by {@link #writeBinary}, keeping at most {@code maxTurns} of its turns. */
+    public static WorldEventSeries read(InputStream is, int maxTurns) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+            throw new IOException("Not a world event series");
+        }
+        List<String> species = readNames(in);
+        List<String> causes = readNames(in);
+        if (causes.size() != CAUSES.length) {
+            throw new IOException("Death causes do not match: " + causes);
+        }
+        for (DeathCause c : CAUSES) {
+            if (!c.getName().equals(causes.get(c.ordinal()))) {
+                throw new IOException("Death causes do not match: " + causes);
+            }
+        }
+        List<String> plants = readNames(in);
+        WorldEventSeries series = new WorldEventSeries(species, plants, maxTurns);
+        int n = in.readInt();
+        double[] biomass = new double[plants.size()];
+        for (int i = 0; i < n; i++) {
+            int turn = in.readInt();
+            for (int c = 0; c < series.biomassBase; c++) {
+                series.current[c] = in.readInt();
+            }
+            for (int p = 0; p < biomass.length; p++) {
+                biomass[p] = in.readInt();
+            }
+            series.endTurn(turn, biomass);
+        }
+        return series;
+    }
+
+    private static void writeNames(DataOutputStream out, String[] names) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+
+    private static List<String> readNames(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        List<String> names = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            names.add(in.readUTF());
+        }
+        return names;
+    }
+}
@@ -1,55 +1,278 @@
 package com.dinosurvival.game;
 
-import java.util.Collection;
+import com.dinosurvival.util.EventStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.IntSupplier;
 
 /**
  * Tracks egg and death statistics for all species in the current world.
+ * Species are numbered in the order they are first seen and every species
+ * owns a fixed stride of counters in one flat array: one per
+ * {@link DeathCause} followed by eggs laid and eggs hatched. Recording is
+ * not thread-safe; NPC updates run on the simulation thread only.
  */
 public class WorldStats {
-    private final Map<String, Map<String, Integer>> deaths = new HashMap<>();
-    private final Map<String, int[]> eggs = new HashMap<>();
+    private static final int CAUSES = DeathCause.values().length;
+    private static final int LAID = CAUSES;
+    private static final int HATCHED = CAUSES + 1;
+    private static final int STRIDE = CAUSES + 2;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private long[] counts = new long[0];
+    private WorldEventSeries events;
+    private EventStream stream;
+    private IntSupplier turn = () -> 0;
+
+    /** Also record every event in the per-turn {@code events}, or stop when {@code null}. */
+    public void setEventSeries(WorldEventSeries events) {
+        this.events = events;
+    }
+
+    public WorldEventSeries getEventSeries() {
+        return events;
+    }
+
+    /**
+     * Also emit every event to {@code stream}, stamped with the turn from
+     * {@code turn}, or stop when {@code stream} is {@code null}.
+     */
+    public void setEventStream(EventStream stream, IntSupplier turn) {
+        this.stream = stream;
+        this.turn = turn;
+    }
 
     /** Ensure entries exist for the provided species names. */
     public void initSpecies(Collection<String> species) {
         for (String name : species) {
-            deaths.computeIfAbsent(name, k -> new HashMap<>());
-            eggs.computeIfAbsent(name, k -> new int[2]);
+            speciesId(name);
+        }
+    }
+
+    /** Id of {@code species}, registering it when it has not been seen yet. */
+    public int speciesId(String species) {
+        Integer id = ids.get(species);
+        if (id != null) {
+            return id;
         }
+        int next = names.size();
+        counts = Arrays.copyOf(counts, (next + 1) * STRIDE);
+        names.add(species);
+        ids.put(species, next);
+        return next;
+    }
+
+    private int lookup(String species) {
+        Integer id = ids.get(species);
+        return id == null ? -1 : id;
+    }
+
+    private void add(int slot, long n) {
+        counts[slot] += n;
+    }
+
+    private long get(int slot) {
+        return counts[slot];
+    }
+
+    /** Record a death for the species with the given id. */
+    public void recordDeath(int speciesId, DeathCause cause) {
+        add(speciesId * STRIDE + cause.ordinal(), 1);
     }
 
     /** Record a death for the given species and cause. */
-    public void recordDeath(String species, String cause) {
-        Map<String, Integer> map = deaths.computeIfAbsent(species, k -> new HashMap<>());
-        map.merge(cause, 1, Integer::sum);
+    public void recordDeath(String species, DeathCause cause) {
+        recordDeath(speciesId(species), cause);
+        if (events != null) {
+            events.recordDeath(species, cause);
+        }
+        if (stream != null) {
+            stream.emit(turn.getAsInt(), "death", "species", species, "cause", cause.getName());
+        }
+    }
+
+    /** Record a kill by {@code predator}. Only the per-turn event series keeps hunts. */
+    public void recordHunt(String predator, String prey) {
+        if (events != null) {
+            events.recordHunt(predator, prey);
+        }
+        if (stream != null) {
+            stream.emit(turn.getAsInt(), "kill", "predator", predator, "prey", prey);
+        }
+    }
+
+    /** Record a volcano starting to erupt. Only the event stream keeps eruptions. */
+    public void recordEruption(int x, int y, String size) {
+        if (stream != null) {
+            stream.emit(turn.getAsInt(), "eruption", "x", x, "y", y, "size", size);
+        }
     }
 
     /** Record eggs laid for a species. */
     public void recordEggsLaid(String species, int number) {
-        int[] vals = eggs.computeIfAbsent(species, k -> new int[2]);
-        vals[0] += number;
+        add(speciesId(species) * STRIDE + LAID, number);
+        if (stream != null) {
+            stream.emit(turn.getAsInt(), "eggs_laid", "species", species, "number", number);
+        }
     }
 
     /** Record eggs hatched for a species. */
     public void recordEggsHatched(String species, int number) {
-        int[] vals = eggs.computeIfAbsent(species, k -> new int[2]);
-        vals[1] += number;
+        add(speciesId(species) * STRIDE + HATCHED, number);
+        if (events != null) {
+            events.recordHatch(species, number);
+        }
+        if (stream != null) {
+            stream.emit(turn.getAsInt(), "hatch", "species", species, "number", number);
+        }
     }
 
-    /** Get immutable death counts for a species. */
+    /** Number of {@code species} deaths from {@code cause}. */
+    public long getDeaths(String species, DeathCause cause) {
+        int id = lookup(species);
+        return id < 0 ? 0 : get(id * STRIDE + cause.ordinal());
+    }
+
+    /** Get immutable death counts for a species keyed by cause name, omitting causes with no deaths. */
     public Map<String, Integer> getDeathCounts(String species) {
-        Map<String, Integer> map = deaths.get(species);
-        return map != null ? Collections.unmodifiableMap(map) : Map.of();
+        int id = lookup(species);
+        if (id < 0) {
+            return Map.of();
+        }
+        Map<String, Integer> out = new LinkedHashMap<>();
+        for (DeathCause cause : DeathCause.values()) {
+            long n = get(id * STRIDE + cause.ordinal());
+            if (n > 0) {
+                out.put(cause.getName(), (int) Math.min(Integer.MAX_VALUE, n));
+            }
+        }
+        return Collections.unmodifiableMap(out);
     }
 
     /** Get [laid, hatched] egg counts for a species. */
     public int[] getEggStats(String species) {
-        int[] vals = eggs.get(species);
-        if (vals == null) {
+        int id = lookup(species);
+        if (id < 0) {
             return new int[]{0, 0};
         }
-        return new int[]{vals[0], vals[1]};
+        return new int[]{(int) get(id * STRIDE + LAID), (int) get(id * STRIDE + HATCHED)};
+    }
+
+    /** Copy every counter into an immutable snapshot. */
+    public Snapshot snapshot() {
+        return new Snapshot(names.toArray(new String[0]), counts.clone());
+    }
+
+    /** Add every counter of {@code other} to this world's counters. */
+    public void merge(Snapshot other) {
+        for (int s = 0; s < other.species.length; s++) {
+            int id = speciesId(other.species[s]);
+            for (int k = 0; k < STRIDE; k++) {
+                long n = other.values[s * STRIDE + k];
+                if (n != 0) {
+                    add(id * STRIDE + k, n);
+                }
+            }
+        }
+    }
+
+    /** Write every counter to a save game. */
+    void writeState(SaveGame.Out out) throws IOException {
+        Snapshot snap = snapshot();
+        out.putInt(snap.species.length);
+        out.putInt(STRIDE);
+        for (int s = 0; s < snap.species.length; s++) {
+            out.putString(snap.species[s]);
+            for (int k = 0; k < STRIDE; k++) {
+                out.putLong(snap.values[s * STRIDE + k]);
+            }
+        }
+    }
+
+    /** Add the counters written by {@link #writeState}. */
+    void readState(SaveGame.In in) throws IOException {
+        int n = in.getInt();
+        int stride = in.getInt();
+        if (stride != STRIDE) {
+            throw new IOException("Save game has " + stride + " counters per species, expected " + STRIDE);
+        }
+        String[] species = new String[n];
+        long[] values = new long[n * STRIDE];
+        for (int s = 0; s < n; s++) {
+            species[s] = in.getString();
+            for (int k = 0; k < STRIDE; k++) {
+                values[s * STRIDE + k] = in.getLong();
+            }
+        }
+        merge(new Snapshot(species, values));
+    }
+
+    /**
+     * Immutable copy of the counters of a world. Snapshots from many games
+     * can be combined with {@link #merge(Snapshot)}.
+     */
+    public static final class Snapshot {
+        private final String[] species;
+        private final long[] values;
+
+        private Snapshot(String[] species, long[] values) {
+            this.species = species;
+            this.values = values;
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < species.length; i++) {
+                if (species[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public List<String> getSpecies() {
+            return List.of(species);
+        }
+
+        public long getDeaths(String name, DeathCause cause) {
+            int i = indexOf(name);
+            return i < 0 ? 0 : values[i * STRIDE + cause.ordinal()];
+        }
+
+        public long getEggsLaid(String name) {
+            int i = indexOf(name);
+            return i < 0 ? 0 : values[i * STRIDE + LAID];
+        }
+
+        public long getEggsHatched(String name) {
+            int i = indexOf(name);
+            return i < 0 ? 0 : values[i * STRIDE + HATCHED];
+        }
+
+        /** Counters of this snapshot and {@code other} added together. */
+        public Snapshot merge(Snapshot other) {
+            Map<String, Integer> index = new LinkedHashMap<>();
+            for (String name : species) {
+                index.put(name, index.size());
+            }
+            for (String name : other.species) {
+                index.putIfAbsent(name, index.size());
+            }
+            long[] sum = Arrays.copyOf(values, index.size() * STRIDE);
+            for (int s = 0; s < other.species.length; s++) {
+                int base = index.get(other.species[s]) * STRIDE;
+                for (int k = 0; k < STRIDE; k++) {
+                    sum[base + k] += other.values[s * STRIDE + k];
+                }
+            }
+            return new Snapshot(index.keySet().toArray(new String[0]), sum);
+        }
     }
 }
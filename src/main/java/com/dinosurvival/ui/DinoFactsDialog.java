@@ -1,13 +1,11 @@
 package com.dinosurvival.ui;
 
 import com.dinosurvival.game.Game;
+import com.dinosurvival.game.PopulationSeries;
 import com.dinosurvival.model.DinosaurStats;
 import com.dinosurvival.util.StatsLoader;
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -20,7 +18,8 @@ public class DinoFactsDialog extends JDialog {
         add(new JScrollPane(panel), BorderLayout.CENTER);
 
         ImageIcon img = loadScaledIcon(imagePath(name), 400, 250);
-        java.util.List<Integer> counts = game.getPopulationHistory(name);
+        PopulationSeries history = game.getPopulationHistory();
+        int species = history.indexOf(name);
         java.util.Map<String, Integer> deathCounts = game.getWorldStats().getDeathCounts(name);
         JPanel header = new JPanel();
         header.setLayout(new FlowLayout(FlowLayout.LEFT, 5, 5));
@@ -30,8 +29,10 @@ public class DinoFactsDialog extends JDialog {
             header.add(imgLbl);
             haveHeader = true;
         }
-        if (counts != null && !counts.isEmpty()) {
-            header.add(new PopGraphPanel(counts, game.getTurnHistory()));
+        if (species >= 0 && history.size() > 0) {
+            int n = history.size();
+            int[] values = history.range(species, 0, n, null);
+            header.add(new PopGraphPanel(values, n, history.getTurn(0), history.getTurn(n - 1)));
             haveHeader = true;
         }
         if (!deathCounts.isEmpty()) {
@@ -156,33 +157,39 @@ public class DinoFactsDialog extends JDialog {
     }
 
     private static ImageIcon loadScaledIcon(String path, int width, int height) {
-        java.net.URL url = DinoFactsDialog.class.getResource(path);
-        if (url == null) {
-            return null;
-        }
-        try {
-            BufferedImage img = ImageIO.read(url);
-            double scaleW = (double) width / img.getWidth();
-            double scaleH = (double) height / img.getHeight();
-            double scale = Math.max(scaleW, scaleH);
-            int newW = (int) Math.round(img.getWidth() * scale);
-            int newH = (int) Math.round(img.getHeight() * scale);
-            Image scaled = img.getScaledInstance(newW, newH, Image.SCALE_SMOOTH);
-            BufferedImage resized = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = resized.createGraphics();
-            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g2.drawImage(scaled, 0, 0, null);
-            g2.dispose();
-            int x = Math.max(0, (newW - width) / 2);
-            int y = Math.max(0, (newH - height) / 2);
-            BufferedImage cropped = resized.getSubimage(x, y, width, height);
-            return new ImageIcon(cropped);
-        } catch (IOException ex) {
-            return null;
+        return ImageCache.shared().get(path, width, height, false);
+    }
+
+    /**
+     * Panel painting a chart from a cached image. The dialog is modal, so no
+     * turn can pass while it is open and each chart shows a fixed snapshot;
+     * the chart is only rendered again when the panel size changes.
+     */
+    private abstract static class CachedChartPanel extends JPanel {
+        private java.awt.image.BufferedImage cache;
+
+        protected abstract void renderChart(Graphics2D g2, int w, int h);
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            int w = getWidth();
+            int h = getHeight();
+            if (w <= 0 || h <= 0) {
+                return;
+            }
+            if (cache == null || cache.getWidth() != w || cache.getHeight() != h) {
+                cache = new java.awt.image.BufferedImage(w, h, java.awt.image.BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2 = cache.createGraphics();
+                g2.setFont(getFont());
+                renderChart(g2, w, h);
+                g2.dispose();
+            }
+            g.drawImage(cache, 0, 0, null);
         }
     }
 
-    private static class DeathChartPanel extends JPanel {
+    private static class DeathChartPanel extends CachedChartPanel {
         private final java.util.Map<String, Integer> counts;
         DeathChartPanel(java.util.Map<String, Integer> counts) {
             this.counts = counts;
@@ -190,13 +197,11 @@ public class DinoFactsDialog extends JDialog {
         }
 
         @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
-            int width = 120;
-            int height = 200;
+        protected void renderChart(Graphics2D g2, int w, int h) {
             int margin = 24;
             int topPad = 10;
+            int width = Math.max(1, w - margin - 16);
+            int height = Math.max(1, h - topPad - 24);
             int bars = counts.size();
             if (bars == 0) return;
             int total = counts.values().stream().mapToInt(Integer::intValue).sum();
@@ -220,45 +225,53 @@ public class DinoFactsDialog extends JDialog {
         }
     }
 
-    private static class PopGraphPanel extends JPanel {
-        private final java.util.List<Integer> counts;
-        private final java.util.List<Integer> turns;
-        PopGraphPanel(java.util.List<Integer> counts, java.util.List<Integer> turns) {
+    private static class PopGraphPanel extends CachedChartPanel {
+        private final int[] counts;
+        private final int size;
+        private final int firstTurn;
+        private final int lastTurn;
+
+        /** Show the first {@code size} values of {@code counts}, covering the given turns. */
+        PopGraphPanel(int[] counts, int size, int firstTurn, int lastTurn) {
             this.counts = counts;
-            this.turns = turns;
+            this.size = size;
+            this.firstTurn = firstTurn;
+            this.lastTurn = lastTurn;
             setPreferredSize(new Dimension(354, 234));
         }
 
         @Override
-        protected void paintComponent(Graphics graphics) {
-            super.paintComponent(graphics);
-            Graphics2D graphics2D = (Graphics2D) graphics;
-            int width = 320;
-            int height = 200;
+        protected void renderChart(Graphics2D graphics2D, int w, int h) {
             int margin = 24;
             int topPad = 10;
+            int width = Math.max(1, w - margin - 10);
+            int height = Math.max(1, h - topPad - 24);
             int maxCount = 1;
-            for (int count : counts) {
-                if (count > maxCount) maxCount = count;
+            for (int i = 0; i < size; i++) {
+                if (counts[i] > maxCount) maxCount = counts[i];
             }
-            double step = counts.size() > 1 ? (double) width / (counts.size() - 1) : width;
+            double step = size > 1 ? (double) width / (size - 1) : width;
             graphics2D.setColor(Color.BLACK);
             graphics2D.drawLine(margin, topPad, margin, topPad + height);
             graphics2D.drawLine(margin, topPad + height, margin + width, topPad + height);
             graphics2D.setColor(Color.BLUE);
-            for (int countsIndex = 1; countsIndex < counts.size(); countsIndex++) {
-                int x1 = (int) Math.round(margin + (countsIndex - 1) * step);
-                int y1 = (int) Math.round(topPad + height - counts.get(countsIndex - 1) * height / (double) maxCount);
-                int x2 = (int) Math.round(margin + countsIndex * step);
-                int y2 = (int) Math.round(topPad + height - counts.get(countsIndex) * height / (double) maxCount);
+            // long histories are reduced to the extremes of each pixel column
+            int[] points = SeriesDecimation.minMax(counts, size, width);
+            for (int p = 1; p < points.length; p++) {
+                int a = points[p - 1];
+                int b = points[p];
+                int x1 = (int) Math.round(margin + a * step);
+                int y1 = (int) Math.round(topPad + height - counts[a] * height / (double) maxCount);
+                int x2 = (int) Math.round(margin + b * step);
+                int y2 = (int) Math.round(topPad + height - counts[b] * height / (double) maxCount);
                 graphics2D.drawLine(x1, y1, x2, y2);
             }
             graphics2D.setColor(Color.BLACK);
             graphics2D.drawString("0", margin - 20, topPad + height);
             graphics2D.drawString(String.valueOf(maxCount), margin - 20, topPad + 5);
-            if (!turns.isEmpty()) {
-                graphics2D.drawString(String.valueOf(turns.get(0)), margin, topPad + height + 15);
-                graphics2D.drawString(String.valueOf(turns.get(turns.size() - 1)), margin + width - 20, topPad + height + 15);
+            if (size > 0) {
+                graphics2D.drawString(String.valueOf(firstTurn), margin, topPad + height + 15);
+                graphics2D.drawString(String.valueOf(lastTurn), margin + width - 20, topPad + height + 15);
             }
             graphics2D.drawString("Turn", margin + width / 2 - 15, topPad + height + 18);
             Graphics2D populationTextGraphics = (Graphics2D) graphics2D.create();
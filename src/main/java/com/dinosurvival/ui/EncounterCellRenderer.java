@@ -0,0 +1,148 @@
+package com.dinosurvival.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders encounter rows with a single reused set of components. The list
+ * only asks for the rows that are visible, so the cost of a refresh does not
+ * depend on how crowded the tile is. Buttons are painted as part of the
+ * cell; {@link #buttonAt} tells which one a click on the list landed on.
+ */
+public class EncounterCellRenderer extends JPanel implements ListCellRenderer<EncounterRow> {
+    public static final int ROW_HEIGHT = 70;
+
+    /** Buttons painted on each row. */
+    public enum Button { ACTION, STATS }
+
+    private static final int MAX_STATS = 3;
+
+    private final JLabel img = new JLabel();
+    private final JLabel title = new JLabel();
+    private final List<JLabel> firstRow = new ArrayList<>();
+    private final List<JLabel> secondRow = new ArrayList<>();
+    private final JButton actionButton = new JButton("Attack");
+    private final JButton statsButton = new JButton("Stats");
+    private final JPanel btns = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+    private final JPanel info = new JPanel();
+
+    public EncounterCellRenderer() {
+        super(new BorderLayout());
+        img.setPreferredSize(new Dimension(100, ROW_HEIGHT));
+        info.setLayout(new BoxLayout(info, BoxLayout.Y_AXIS));
+        info.setOpaque(false);
+        title.setAlignmentX(Component.LEFT_ALIGNMENT);
+        title.setBorder(BorderFactory.createEmptyBorder(0, 10, 5, 0));
+        title.setHorizontalTextPosition(SwingConstants.LEFT);
+        Font baseFont = title.getFont();
+        title.setFont(baseFont.deriveFont(baseFont.getStyle(), 16f));
+        info.add(title);
+        info.add(statRow(firstRow));
+        info.add(statRow(secondRow));
+        btns.setOpaque(false);
+        btns.add(statsButton);
+        btns.add(actionButton);
+        add(img, BorderLayout.WEST);
+        add(info, BorderLayout.CENTER);
+        add(btns, BorderLayout.EAST);
+        setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(220, 220, 220)));
+    }
+
+    private static JPanel statRow(List<JLabel> labels) {
+        JPanel row = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        row.setAlignmentX(Component.LEFT_ALIGNMENT);
+        row.setOpaque(false);
+        for (int i = 0; i < MAX_STATS; i++) {
+            JLabel l = new JLabel();
+            l.setHorizontalTextPosition(SwingConstants.RIGHT);
+            labels.add(l);
+            row.add(l);
+        }
+        return row;
+    }
+
+    private static ImageIcon icon(String path, int w, int h, boolean gray) {
+        return path == null ? null : ImageCache.shared().get(path, w, h, gray);
+    }
+
+    private static ImageIcon statIcon(EncounterRow.StatIcon icon) {
+        return switch (icon) {
+            case ATTACK -> icon("/assets/icons/attack.png", 20, 20, false);
+            case HEALTH -> icon("/assets/icons/health.png", 20, 20, false);
+            case SPEED -> icon("/assets/icons/speed.png", 20, 20, false);
+            case ENERGY -> icon("/assets/icons/energy.png", 20, 20, false);
+            case WEIGHT -> icon("/assets/icons/weight.png", 20, 20, false);
+            case NONE -> null;
+        };
+    }
+
+    private static void fill(List<JLabel> labels, List<EncounterRow.Stat> stats) {
+        for (int i = 0; i < labels.size(); i++) {
+            JLabel l = labels.get(i);
+            if (i < stats.size()) {
+                l.setText(stats.get(i).text());
+                l.setIcon(statIcon(stats.get(i).icon()));
+                l.setVisible(true);
+            } else {
+                l.setVisible(false);
+            }
+        }
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends EncounterRow> list, EncounterRow row,
+                                                  int index, boolean selected, boolean focused) {
+        ImageIcon image = icon(row.imagePath(), 100, ROW_HEIGHT, row.gray());
+        if (image == null) {
+            image = icon(row.fallbackImagePath(), 100, ROW_HEIGHT, row.gray());
+        }
+        img.setIcon(image);
+        title.setText(row.title());
+        title.setIcon(switch (row.marker()) {
+            case BLEEDING -> icon("/assets/icons/bleed.png", 20, 20, false);
+            case BROKEN_BONE -> icon("/assets/icons/broken_bone.png", 20, 20, false);
+            case NONE -> null;
+        });
+        fill(firstRow, row.firstRow());
+        fill(secondRow, row.secondRow());
+        actionButton.setText(row.action());
+        actionButton.setEnabled(list.isEnabled());
+        statsButton.setVisible(row.kind() == EncounterRow.Kind.NPC);
+        statsButton.setEnabled(list.isEnabled());
+        setBackground(list.getBackground());
+        return this;
+    }
+
+    /**
+     * Which button of the row at {@code index} lies under {@code p}, a point
+     * in list coordinates, or {@code null} if none does.
+     */
+    public Button buttonAt(JList<EncounterRow> list, int index, Point p) {
+        Rectangle cell = list.getCellBounds(index, index);
+        if (cell == null || !cell.contains(p)) {
+            return null;
+        }
+        getListCellRendererComponent(list, list.getModel().getElementAt(index), index, false, false);
+        setBounds(0, 0, cell.width, cell.height);
+        layoutTree(this);
+        Component hit = SwingUtilities.getDeepestComponentAt(this, p.x - cell.x, p.y - cell.y);
+        if (hit == actionButton) {
+            return Button.ACTION;
+        }
+        if (hit == statsButton && statsButton.isVisible()) {
+            return Button.STATS;
+        }
+        return null;
+    }
+
+    private static void layoutTree(Container c) {
+        c.doLayout();
+        for (Component child : c.getComponents()) {
+            if (child instanceof Container cc) {
+                layoutTree(cc);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.dinosurvival.ui;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import javax.swing.AbstractListModel;
+
+/**
+ * List model for the encounter list holding every row on the tile and
+ * exposing the subset that passes the current filters in the chosen order.
+ */
+public class EncounterListModel extends AbstractListModel<EncounterRow> {
+
+    public enum SortKey {
+        WEIGHT, THREAT, SPECIES;
+
+        @Override
+        public String toString() {
+            return "By " + name().toLowerCase();
+        }
+    }
+
+    public enum LifeFilter {
+        ALL, ALIVE, DEAD;
+
+        @Override
+        public String toString() {
+            return this == ALL ? "Alive and dead" : name().charAt(0) + name().substring(1).toLowerCase();
+        }
+    }
+
+    private List<EncounterRow> all = List.of();
+    private final List<EncounterRow> visible = new ArrayList<>();
+    private String species;
+    private LifeFilter life = LifeFilter.ALL;
+    private EncounterRow.Threat minThreat = EncounterRow.Threat.NONE;
+    private SortKey sortKey = SortKey.WEIGHT;
+    private boolean ascending = true;
+
+    @Override
+    public int getSize() {
+        return visible.size();
+    }
+
+    @Override
+    public EncounterRow getElementAt(int index) {
+        return visible.get(index);
+    }
+
+    /** Replace all rows and reapply the filters. */
+    public void setRows(List<EncounterRow> rows) {
+        all = List.copyOf(rows);
+        update();
+    }
+
+    /** Species present in the unfiltered rows, sorted by name. */
+    public List<String> getSpecies() {
+        TreeSet<String> names = new TreeSet<>();
+        for (EncounterRow r : all) {
+            if (r.kind() != EncounterRow.Kind.BURROW) {
+                names.add(r.species());
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /** Only show rows of this species, or every species when {@code null}. */
+    public void setSpeciesFilter(String species) {
+        this.species = species;
+        update();
+    }
+
+    public void setLifeFilter(LifeFilter life) {
+        this.life = life;
+        update();
+    }
+
+    /** Only show animals at least this threatening; {@link EncounterRow.Threat#NONE} shows everything. */
+    public void setMinThreat(EncounterRow.Threat threat) {
+        this.minThreat = threat;
+        update();
+    }
+
+    public void setSort(SortKey key, boolean ascending) {
+        this.sortKey = key;
+        this.ascending = ascending;
+        update();
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    private boolean accepts(EncounterRow r) {
+        if (species != null && !species.equals(r.species())) {
+            return false;
+        }
+        if (life != LifeFilter.ALL) {
+            // burrows and eggs only show without a life filter
+            if (r.kind() != EncounterRow.Kind.NPC || r.alive() != (life == LifeFilter.ALIVE)) {
+                return false;
+            }
+        }
+        return r.threat().compareTo(minThreat) >= 0;
+    }
+
+    private void update() {
+        int old = visible.size();
+        visible.clear();
+        for (EncounterRow r : all) {
+            if (accepts(r)) {
+                visible.add(r);
+            }
+        }
+        Comparator<EncounterRow> cmp = switch (sortKey) {
+            case WEIGHT -> Comparator.comparingDouble(EncounterRow::weight);
+            case THREAT -> Comparator.comparing(EncounterRow::threat)
+                    .thenComparingDouble(EncounterRow::weight);
+            case SPECIES -> Comparator.comparing(EncounterRow::species)
+                    .thenComparingDouble(EncounterRow::weight);
+        };
+        visible.sort(ascending ? cmp : cmp.reversed());
+        int common = Math.min(old, visible.size());
+        if (old > visible.size()) {
+            fireIntervalRemoved(this, visible.size(), old - 1);
+        } else if (visible.size() > old) {
+            fireIntervalAdded(this, old, visible.size() - 1);
+        }
+        if (common > 0) {
+            fireContentsChanged(this, 0, common - 1);
+        }
+    }
+}
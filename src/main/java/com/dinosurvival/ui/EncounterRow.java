@@ -0,0 +1,120 @@
+package com.dinosurvival.ui;
+
+import com.dinosurvival.game.EncounterEntry;
+import com.dinosurvival.game.Game;
+import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.util.StatsLoader;
+
+import java.util.List;
+
+/**
+ * Snapshot of one encounter on the player's tile as shown in the encounter
+ * list. Rows are built on the event thread after a turn so painting never
+ * reads the live game objects.
+ */
+public record EncounterRow(Kind kind, String species, int npcId, boolean alive, double weight,
+                           Threat threat, String title, Marker marker, String imagePath,
+                           boolean gray, List<Stat> firstRow, List<Stat> secondRow, String action) {
+
+    public enum Kind { BURROW, EGGS, NPC }
+
+    /** How dangerous an animal is compared with the player. */
+    public enum Threat {
+        NONE("None"),
+        LOW("Low"),
+        MEDIUM("Medium"),
+        HIGH("High");
+
+        private final String label;
+
+        Threat(String label) {
+            this.label = label;
+        }
+
+        /** Threat of an animal with attack {@code npcAttack} against a player with {@code playerAttack}. */
+        public static Threat of(double npcAttack, double playerAttack) {
+            double rel = npcAttack / Math.max(playerAttack, 0.1);
+            if (rel >= 2.0) {
+                return HIGH;
+            }
+            return rel >= 0.5 ? MEDIUM : LOW;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /** Status icon shown after the title. */
+    public enum Marker { NONE, BLEEDING, BROKEN_BONE }
+
+    /** Small icon shown in front of a stat value. */
+    public enum StatIcon { NONE, ATTACK, HEALTH, SPEED, ENERGY, WEIGHT }
+
+    public record Stat(StatIcon icon, String text) { }
+
+    /** Build the row for {@code e} from the current game state. */
+    public static EncounterRow of(Game game, EncounterEntry e) {
+        if (e.getBurrow() != null) {
+            return new EncounterRow(Kind.BURROW, "Burrow", -1, false, 0.0, Threat.NONE,
+                    "Burrow" + (e.getBurrow().isFull() ? " (Full)" : " (Empty)"), Marker.NONE,
+                    "/assets/other/burrow.png", false,
+                    List.of(new Stat(StatIcon.NONE, String.format("Dig: %.0f%%", e.getBurrow().getProgress()))),
+                    List.of(), "Dig");
+        }
+        if (e.getEggs() != null) {
+            var eggs = e.getEggs();
+            return new EncounterRow(Kind.EGGS, eggs.getSpecies(), -1, false, eggs.getWeight(), Threat.NONE,
+                    eggs.getSpecies() + " Eggs", Marker.NONE, null, false,
+                    List.of(new Stat(StatIcon.WEIGHT, String.format("%.1fkg", eggs.getWeight())),
+                            new Stat(StatIcon.NONE, "x" + eggs.getNumber()),
+                            new Stat(StatIcon.NONE, "Hatch: " + eggs.getTurnsUntilHatch())),
+                    List.of(), "Eat");
+        }
+        NPCAnimal npc = e.getNpc();
+        String name = npc.getName();
+        double adultW = 0.0;
+        var ds = StatsLoader.getDinoStats().get(name);
+        if (ds != null) {
+            adultW = ds.getAdultWeight();
+        } else {
+            var cs = StatsLoader.getCritterStats().get(name);
+            if (cs != null) {
+                Object w = cs.get("adult_weight");
+                if (w instanceof Number n) adultW = n.doubleValue();
+            }
+        }
+        boolean showHatch = adultW > 0 && npc.getWeight() <= adultW / 3.0;
+        String base = "/assets/dinosaurs/" + name.toLowerCase().replace(" ", "_");
+        String title = name + " (" + npc.getId() + ")";
+        Marker marker = Marker.NONE;
+        if (npc.getBleeding() > 0) {
+            marker = Marker.BLEEDING;
+            title += " " + npc.getBleeding();
+        } else if (npc.getBrokenBone() > 0) {
+            marker = Marker.BROKEN_BONE;
+            title += " " + npc.getBrokenBone();
+        }
+        double attack = game.npcEffectiveAttack(npc);
+        double rel = game.npcEffectiveSpeed(npc) / Math.max(0.1, game.playerEffectiveSpeed());
+        double chance = game.calculateCatchChance(rel) * 100.0;
+        Threat threat = npc.isAlive() ? Threat.of(attack, game.playerEffectiveAttack()) : Threat.NONE;
+        return new EncounterRow(Kind.NPC, name, npc.getId(), npc.isAlive(), npc.getWeight(), threat,
+                title, marker, base + (showHatch ? "_hatchling.png" : ".png"), !npc.isAlive(),
+                List.of(new Stat(StatIcon.ATTACK, String.format("%.1f", attack)),
+                        new Stat(StatIcon.HEALTH, String.format("%.1f/%.1f", npc.getHp(), game.npcMaxHp(npc)))),
+                List.of(new Stat(StatIcon.SPEED, String.format("%.2f (%.0f%%)", rel, chance)),
+                        new Stat(StatIcon.ENERGY, String.format("%.0f%%", npc.getEnergy())),
+                        new Stat(StatIcon.WEIGHT, String.format("%.0fkg", npc.getWeight()))),
+                npc.isAlive() ? "Attack" : "Eat");
+    }
+
+    /** Path of the adult image to fall back to when a hatchling image is missing. */
+    public String fallbackImagePath() {
+        if (imagePath != null && imagePath.endsWith("_hatchling.png")) {
+            return imagePath.substring(0, imagePath.length() - "_hatchling.png".length()) + ".png";
+        }
+        return null;
+    }
+}
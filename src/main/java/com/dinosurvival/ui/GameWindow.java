@@ -1,11 +1,14 @@
 package com.dinosurvival.ui;
 
+import com.dinosurvival.game.Autosave;
 import com.dinosurvival.game.Game;
+import com.dinosurvival.game.GameChange;
 import com.dinosurvival.game.Terrain;
 import com.dinosurvival.model.Plant;
-import com.dinosurvival.model.PlantStats;
 import com.dinosurvival.game.EncounterEntry;
+import com.dinosurvival.game.FastForward;
 import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.util.EventStream;
 import com.dinosurvival.util.StatsLoader;
 import com.dinosurvival.ui.DinoFactsDialog;
 import com.dinosurvival.ui.GameHelpDialog;
@@ -14,35 +17,33 @@ import com.dinosurvival.ui.LegacyStatsDialog;
 import com.dinosurvival.ui.StatsDialog;
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import java.util.HashMap;
 import java.util.Map;
 import java.awt.event.WindowEvent;
 
 /** Main game window showing the map, controls and log output. */
 public class GameWindow extends JFrame {
-    private final JTextArea logArea = new JTextArea();
-    private final JPanel mapPanel = new JPanel();
+    private final LogBuffer logBuffer = new LogBuffer();
+    private final JList<String> logList = new JList<>(logBuffer);
     private final JLabel biomeLabel = new JLabel();
     private final JLabel biomeNameLabel = new JLabel();
     private final JLabel dinoImageLabel = new JLabel();
     private final Game game;
-    private JLabel[][] mapCells;
-    private final Map<String, ImageIcon> biomeImages = new HashMap<>();
-    private final Map<String, ImageIcon> plantImages = new HashMap<>();
-    private final JPanel plantList = new JPanel();
-    private final JPanel encounterList = new JPanel();
-    private final Map<String, ImageIcon> npcImages = new HashMap<>();
+    private final MapView mapView;
+    private final JScrollPane mapScroll;
+    private final DefaultListModel<Plant> plantModel = new DefaultListModel<>();
+    private final JList<Plant> plantList = new JList<>(plantModel);
+    private final EncounterListModel encounterModel = new EncounterListModel();
+    private final JList<EncounterRow> encounterList = new JList<>(encounterModel);
+    private final EncounterCellRenderer encounterRenderer = new EncounterCellRenderer();
+    private final JComboBox<String> speciesFilter = new JComboBox<>();
     private final JPanel populationList = new JPanel();
-    private final Map<String, ImageIcon> populationImages = new HashMap<>();
-    private final Map<String, ImageIcon> playerImages = new HashMap<>();
     private final JLabel weatherIconLabel = new JLabel();
     private final JLabel weatherNameLabel = new JLabel();
     private final JLabel weatherEffectLabel = new JLabel();
-    private final Map<String, ImageIcon> weatherIcons = new HashMap<>();
-    private boolean encounterSortAsc = true;
+    private final TurnRunner turnRunner;
+    private EventStream eventStream;
+    private Autosave autosave;
 
     // Stats sidebar components
     private final Map<String, ImageIcon> statIcons = new HashMap<>();
@@ -58,13 +59,11 @@ public class GameWindow extends JFrame {
     private final JLabel turnLabel = new JLabel();
     private final ImageIcon bleedIcon;
     private final ImageIcon brokenBoneIcon;
-    private final ImageIcon attackSmallIcon;
-    private final ImageIcon healthSmallIcon;
-    private final ImageIcon energySmallIcon;
-    private final ImageIcon speedSmallIcon;
-    private final ImageIcon weightSmallIcon;
 
     private static final int TILE_SIZE = 22;
+    private static final String ALL_SPECIES = "All species";
+    /** UI refresh rate while fast-forwarding. */
+    private static final int FAST_FORWARD_FPS = 15;
 
     private final JButton northButton = new JButton("North");
     private final JButton southButton = new JButton("South");
@@ -78,37 +77,14 @@ public class GameWindow extends JFrame {
     private final JButton playerStatsButton = new JButton("Player Stats");
     private final JButton dinoStatsButton = new JButton("Dinosaur Stats");
     private final JButton helpButton = new JButton("Help");
+    private final JButton fastForwardButton = new JButton("Fast Fwd");
 
     private ImageIcon loadScaledIcon(String path, int width, int height) {
-        java.net.URL url = getClass().getResource(path);
-        if (url == null) {
-            return null;
-        }
-        try {
-            BufferedImage img = ImageIO.read(url);
-            double scaleW = (double) width / img.getWidth();
-            double scaleH = (double) height / img.getHeight();
-            double scale = Math.max(scaleW, scaleH);
-            int newW = (int) Math.round(img.getWidth() * scale);
-            int newH = (int) Math.round(img.getHeight() * scale);
-            Image scaled = img.getScaledInstance(newW, newH, Image.SCALE_SMOOTH);
-            BufferedImage resized = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = resized.createGraphics();
-            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g2.drawImage(scaled, 0, 0, null);
-            g2.dispose();
-            int x = Math.max(0, (newW - width) / 2);
-            int y = Math.max(0, (newH - height) / 2);
-            BufferedImage cropped = resized.getSubimage(x, y, width, height);
-            return new ImageIcon(cropped);
-        } catch (IOException ex) {
-            return null;
-        }
+        return loadScaledIcon(path, width, height, false);
     }
 
-    private ImageIcon toGrayscale(ImageIcon src) {
-        Image gray = GrayFilter.createDisabledImage(src.getImage());
-        return new ImageIcon(gray);
+    private ImageIcon loadScaledIcon(String path, int width, int height, boolean gray) {
+        return ImageCache.shared().get(path, width, height, gray);
     }
 
     private String formatBiomeName(String name) {
@@ -127,33 +103,49 @@ public class GameWindow extends JFrame {
         return base.deriveFont((float) (base.getSize2D() * factor));
     }
 
-    private JLabel createEncounterHeader(String text) {
-        JLabel label = new JLabel(text);
-        label.setAlignmentX(Component.LEFT_ALIGNMENT);
-        label.setBorder(BorderFactory.createEmptyBorder(0, 10, 5, 0));
-        Font baseFont = label.getFont();
-        label.setFont(baseFont.deriveFont(baseFont.getStyle(), 16f));
-        return label;
-    }
-
-    private JPanel buildStatRow(JLabel... labels) {
-        JPanel row = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
-        row.setAlignmentX(Component.LEFT_ALIGNMENT);
-        for (JLabel l : labels) {
-            row.add(l);
-        }
-        return row;
-    }
-
     public GameWindow(Game game) {
         super("Dino Survival");
         this.game = game;
         setDefaultCloseOperation(EXIT_ON_CLOSE);
+        ImageCache.shared().preloadFormation();
+        turnRunner = new TurnRunner(game);
+        String streamDir = System.getProperty("dinosurvival.eventStream");
+        if (streamDir != null && !streamDir.isEmpty()) {
+            eventStream = new EventStream(java.nio.file.Path.of(streamDir), "events");
+            eventStream.setGzip(Boolean.getBoolean("dinosurvival.eventStreamGzip"));
+            eventStream.start();
+            game.setEventStream(eventStream);
+        }
+        String autosaveDir = System.getProperty("dinosurvival.autosave");
+        if (autosaveDir != null && !autosaveDir.isEmpty()) {
+            autosave = new Autosave(java.nio.file.Path.of(autosaveDir));
+            autosave.setEvery(Integer.getInteger("dinosurvival.autosaveEvery", Autosave.DEFAULT_EVERY));
+            game.setAutosave(autosave);
+        }
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                turnRunner.shutdown();
+                logBuffer.close();
+                if (eventStream != null) {
+                    eventStream.close();
+                }
+                if (autosave != null) {
+                    autosave.close();
+                }
+            }
+        });
+        // Escape drops a turn that has been requested but not started yet
+        getRootPane().registerKeyboardAction(e -> turnRunner.cancel(),
+                KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_ESCAPE, 0),
+                JComponent.WHEN_IN_FOCUSED_WINDOW);
 
         JPanel main = new JPanel(new GridBagLayout());
         setContentPane(main);
 
-        mapPanel.setLayout(new GridLayout(game.getMap().getHeight(), game.getMap().getWidth()));
+        mapView = new MapView(game, TILE_SIZE);
+        mapScroll = new JScrollPane(mapView);
+        mapScroll.setBorder(BorderFactory.createEmptyBorder());
 
         GridBagConstraints c = new GridBagConstraints();
         c.insets = new Insets(10, 10, 10, 10);
@@ -166,7 +158,7 @@ public class GameWindow extends JFrame {
         JPanel dinoPanel = new JPanel(new BorderLayout());
         dinoPanel.setPreferredSize(new Dimension(400, 300));
         dinoPanel.add(dinoImageLabel, BorderLayout.CENTER);
-        updateDinoImage();
+        captureDinoImage().run();
         JPanel infoRow = new JPanel(new FlowLayout(FlowLayout.CENTER));
         infoRow.add(infoButton);
         infoRow.add(dinoStatsButton);
@@ -188,11 +180,6 @@ public class GameWindow extends JFrame {
         Font largeFont = scaleFont(baseFont, 1.3);
         bleedIcon = loadScaledIcon("/assets/icons/bleed.png", 20, 20);
         brokenBoneIcon = loadScaledIcon("/assets/icons/broken_bone.png", 20, 20);
-        attackSmallIcon = loadScaledIcon("/assets/icons/attack.png", 20, 20);
-        healthSmallIcon = loadScaledIcon("/assets/icons/health.png", 20, 20);
-        energySmallIcon = loadScaledIcon("/assets/icons/energy.png", 20, 20);
-        speedSmallIcon = loadScaledIcon("/assets/icons/speed.png", 20, 20);
-        weightSmallIcon = loadScaledIcon("/assets/icons/weight.png", 20, 20);
         nameLabel.setFont(largeFont.deriveFont(Font.BOLD));
         nameLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
         statsPanel.add(nameLabel);
@@ -307,11 +294,13 @@ public class GameWindow extends JFrame {
         btns.add(westButton);
         btns.add(stayButton);
         btns.add(eastButton);
-        btns.add(new JLabel());
+        btns.add(fastForwardButton);
         btns.add(southButton);
         btns.add(threatenButton);
         btnFrame.add(btns, BorderLayout.NORTH);
-        plantList.setLayout(new BoxLayout(plantList, BoxLayout.Y_AXIS));
+        plantList.setCellRenderer(new PlantCellRenderer());
+        plantList.setFixedCellHeight(70);
+        plantList.setFocusable(false);
         btnFrame.add(new JScrollPane(plantList), BorderLayout.CENTER);
         c.gridx = 1;
         c.gridy = 1;
@@ -326,27 +315,50 @@ public class GameWindow extends JFrame {
         c.weighty = 0;
         c.anchor = GridBagConstraints.NORTH;
         c.fill = GridBagConstraints.NONE;
-        main.add(mapPanel, c);
+        main.add(mapScroll, c);
         c.fill = GridBagConstraints.BOTH;
 
         // Encounter list (row 1, column 2)
         JPanel encounterPanel = new JPanel(new BorderLayout());
         JLabel encLabel = new JLabel("Encounters");
         JButton sortBtn = new JButton("Sort");
-        sortBtn.addActionListener(e -> {
-            encounterSortAsc = !encounterSortAsc;
-            updateEncounterList();
+        JComboBox<EncounterListModel.SortKey> sortKey = new JComboBox<>(EncounterListModel.SortKey.values());
+        sortBtn.addActionListener(e -> encounterModel.setSort(encounterModel.getSortKey(), !encounterModel.isAscending()));
+        sortKey.addActionListener(e -> encounterModel.setSort(
+                (EncounterListModel.SortKey) sortKey.getSelectedItem(), encounterModel.isAscending()));
+        JComboBox<EncounterListModel.LifeFilter> lifeFilter = new JComboBox<>(EncounterListModel.LifeFilter.values());
+        lifeFilter.addActionListener(e -> encounterModel.setLifeFilter(
+                (EncounterListModel.LifeFilter) lifeFilter.getSelectedItem()));
+        JComboBox<EncounterRow.Threat> threatFilter = new JComboBox<>(EncounterRow.Threat.values());
+        threatFilter.setToolTipText("Minimum threat");
+        threatFilter.addActionListener(e -> encounterModel.setMinThreat(
+                (EncounterRow.Threat) threatFilter.getSelectedItem()));
+        speciesFilter.addActionListener(e -> {
+            Object sel = speciesFilter.getSelectedItem();
+            encounterModel.setSpeciesFilter(sel == null || ALL_SPECIES.equals(sel) ? null : sel.toString());
         });
         JButton encHelp = new JButton("Help");
         encHelp.addActionListener(e -> new EncounterHelpDialog(this).setVisible(true));
         JPanel encHeader = new JPanel(new BorderLayout());
         encHeader.add(encLabel, BorderLayout.WEST);
         JPanel encBtns = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        encBtns.add(speciesFilter);
+        encBtns.add(lifeFilter);
+        encBtns.add(threatFilter);
+        encBtns.add(sortKey);
         encBtns.add(encHelp);
         encBtns.add(sortBtn);
         encHeader.add(encBtns, BorderLayout.EAST);
         encounterPanel.add(encHeader, BorderLayout.NORTH);
-        encounterList.setLayout(new BoxLayout(encounterList, BoxLayout.Y_AXIS));
+        encounterList.setCellRenderer(encounterRenderer);
+        encounterList.setFixedCellHeight(EncounterCellRenderer.ROW_HEIGHT);
+        encounterList.setFocusable(false);
+        encounterList.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                encounterClicked(e.getPoint());
+            }
+        });
         JScrollPane encounterScroll = new JScrollPane(encounterList);
         encounterPanel.add(encounterScroll, BorderLayout.CENTER);
         c.gridx = 2;
@@ -391,8 +403,14 @@ public class GameWindow extends JFrame {
         c.gridheight = 1;
 
         // Log area at the bottom spanning two columns
-        JScrollPane scroll = new JScrollPane(logArea);
-        logArea.setEditable(false);
+        // a prototype fixes the cell size so the list never measures every line
+        logList.setPrototypeCellValue("X".repeat(120));
+        logList.setFocusable(false);
+        String spill = System.getProperty("dinosurvival.logSpill");
+        if (spill != null && !spill.isEmpty()) {
+            logBuffer.setSpillFile(java.nio.file.Path.of(spill));
+        }
+        JScrollPane scroll = new JScrollPane(logList);
         scroll.setPreferredSize(new Dimension(400, 150));
         c.gridx = 0;
         c.gridy = 2;
@@ -415,8 +433,8 @@ public class GameWindow extends JFrame {
         playerStatsButton.addActionListener(e -> new StatsDialog(this, game).setVisible(true));
         dinoStatsButton.addActionListener(e -> new LegacyStatsDialog(this, game.getFormation(), game.getPlayer().getName()).setVisible(true));
         helpButton.addActionListener(e -> new GameHelpDialog(this).setVisible(true));
+        fastForwardButton.addActionListener(e -> toggleFastForward());
 
-        buildMap();
         refreshAll();
         pack();
         setMinimumSize(new Dimension(1700, 1000));
@@ -424,22 +442,145 @@ public class GameWindow extends JFrame {
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Run a player action on the simulation thread. Input is disabled until
+     * the turn's messages and changed panels have been applied back on the
+     * event dispatch thread, or until the turn is cancelled.
+     */
     private void doAction(Runnable r, String msg) {
-        r.run();
-        log(msg);
-        for (String m : game.getTurnMessages()) {
-            log(m);
+        if (turnRunner.isBusy()) {
+            return;
+        }
+        setInputEnabled(false);
+        turnRunner.submit(r, result -> {
+            java.util.List<String> lines = new java.util.ArrayList<>();
+            lines.add(game.getTurn() + ": " + msg);
+            for (String m : result.messages()) {
+                lines.add(game.getTurn() + ": " + m);
+            }
+            appendLog(lines);
+            setInputEnabled(true);
+            refreshChanged(result.changes());
+            checkGameEnd();
+        }, ex -> {
+            setInputEnabled(true);
+            updateActionButtons();
+            checkGameEnd();
+            log("Error: " + ex);
+            JOptionPane.showMessageDialog(this, "The turn failed: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }, () -> {
+            setInputEnabled(true);
+            updateActionButtons();
+            log(msg + " cancelled");
+        });
+    }
+
+    /** Start fast-forwarding with options chosen by the player, or stop a running session. */
+    private void toggleFastForward() {
+        if (turnRunner.isBusy()) {
+            turnRunner.cancel();
+            return;
+        }
+        JSpinner turns = new JSpinner(new SpinnerNumberModel(50, 1, 10000, 10));
+        JComboBox<String> policy = new JComboBox<>(new String[] {"Rest", "Drink when possible"});
+        JCheckBox onAttack = new JCheckBox("Stop when attacked", true);
+        JSpinner hunger = new JSpinner(new SpinnerNumberModel(25, 0, 100, 5));
+        JSpinner eruption = new JSpinner(new SpinnerNumberModel(3, -1, 50, 1));
+        JCheckBox onDeath = new JCheckBox("Stop when the player dies", game.getPlayer().getHp() > 0);
+        JPanel form = new JPanel(new GridLayout(0, 2, 5, 5));
+        form.add(new JLabel("Turns"));
+        form.add(turns);
+        form.add(new JLabel("Action"));
+        form.add(policy);
+        form.add(new JLabel("Stop below energy %"));
+        form.add(hunger);
+        form.add(new JLabel("Stop for eruptions within"));
+        form.add(eruption);
+        form.add(onAttack);
+        form.add(onDeath);
+        int res = JOptionPane.showConfirmDialog(this, form, "Fast Forward",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (res != JOptionPane.OK_OPTION) {
+            return;
         }
-        refreshMap();
-        updateBiomeImage();
-        updateDinoImage();
-        updateStatsPanel();
-        updateActionButtons();
-        updatePlantList();
-        updateEncounterList();
-        updateWeatherPanel();
-        updatePopulationList();
-        checkGameEnd();
+        FastForward ff = new FastForward(policy.getSelectedIndex() == 0
+                ? FastForward.REST : FastForward.DRINK_OR_REST, (Integer) turns.getValue());
+        ff.setStopOnAttack(onAttack.isSelected());
+        ff.setHungerThreshold((Integer) hunger.getValue());
+        ff.setEruptionRadius((Integer) eruption.getValue());
+        ff.setStopOnDeath(onDeath.isSelected());
+
+        setInputEnabled(false);
+        fastForwardButton.setText("Stop");
+        turnRunner.fastForward(ff, FAST_FORWARD_FPS, frame -> {
+            Runnable panels = captureChanged(frame.changes());
+            return () -> {
+                appendLog(frame.messages());
+                panels.run();
+                setInputEnabled(false);
+            };
+        }, reason -> {
+            fastForwardButton.setText("Fast Fwd");
+            setInputEnabled(true);
+            updateActionButtons();
+            log("Fast forward stopped after " + ff.getPlayed() + " turns ("
+                    + reason.name().toLowerCase().replace('_', ' ') + ")");
+            checkGameEnd();
+        }, ex -> {
+            fastForwardButton.setText("Fast Fwd");
+            setInputEnabled(true);
+            updateActionButtons();
+            checkGameEnd();
+            log("Error: " + ex);
+            JOptionPane.showMessageDialog(this, "Fast forward failed: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    /** Enable or disable every control that acts on or reads the game. */
+    private void setInputEnabled(boolean enabled) {
+        for (JButton b : new JButton[] {northButton, southButton, eastButton, westButton,
+                stayButton, drinkButton, threatenButton, layButton,
+                infoButton, playerStatsButton, dinoStatsButton}) {
+            b.setEnabled(enabled);
+        }
+        encounterList.setEnabled(enabled);
+    }
+
+    /** Refresh only the panels showing state that changed during the turn. */
+    private void refreshChanged(java.util.Set<GameChange> changes) {
+        captureChanged(changes).run();
+    }
+
+    /**
+     * Read the game state shown by the panels in {@code changes} and return
+     * the Swing updates that show it. The returned updates no longer touch
+     * the game, so fast-forward can apply them while the simulation runs.
+     */
+    private Runnable captureChanged(java.util.Set<GameChange> changes) {
+        java.util.List<Runnable> updates = new java.util.ArrayList<>();
+        if (changes.contains(GameChange.MAP)) {
+            // the map view copies changed tiles into its own image
+            refreshMap();
+            updates.add(captureBiomeImage());
+        }
+        if (changes.contains(GameChange.PLAYER)) {
+            updates.add(captureDinoImage());
+            updates.add(captureStatsPanel());
+        }
+        updates.add(captureActionButtons());
+        if (changes.contains(GameChange.TILE)) {
+            updates.add(capturePlantList());
+            updates.add(captureEncounterList());
+        }
+        if (changes.contains(GameChange.WEATHER)) {
+            updates.add(captureWeatherPanel());
+        }
+        if (changes.contains(GameChange.POPULATION)) {
+            updates.add(capturePopulationList());
+        }
+        return () -> updates.forEach(Runnable::run);
     }
 
     private void disableActionButtons() {
@@ -460,352 +601,182 @@ public class GameWindow extends JFrame {
     }
 
     public void log(String msg) {
-        logArea.append(game.getTurn() + ": " + msg + "\n");
-        logArea.setCaretPosition(logArea.getDocument().getLength());
+        appendLog(game.getTurn() + ": " + msg);
     }
 
-    private void buildMap() {
-        com.dinosurvival.game.Map gmap = game.getMap();
-        mapCells = new JLabel[gmap.getHeight()][gmap.getWidth()];
-        mapPanel.removeAll();
-        for (int y = 0; y < gmap.getHeight(); y++) {
-            for (int x = 0; x < gmap.getWidth(); x++) {
-                JLabel lbl = new JLabel(" ", SwingConstants.CENTER);
-                lbl.setOpaque(true);
-                lbl.setPreferredSize(new Dimension(TILE_SIZE, TILE_SIZE));
-                mapPanel.add(lbl);
-                mapCells[y][x] = lbl;
-            }
-        }
-        int prefW = gmap.getWidth() * TILE_SIZE;
-        int prefH = gmap.getHeight() * TILE_SIZE;
-        mapPanel.setPreferredSize(new Dimension(prefW, prefH));
-        mapPanel.setMinimumSize(new Dimension(prefW, prefH));
+    private void appendLog(String line) {
+        appendLog(java.util.List.of(line));
     }
 
-    // Map terrain colors mirrored from the Python version
-    private Color colorForTerrain(Terrain t) {
-        return switch (t) {
-            case FOREST -> new Color(0, 100, 0);
-            case FOREST_FLOODED,
-                 PLAINS_FLOODED,
-                 SWAMP_FLOODED,
-                 WOODLANDS_FLOODED,
-                 DESERT_FLOODED -> new Color(95, 158, 160); // cadet blue
-            case PLAINS -> new Color(173, 255, 47);
-            case SWAMP -> new Color(107, 142, 35);
-            case WOODLANDS -> new Color(50, 205, 50);
-            case DESERT -> Color.YELLOW;
-            case TOXIC_BADLANDS -> new Color(128, 128, 0);
-            case LAKE -> Color.BLUE;
-            case MOUNTAIN -> new Color(210, 180, 140);
-            case VOLCANO, VOLCANO_ERUPTING -> Color.BLACK;
-            case HIGHLAND_FOREST -> new Color(46, 139, 87);
-            case HIGHLAND_FOREST_FIRE, FOREST_FIRE -> Color.ORANGE;
-            case HIGHLAND_FOREST_BURNT, FOREST_BURNT -> new Color(85, 107, 47);
-            case LAVA -> Color.RED;
-            case SOLIDIFIED_LAVA_FIELD -> Color.DARK_GRAY;
-            default -> Color.GRAY;
-        };
+    private void appendLog(java.util.List<String> lines) {
+        logBuffer.appendAll(lines);
+        logList.ensureIndexIsVisible(logBuffer.getSize() - 1);
     }
 
     private void refreshAll() {
-        refreshMap();
-        updateBiomeImage();
-        updateDinoImage();
-        updateStatsPanel();
-        updateActionButtons();
-        updatePlantList();
-        updateEncounterList();
-        updateWeatherPanel();
-        updatePopulationList();
+        game.consumeChanges();
+        refreshChanged(java.util.EnumSet.allOf(GameChange.class));
     }
 
     private void refreshMap() {
-        com.dinosurvival.game.Map gmap = game.getMap();
-        for (int y = 0; y < gmap.getHeight(); y++) {
-            for (int x = 0; x < gmap.getWidth(); x++) {
-                JLabel lbl = mapCells[y][x];
-                boolean reveal = gmap.isRevealed(x, y);
-                Color c = reveal ? colorForTerrain(gmap.terrainAt(x, y)) : Color.GRAY;
-                lbl.setBackground(c);
-                lbl.setText((game.getPlayerX() == x && game.getPlayerY() == y) ? "P" : " ");
-            }
-        }
-        mapPanel.revalidate();
-        mapPanel.repaint();
+        mapView.refresh();
     }
 
-    private void updateBiomeImage() {
-        int px = game.getPlayerX();
-        int py = game.getPlayerY();
-        Terrain t = game.getMap().terrainAt(px, py);
-        ImageIcon icon = biomeImages.get(t.getName());
-        if (icon == null) {
-            icon = loadScaledIcon("/assets/biomes/" + t.getName() + ".png", 400, 250);
-            if (icon != null) {
-                biomeImages.put(t.getName(), icon);
-            }
-        }
-        biomeLabel.setIcon(icon);
-        String label = formatBiomeName(t.getName());
-        biomeNameLabel.setText(label);
+    private Runnable captureBiomeImage() {
+        Terrain t = game.getMap().terrainAt(game.getPlayerX(), game.getPlayerY());
+        return () -> {
+            biomeLabel.setIcon(loadScaledIcon("/assets/biomes/" + t.getName() + ".png", 400, 250));
+            biomeNameLabel.setText(formatBiomeName(t.getName()));
+        };
     }
 
-    private void updateDinoImage() {
+    private Runnable captureDinoImage() {
         String dName = game.getPlayer().getName();
         String stage = game.playerGrowthStage().toLowerCase();
-        boolean hatch = stage.equals("hatchling") || stage.equals("juvenile");
-        String base = "/assets/dinosaurs/" + dName.toLowerCase().replace(" ", "_");
-        String key = dName + (hatch ? "_hatch" : "_adult");
-        ImageIcon icon = playerImages.get(key);
-        if (icon == null) {
-            String path = base + (hatch ? "_hatchling.png" : ".png");
-            icon = loadScaledIcon(path, 400, 250);
-            if (icon != null) {
-                playerImages.put(key, icon);
-            }
-        }
-        dinoImageLabel.setIcon(icon);
-        dinoImageLabel.setText(dName);
+        return () -> {
+            boolean hatch = stage.equals("hatchling") || stage.equals("juvenile");
+            String base = "/assets/dinosaurs/" + dName.toLowerCase().replace(" ", "_");
+            dinoImageLabel.setIcon(loadScaledIcon(base + (hatch ? "_hatchling.png" : ".png"), 400, 250));
+            dinoImageLabel.setText(dName);
+        };
     }
 
     private void updateActionButtons() {
-        Terrain t = game.getMap().terrainAt(game.getPlayerX(), game.getPlayerY());
-        drinkButton.setEnabled(t == Terrain.LAKE);
-        layButton.setEnabled(game.playerCanLayEggs());
+        captureActionButtons().run();
+    }
+
+    private Runnable captureActionButtons() {
+        boolean lake = game.getMap().terrainAt(game.getPlayerX(), game.getPlayerY()) == Terrain.LAKE;
+        boolean canLay = game.playerCanLayEggs();
+        return () -> {
+            drinkButton.setEnabled(lake);
+            layButton.setEnabled(canLay);
+        };
     }
 
-    private void updatePlantList() {
-        plantList.removeAll();
+    private Runnable capturePlantList() {
+        java.util.List<Plant> plants = new java.util.ArrayList<>();
         for (Plant p : game.getCurrentPlants()) {
-            JPanel row = new JPanel();
-            row.setLayout(new FlowLayout(FlowLayout.LEFT));
-            JLabel img = new JLabel();
-            PlantStats stats = StatsLoader.getPlantStats().get(p.getName());
-            if (stats != null) {
-                ImageIcon icon = plantImages.get(p.getName());
-                if (icon == null) {
-                    String path = stats.getImage();
-                    if (path != null && !path.isEmpty()) {
-                        icon = loadScaledIcon("/" + path, 100, 63);
-                        if (icon != null) {
-                            plantImages.put(p.getName(), icon);
-                        }
-                    }
-                }
-                if (icon != null) {
-                    img.setIcon(icon);
-                }
-            }
-            JLabel name = new JLabel(p.getName());
-            JLabel weight = new JLabel(String.format("W:%.1fkg", p.getWeight()));
-            row.add(img);
-            row.add(name);
-            row.add(weight);
-            plantList.add(row);
+            // copy so painting never reads plants the simulation is updating
+            Plant copy = new Plant();
+            copy.setName(p.getName());
+            copy.setWeight(p.getWeight());
+            plants.add(copy);
         }
-        plantList.revalidate();
-        plantList.repaint();
+        return () -> {
+            plantModel.clear();
+            plants.forEach(plantModel::addElement);
+        };
     }
 
-    private double entryWeight(EncounterEntry e) {
-        if (e.getNpc() != null) {
-            return e.getNpc().getWeight();
-        } else if (e.getEggs() != null) {
-            return e.getEggs().getWeight();
+    private Runnable captureEncounterList() {
+        java.util.List<EncounterRow> rows = new java.util.ArrayList<>();
+        for (EncounterEntry e : game.getCurrentEncounters()) {
+            rows.add(EncounterRow.of(game, e));
         }
-        return 0.0;
+        return () -> showEncounterRows(rows);
     }
 
-    private void updateEncounterList() {
-        encounterList.removeAll();
-        java.util.List<EncounterEntry> entries = new java.util.ArrayList<>(game.getCurrentEncounters());
-        entries.sort(java.util.Comparator.comparingDouble(this::entryWeight));
-        if (!encounterSortAsc) {
-            java.util.Collections.reverse(entries);
+    private void showEncounterRows(java.util.List<EncounterRow> rows) {
+        encounterModel.setRows(rows);
+        Object selected = speciesFilter.getSelectedItem();
+        java.util.List<String> species = encounterModel.getSpecies();
+        if (selected != null && !ALL_SPECIES.equals(selected) && !species.contains(selected.toString())) {
+            // keep the chosen species selectable until the filter is changed
+            species.add(selected.toString());
         }
-        for (EncounterEntry e : entries) {
-            JPanel row = new JPanel(new BorderLayout());
-            row.setMaximumSize(new Dimension(Integer.MAX_VALUE, 70));
-            row.setPreferredSize(new Dimension(0, 70));
-            JLabel img = new JLabel();
-            img.setPreferredSize(new Dimension(100, 70));
-            JPanel info = new JPanel();
-            info.setLayout(new BoxLayout(info, BoxLayout.Y_AXIS));
-            row.add(img, BorderLayout.WEST);
-            row.add(info, BorderLayout.CENTER);
-            JButton actBtn = new JButton();
-            JButton statsBtn = new JButton("Stats");
-            JPanel btns = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
-            btns.add(statsBtn);
-            btns.add(actBtn);
-            row.add(btns, BorderLayout.EAST);
-
-            if (e.getBurrow() != null) {
-                ImageIcon bIcon = loadScaledIcon("/assets/other/burrow.png", 100, 70);
-                if (bIcon != null) img.setIcon(bIcon);
-                info.add(createEncounterHeader("Burrow" + (e.getBurrow().isFull() ? " (Full)" : " (Empty)")));
-                JLabel digLabel = new JLabel(String.format("Dig: %.0f%%", e.getBurrow().getProgress()));
-                info.add(buildStatRow(digLabel));
-                actBtn.setText("Dig");
-                actBtn.addActionListener(ev -> doAction(() -> game.digBurrow(), "Dig"));
-                statsBtn.setVisible(false);
-            } else if (e.getEggs() != null) {
-                info.add(createEncounterHeader(e.getEggs().getSpecies() + " Eggs"));
-                JLabel weightLabel = new JLabel(String.format("%.1fkg", e.getEggs().getWeight()));
-                weightLabel.setIcon(weightSmallIcon);
-                weightLabel.setHorizontalTextPosition(SwingConstants.RIGHT);
-                JLabel countLabel = new JLabel("x" + e.getEggs().getNumber());
-                JLabel hatchLabel = new JLabel("Hatch: " + e.getEggs().getTurnsUntilHatch());
-                info.add(buildStatRow(weightLabel, countLabel, hatchLabel));
-                actBtn.setText("Eat");
-                actBtn.addActionListener(ev -> doAction(() -> game.collectEggs(), "Eat eggs"));
-                statsBtn.setVisible(false);
-            } else if (e.getNpc() != null) {
-                NPCAnimal npc = e.getNpc();
-                String name = npc.getName();
-                double adultW = 0.0;
-                var ds = StatsLoader.getDinoStats().get(name);
-                if (ds != null) {
-                    adultW = ds.getAdultWeight();
-                } else {
-                    var cs = StatsLoader.getCritterStats().get(name);
-                    if (cs != null) {
-                        Object w = cs.get("adult_weight");
-                        if (w instanceof Number n) adultW = n.doubleValue();
-                    }
-                }
-                boolean showHatch = adultW > 0 && npc.getWeight() <= adultW / 3.0;
-                String base = "/assets/dinosaurs/" + name.toLowerCase().replace(" ", "_");
-                String key = name + (showHatch ? "_h" : "_a");
-                ImageIcon icon = npcImages.get(key);
-                if (icon == null) {
-                    String path = base + (showHatch ? "_hatchling.png" : ".png");
-                    icon = loadScaledIcon(path, 100, 70);
-                    if (icon == null && showHatch) {
-                        path = base + ".png";
-                        icon = loadScaledIcon(path, 100, 70);
-                    }
-                    if (icon != null) {
-                        npcImages.put(key, icon);
-                    }
-                }
-                if (icon != null) {
-                    if (!npc.isAlive()) {
-                        icon = toGrayscale(icon);
-                    }
-                    img.setIcon(icon);
-                }
-                JLabel npcNameLabel = getNpcNameLabel(name, npc);
-                npcNameLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                npcNameLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 5, 0));
-                Font baseFont = npcNameLabel.getFont();
-                npcNameLabel.setFont(baseFont.deriveFont(baseFont.getStyle(), 16f));
-                info.add(npcNameLabel);
-
-                JPanel statRowOne = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
-                statRowOne.setAlignmentX(Component.LEFT_ALIGNMENT);
-                JLabel attackValueLabel = new JLabel(String.format("%.1f", game.npcEffectiveAttack(npc)));
-                attackValueLabel.setIcon(attackSmallIcon);
-                attackValueLabel.setHorizontalTextPosition(SwingConstants.RIGHT);
-                statRowOne.add(attackValueLabel);
-                JLabel hpValue = new JLabel(String.format("%.1f/%.1f", npc.getHp(), game.npcMaxHp(npc)));
-                hpValue.setIcon(healthSmallIcon);
-                hpValue.setHorizontalTextPosition(SwingConstants.RIGHT);
-                statRowOne.add(hpValue);
-                info.add(statRowOne);
-
-                JPanel statRowTwo = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
-                statRowTwo.setAlignmentX(Component.LEFT_ALIGNMENT);
-                double rel = game.npcEffectiveSpeed(npc) / Math.max(0.1, game.playerEffectiveSpeed());
-                double chance = game.calculateCatchChance(rel) * 100.0;
-                JLabel speedValue = new JLabel(String.format("%.2f (%.0f%%)", rel, chance));
-                speedValue.setIcon(speedSmallIcon);
-                speedValue.setHorizontalTextPosition(SwingConstants.RIGHT);
-                statRowTwo.add(speedValue);
-                JLabel energyValue = new JLabel(String.format("%.0f%%", npc.getEnergy()));
-                energyValue.setIcon(energySmallIcon);
-                energyValue.setHorizontalTextPosition(SwingConstants.RIGHT);
-                statRowTwo.add(energyValue);
-                JLabel weightValue = new JLabel(String.format("%.0fkg", npc.getWeight()));
-                weightValue.setIcon(weightSmallIcon);
-                weightValue.setHorizontalTextPosition(SwingConstants.RIGHT);
-                statRowTwo.add(weightValue);
-                info.add(statRowTwo);
-
-                actBtn.setText(npc.isAlive() ? "Attack" : "Eat");
-                actBtn.addActionListener(ev -> doAction(() -> game.huntNpc(npc.getId()), "Hunt"));
-                statsBtn.addActionListener(ev -> new NpcStatsDialog(this, game, npc).setVisible(true));
-            }
-
-            encounterList.add(row);
+        DefaultComboBoxModel<String> options = new DefaultComboBoxModel<>();
+        options.addElement(ALL_SPECIES);
+        for (String name : species) {
+            options.addElement(name);
         }
-        encounterList.revalidate();
-        encounterList.repaint();
+        options.setSelectedItem(selected == null ? ALL_SPECIES : selected);
+        speciesFilter.setModel(options);
     }
 
-    private JLabel getNpcNameLabel(String name, NPCAnimal npc) {
-        JLabel npcNameLabel = new JLabel();
-        String nameWithId = name + " (" + npc.getId() + ")";
-        if (npc.getBleeding() > 0) {
-            npcNameLabel.setIcon(bleedIcon);
-            npcNameLabel.setHorizontalTextPosition(SwingConstants.LEFT);
-            npcNameLabel.setText(nameWithId + " " + npc.getBleeding());
-        } else if (npc.getBrokenBone() > 0) {
-            npcNameLabel.setIcon(brokenBoneIcon);
-            npcNameLabel.setHorizontalTextPosition(SwingConstants.LEFT);
-            npcNameLabel.setText(nameWithId + " " + npc.getBrokenBone());
-        } else {
-            npcNameLabel.setText(nameWithId);
+    /** Run the button of the encounter row under {@code p}, if any. */
+    private void encounterClicked(Point p) {
+        if (!encounterList.isEnabled()) {
+            return;
+        }
+        int index = encounterList.locationToIndex(p);
+        if (index < 0) {
+            return;
+        }
+        EncounterCellRenderer.Button button = encounterRenderer.buttonAt(encounterList, index, p);
+        if (button == null) {
+            return;
+        }
+        EncounterRow row = encounterModel.getElementAt(index);
+        if (button == EncounterCellRenderer.Button.STATS) {
+            for (EncounterEntry e : game.getCurrentEncounters()) {
+                if (e.getNpc() != null && e.getNpc().getId() == row.npcId()) {
+                    new NpcStatsDialog(this, game, e.getNpc()).setVisible(true);
+                    return;
+                }
+            }
+            return;
+        }
+        switch (row.kind()) {
+            case BURROW -> doAction(() -> game.digBurrow(), "Dig");
+            case EGGS -> doAction(() -> game.collectEggs(), "Eat eggs");
+            case NPC -> doAction(() -> game.huntNpc(row.npcId()), "Hunt");
         }
-        return npcNameLabel;
     }
 
-    private void updateStatsPanel() {
+    private Runnable captureStatsPanel() {
         var p = game.getPlayer();
-        String stage = game.playerGrowthStage();
-        String baseName = p.getName() + " (" + stage + ")";
-        if (p.getBleeding() > 0) {
-            nameLabel.setIcon(bleedIcon);
-            nameLabel.setHorizontalTextPosition(SwingConstants.LEFT);
-            nameLabel.setText(baseName + " " + p.getBleeding());
-        } else if (p.getBrokenBone() > 0) {
-            nameLabel.setIcon(brokenBoneIcon);
-            nameLabel.setHorizontalTextPosition(SwingConstants.LEFT);
-            nameLabel.setText(baseName + " " + p.getBrokenBone());
-        } else {
-            nameLabel.setIcon(null);
-            nameLabel.setText(baseName);
-        }
-        attackLabel.setText(String.format("%.1f", game.playerEffectiveAttack()));
-
+        String baseName = p.getName() + " (" + game.playerGrowthStage() + ")";
+        int bleeding = p.getBleeding();
+        int brokenBone = p.getBrokenBone();
+        double attack = game.playerEffectiveAttack();
+        double hp = p.getHp();
         double maxHp = p.getMaxHp();
-        double hpPct = maxHp > 0 ? p.getHp() / maxHp * 100.0 : 0.0;
-        hpValueLabel.setText(String.format("%.1f/%.1f", p.getHp(), maxHp));
-        hpBar.setValue((int) Math.round(hpPct));
-        hpBar.setString(String.format("%.0f%%", hpPct));
-        hpBar.setForeground(barColor(hpPct));
-
         double energyPct = p.getEnergy();
-        energyBar.setValue((int) Math.round(energyPct));
-        energyBar.setString(String.format("%.0f%%", energyPct));
-        energyBar.setForeground(barColor(energyPct));
-
         double hydrationPct = p.getHydration();
-        hydrationBar.setValue((int) Math.round(hydrationPct));
-        hydrationBar.setString(String.format("%.0f%%", hydrationPct));
-        hydrationBar.setForeground(barColor(hydrationPct));
-
         double hatch = p.getHatchlingWeight();
         double adult = p.getAdultWeight();
-        double pct = adult - hatch > 0 ? (p.getWeight() - hatch) / (adult - hatch) * 100.0 : 100.0;
-        weightLabel.setText(String.format("%.1fkg/%.0fkg (%.1f%%)", p.getWeight(), adult, pct));
+        double weight = p.getWeight();
+        double speed = game.playerEffectiveSpeed();
+        int descendants = game.descendantCount();
+        int turn = game.getTurn();
+        return () -> {
+            if (bleeding > 0) {
+                nameLabel.setIcon(bleedIcon);
+                nameLabel.setHorizontalTextPosition(SwingConstants.LEFT);
+                nameLabel.setText(baseName + " " + bleeding);
+            } else if (brokenBone > 0) {
+                nameLabel.setIcon(brokenBoneIcon);
+                nameLabel.setHorizontalTextPosition(SwingConstants.LEFT);
+                nameLabel.setText(baseName + " " + brokenBone);
+            } else {
+                nameLabel.setIcon(null);
+                nameLabel.setText(baseName);
+            }
+            attackLabel.setText(String.format("%.1f", attack));
+
+            double hpPct = maxHp > 0 ? hp / maxHp * 100.0 : 0.0;
+            hpValueLabel.setText(String.format("%.1f/%.1f", hp, maxHp));
+            hpBar.setValue((int) Math.round(hpPct));
+            hpBar.setString(String.format("%.0f%%", hpPct));
+            hpBar.setForeground(barColor(hpPct));
+
+            energyBar.setValue((int) Math.round(energyPct));
+            energyBar.setString(String.format("%.0f%%", energyPct));
+            energyBar.setForeground(barColor(energyPct));
 
-        speedLabel.setText(String.format("%.1f", game.playerEffectiveSpeed()));
+            hydrationBar.setValue((int) Math.round(hydrationPct));
+            hydrationBar.setString(String.format("%.0f%%", hydrationPct));
+            hydrationBar.setForeground(barColor(hydrationPct));
 
-        descendantLabel.setText(String.valueOf(game.descendantCount()) + "/" + Game.DESCENDANTS_TO_WIN);
-        turnLabel.setText(String.valueOf(game.getTurn()));
+            double pct = adult - hatch > 0 ? (weight - hatch) / (adult - hatch) * 100.0 : 100.0;
+            weightLabel.setText(String.format("%.1fkg/%.0fkg (%.1f%%)", weight, adult, pct));
+
+            speedLabel.setText(String.format("%.1f", speed));
+
+            descendantLabel.setText(descendants + "/" + Game.DESCENDANTS_TO_WIN);
+            turnLabel.setText(String.valueOf(turn));
+        };
     }
 
     private Color barColor(double percent) {
@@ -816,17 +787,10 @@ public class GameWindow extends JFrame {
         return new Color(red, green, 0);
     }
 
-    private void updateWeatherPanel() {
+    private Runnable captureWeatherPanel() {
         var w = game.getWeather();
-        weatherNameLabel.setText(w.getName());
-        ImageIcon icon = weatherIcons.get(w.getName());
-        if (icon == null && w.getIcon() != null && !w.getIcon().isEmpty()) {
-            icon = loadScaledIcon("/" + w.getIcon(), 128, 128);
-            if (icon != null) {
-                weatherIcons.put(w.getName(), icon);
-            }
-        }
-        weatherIconLabel.setIcon(icon);
+        String name = w.getName();
+        String iconPath = w.getIcon();
         java.util.List<String> effects = new java.util.ArrayList<>();
         if (Math.abs(w.getPlayerHydrationMult() - 1.0) > 0.01) {
             effects.add(String.format("Hydration loss x%.2g", w.getPlayerHydrationMult()));
@@ -837,16 +801,28 @@ public class GameWindow extends JFrame {
         if (w.getFloodChance() > 0) {
             effects.add(String.format("Flood chance %d%%", (int) (w.getFloodChance() * 100)));
         }
-        if (effects.isEmpty()) {
-            weatherEffectLabel.setText("");
-        } else {
-            weatherEffectLabel.setText("<html>" + String.join("<br>", effects) + "</html>");
-        }
+        return () -> {
+            weatherNameLabel.setText(name);
+            ImageIcon icon = null;
+            if (iconPath != null && !iconPath.isEmpty()) {
+                icon = loadScaledIcon("/" + iconPath, 128, 128);
+            }
+            weatherIconLabel.setIcon(icon);
+            if (effects.isEmpty()) {
+                weatherEffectLabel.setText("");
+            } else {
+                weatherEffectLabel.setText("<html>" + String.join("<br>", effects) + "</html>");
+            }
+        };
+    }
+
+    private Runnable capturePopulationList() {
+        java.util.Map<String, Integer> counts = new java.util.LinkedHashMap<>(game.populationStats());
+        return () -> showPopulation(counts);
     }
 
-    private void updatePopulationList() {
+    private void showPopulation(java.util.Map<String, Integer> counts) {
         populationList.removeAll();
-        java.util.Map<String, Integer> counts = game.populationStats();
         int total = 0;
         for (int count : counts.values()) {
             total += count;
@@ -862,14 +838,8 @@ public class GameWindow extends JFrame {
             row.setMaximumSize(new Dimension(Integer.MAX_VALUE, 30));
             row.setPreferredSize(new Dimension(0, 30));
             JLabel img = new JLabel();
-            ImageIcon icon = populationImages.get(name);
-            if (icon == null) {
-                String path = "/assets/dinosaurs/" + name.toLowerCase().replace(" ", "_") + ".png";
-                icon = loadScaledIcon(path, 40, 30);
-                if (icon != null) {
-                    populationImages.put(name, icon);
-                }
-            }
+            String path = "/assets/dinosaurs/" + name.toLowerCase().replace(" ", "_") + ".png";
+            ImageIcon icon = loadScaledIcon(path, 40, 30);
             if (icon != null) {
                 img.setIcon(icon);
             }
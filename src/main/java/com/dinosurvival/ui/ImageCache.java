@@ -0,0 +1,190 @@
+package com.dinosurvival.ui;
+
+import com.dinosurvival.game.Terrain;
+import com.dinosurvival.model.PlantStats;
+import com.dinosurvival.util.StatsLoader;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import javax.swing.ImageIcon;
+
+/**
+ * Shared cache of scaled UI images keyed by asset path, size and grayscale
+ * flag. Recently used images are held strongly up to a memory bound measured
+ * in decoded pixel bytes. Images evicted from that set are kept behind soft
+ * references so they can be reused until the garbage collector needs the
+ * memory. Missing assets are remembered so fallback lookups stay cheap.
+ */
+public final class ImageCache {
+    /** Default bound for strongly held images. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final ImageCache SHARED = new ImageCache(DEFAULT_MAX_BYTES,
+            k -> ScaledAssets.load(k.path(), k.width(), k.height(), k.gray()));
+
+    /** Cache key of a scaled image. */
+    public record Key(String path, int width, int height, boolean gray) {
+        public Key {
+            path = path.startsWith("/") ? path : "/" + path;
+        }
+
+        long bytes() {
+            return 4L * width * height;
+        }
+    }
+
+    private final long maxBytes;
+    private final Function<Key, BufferedImage> loader;
+    private final LinkedHashMap<Key, ImageIcon> strong = new LinkedHashMap<>(64, 0.75f, true);
+    private final HashMap<Key, SoftReference<ImageIcon>> soft = new HashMap<>();
+    private final Set<Key> missing = new HashSet<>();
+    private long usedBytes;
+    private ExecutorService preloader;
+
+    public ImageCache(long maxBytes, Function<Key, BufferedImage> loader) {
+        this.maxBytes = maxBytes;
+        this.loader = loader;
+    }
+
+    /** Cache shared by all UI components. */
+    public static ImageCache shared() {
+        return SHARED;
+    }
+
+    /** Return the image scaled to {@code width x height} or {@code null}. */
+    public ImageIcon get(String path, int width, int height, boolean gray) {
+        return get(new Key(path, width, height, gray));
+    }
+
+    public ImageIcon get(Key key) {
+        synchronized (this) {
+            ImageIcon icon = lookup(key);
+            if (icon != null || missing.contains(key)) {
+                return icon;
+            }
+        }
+        // decode outside the lock so a preload never blocks the EDT
+        BufferedImage img = loader.apply(key);
+        synchronized (this) {
+            if (img == null) {
+                missing.add(key);
+                return null;
+            }
+            ImageIcon icon = lookup(key);
+            if (icon == null) {
+                icon = new ImageIcon(img);
+                store(key, icon);
+            }
+            return icon;
+        }
+    }
+
+    /** Whether the image is currently cached without needing a decode. */
+    public synchronized boolean contains(Key key) {
+        if (strong.containsKey(key)) {
+            return true;
+        }
+        SoftReference<ImageIcon> ref = soft.get(key);
+        return ref != null && ref.get() != null;
+    }
+
+    /** Bytes of decoded pixels currently held strongly. */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /** Load the given images on a background thread. */
+    public Future<?> preload(Collection<Key> keys) {
+        List<Key> copy = new ArrayList<>(keys);
+        ExecutorService exec;
+        synchronized (this) {
+            if (preloader == null) {
+                preloader = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "image-preload");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+            }
+            exec = preloader;
+        }
+        return exec.submit(() -> {
+            for (Key k : copy) {
+                get(k);
+            }
+        });
+    }
+
+    /**
+     * Preload the images shown during play for the currently loaded
+     * formation: species portraits for the encounter and population lists,
+     * plants, biomes and stat icons.
+     */
+    public Future<?> preloadFormation() {
+        List<Key> keys = new ArrayList<>();
+        for (String icon : List.of("attack", "health", "energy", "hydration", "weight",
+                "speed", "descendant", "turn", "bleed", "broken_bone")) {
+            keys.add(new Key("/assets/icons/" + icon + ".png", 20, 20, false));
+        }
+        Set<String> species = new java.util.LinkedHashSet<>(StatsLoader.getDinoStats().keySet());
+        species.addAll(StatsLoader.getCritterStats().keySet());
+        for (String name : species) {
+            String base = "/assets/dinosaurs/" + name.toLowerCase().replace(" ", "_");
+            keys.add(new Key(base + ".png", 100, 70, false));
+            keys.add(new Key(base + "_hatchling.png", 100, 70, false));
+            keys.add(new Key(base + ".png", 40, 30, false));
+        }
+        for (PlantStats ps : StatsLoader.getPlantStats().values()) {
+            if (ps.getImage() != null && !ps.getImage().isEmpty()) {
+                keys.add(new Key(ps.getImage(), 100, 63, false));
+            }
+        }
+        keys.add(new Key("/assets/other/burrow.png", 100, 70, false));
+        for (Terrain t : Terrain.values()) {
+            keys.add(new Key("/assets/biomes/" + t.getName() + ".png", 400, 250, false));
+        }
+        return preload(keys);
+    }
+
+    private ImageIcon lookup(Key key) {
+        ImageIcon icon = strong.get(key);
+        if (icon != null) {
+            return icon;
+        }
+        SoftReference<ImageIcon> ref = soft.remove(key);
+        icon = ref != null ? ref.get() : null;
+        if (icon != null) {
+            store(key, icon);
+        }
+        return icon;
+    }
+
+    private void store(Key key, ImageIcon icon) {
+        strong.put(key, icon);
+        usedBytes += key.bytes();
+        var it = strong.entrySet().iterator();
+        while (usedBytes > maxBytes && strong.size() > 1 && it.hasNext()) {
+            var eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            it.remove();
+            usedBytes -= eldest.getKey().bytes();
+            soft.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+        }
+        if (soft.size() > 256) {
+            soft.values().removeIf(r -> r.get() == null);
+        }
+    }
+}
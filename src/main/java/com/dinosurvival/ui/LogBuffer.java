@@ -0,0 +1,183 @@
+package com.dinosurvival.ui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.AbstractListModel;
+
+/**
+ * List model keeping only the most recent log lines in a fixed size ring
+ * buffer, so appending costs the same however long the game runs. Lines
+ * pushed out of the buffer can optionally be spilled to a file, which
+ * together with the buffer holds the full history.
+ */
+public class LogBuffer extends AbstractListModel<String> {
+    public static final int DEFAULT_CAPACITY = 2000;
+
+    private final String[] lines;
+    private int start;
+    private int size;
+    private long total;
+    private BufferedWriter spill;
+    private Path spillFile;
+
+    public LogBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LogBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        lines = new String[capacity];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return lines[(start + index) % lines.length];
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    /** Number of lines appended since the buffer was created, including evicted ones. */
+    public long getTotalLines() {
+        return total;
+    }
+
+    /**
+     * Append evicted lines to {@code file} from now on, or stop spilling when
+     * {@code null}. The file is truncated first. If writing fails spilling is
+     * switched off and the buffer keeps working on its own.
+     */
+    public void setSpillFile(Path file) {
+        closeSpill();
+        spillFile = file;
+        if (file != null) {
+            try {
+                spill = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException ex) {
+                spill = null;
+                spillFile = null;
+            }
+        }
+    }
+
+    public Path getSpillFile() {
+        return spillFile;
+    }
+
+    public void append(String line) {
+        appendAll(List.of(line));
+    }
+
+    /** Append several lines, notifying listeners once for the whole batch. */
+    public void appendAll(List<String> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int before = size;
+        int evicted = 0;
+        for (String line : batch) {
+            total++;
+            if (size == lines.length) {
+                spill(lines[start]);
+                lines[start] = line;
+                start = (start + 1) % lines.length;
+                evicted++;
+            } else {
+                lines[(start + size) % lines.length] = line;
+                size++;
+            }
+        }
+        // the oldest rows listeners knew of dropped off the front, then the new rows follow what is left
+        int removed = Math.min(evicted, before);
+        if (removed > 0) {
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+        fireIntervalAdded(this, before - removed, size - 1);
+        flushSpill();
+    }
+
+    /** Drop every buffered line. The spill file, if any, is left as is. */
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        int old = size;
+        Arrays.fill(lines, null);
+        start = 0;
+        size = 0;
+        fireIntervalRemoved(this, 0, old - 1);
+    }
+
+    /** Write the spill file, if any, followed by the buffered lines to {@code out}. */
+    public void exportHistory(Path out) throws IOException {
+        flushSpill();
+        try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            if (spillFile != null && Files.exists(spillFile)) {
+                try (var r = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+                    r.transferTo(w);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                w.write(getElementAt(i));
+                w.newLine();
+            }
+        }
+    }
+
+    /** Flush and close the spill file. */
+    public void close() {
+        closeSpill();
+    }
+
+    private void spill(String line) {
+        if (spill == null) {
+            return;
+        }
+        try {
+            spill.write(line);
+            spill.newLine();
+        } catch (IOException ex) {
+            closeSpill();
+        }
+    }
+
+    private void flushSpill() {
+        if (spill == null) {
+            return;
+        }
+        try {
+            spill.flush();
+        } catch (IOException ex) {
+            closeSpill();
+        }
+    }
+
+    private void closeSpill() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException ignored) {
+                // nothing more to write
+            }
+            spill = null;
+        }
+    }
+}
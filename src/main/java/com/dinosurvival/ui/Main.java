@@ -1,6 +1,8 @@
 package com.dinosurvival.ui;
 
 import com.dinosurvival.game.Game;
+import com.dinosurvival.game.InputJournal;
+import com.dinosurvival.util.Log;
 
 public class Main {
     public static void main(String[] args) {
@@ -10,14 +12,49 @@ public class Main {
             String formation = setup.getFormation();
             String dino = setup.getDinosaur();
             Game game = new Game();
+            // the journal has to be in place before the game starts
+            InputJournal journal = openJournal();
+            game.setJournal(journal);
             if (formation != null && dino != null) {
                 game.start(formation, dino);
             } else {
                 game.start();
             }
             GameWindow win = new GameWindow(game);
+            if (journal != null) {
+                win.addWindowListener(new java.awt.event.WindowAdapter() {
+                    @Override
+                    public void windowClosing(java.awt.event.WindowEvent e) {
+                        try {
+                            journal.close();
+                        } catch (java.io.IOException ignored) {
+                            // written up to the last turn already
+                        }
+                    }
+                });
+            }
             win.setVisible(true);
             win.log("Game started");
         });
     }
+
+    private static InputJournal openJournal() {
+        String file = System.getProperty("dinosurvival.journal");
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        InputJournal journal = new InputJournal();
+        try {
+            journal.setOutput(java.nio.file.Path.of(file));
+        } catch (java.io.IOException ex) {
+            try {
+                new Log(java.nio.file.Path.of("error_log.txt"))
+                        .append("Could not open journal " + file + ": " + ex.getMessage());
+            } catch (java.io.IOException ignored) {
+                // the game runs without a journal either way
+            }
+            return null;
+        }
+        return journal;
+    }
 }
@@ -0,0 +1,297 @@
+package com.dinosurvival.ui;
+
+import com.dinosurvival.game.Game;
+import com.dinosurvival.game.Terrain;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+
+/**
+ * Map display painting every tile from a backing image that holds one pixel
+ * per tile. {@link #refresh()} skips the map entirely while its version is
+ * unchanged and otherwise only rewrites and repaints tiles whose colour
+ * changed, and painting scales just the part of the backing image inside
+ * the clip, so cost depends on the visible area rather than the world size.
+ * Placed inside a {@link JScrollPane} the view can be zoomed with the
+ * control key and mouse wheel and panned by dragging.
+ */
+public class MapView extends JComponent implements Scrollable {
+    public static final int MIN_TILE_SIZE = 4;
+    public static final int MAX_TILE_SIZE = 64;
+
+    /** Largest viewport requested from the enclosing scroll pane. */
+    private static final Dimension MAX_VIEWPORT = new Dimension(660, 440);
+
+    private static final int UNREVEALED = Color.GRAY.getRGB();
+    private static final int[] TERRAIN_RGB = new int[Terrain.values().length];
+
+    static {
+        for (Terrain t : Terrain.values()) {
+            TERRAIN_RGB[t.ordinal()] = colorForTerrain(t).getRGB();
+        }
+    }
+
+    private final Game game;
+    private com.dinosurvival.game.Map source;
+    private BufferedImage tiles;
+    /** {@link com.dinosurvival.game.Map#getVersion()} the backing image was last brought up to. */
+    private int sourceVersion;
+    private int tileSize;
+    private int playerX = -1;
+    private int playerY = -1;
+    private Point dragStart;
+
+    public MapView(Game game, int tileSize) {
+        this.game = game;
+        this.tileSize = tileSize;
+        setOpaque(true);
+        setBackground(Color.GRAY);
+        setForeground(Color.BLACK);
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragStart = null;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragStart == null) {
+                    return;
+                }
+                Rectangle view = getVisibleRect();
+                view.translate(dragStart.x - e.getX(), dragStart.y - e.getY());
+                scrollRectToVisible(view);
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (e.isControlDown()) {
+                    zoom(e.getWheelRotation() < 0 ? 2 : -2, e.getPoint());
+                } else if (getParent() != null) {
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(MapView.this, e, getParent()));
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    // Map terrain colors mirrored from the Python version
+    public static Color colorForTerrain(Terrain t) {
+        return switch (t) {
+            case FOREST -> new Color(0, 100, 0);
+            case FOREST_FLOODED,
+                 PLAINS_FLOODED,
+                 SWAMP_FLOODED,
+                 WOODLANDS_FLOODED,
+                 DESERT_FLOODED -> new Color(95, 158, 160); // cadet blue
+            case PLAINS -> new Color(173, 255, 47);
+            case SWAMP -> new Color(107, 142, 35);
+            case WOODLANDS -> new Color(50, 205, 50);
+            case DESERT -> Color.YELLOW;
+            case TOXIC_BADLANDS -> new Color(128, 128, 0);
+            case LAKE -> Color.BLUE;
+            case MOUNTAIN -> new Color(210, 180, 140);
+            case VOLCANO, VOLCANO_ERUPTING -> Color.BLACK;
+            case HIGHLAND_FOREST -> new Color(46, 139, 87);
+            case HIGHLAND_FOREST_FIRE, FOREST_FIRE -> Color.ORANGE;
+            case HIGHLAND_FOREST_BURNT, FOREST_BURNT -> new Color(85, 107, 47);
+            case LAVA -> Color.RED;
+            case SOLIDIFIED_LAVA_FIELD -> Color.DARK_GRAY;
+            default -> Color.GRAY;
+        };
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /** Change the zoom level, keeping the map size in sync with the scroll pane. */
+    public void setTileSize(int size) {
+        size = Math.max(MIN_TILE_SIZE, Math.min(MAX_TILE_SIZE, size));
+        if (size != tileSize) {
+            tileSize = size;
+            revalidate();
+            repaint();
+        }
+    }
+
+    /** Tile coordinates under a point of this component. */
+    public Point tileAt(Point p) {
+        return new Point(p.x / tileSize, p.y / tileSize);
+    }
+
+    /**
+     * Bring the backing image up to date with the game map and repaint the
+     * tiles that changed, including the old and new player positions. Only
+     * tiles in the map's change log are recoloured; a new or resized map, or
+     * a log that overflowed, falls back to visiting every tile.
+     * Returns the number of tiles that were redrawn.
+     */
+    public int refresh() {
+        com.dinosurvival.game.Map gmap = game.getMap();
+        int w = gmap.getWidth();
+        int h = gmap.getHeight();
+        int changed = 0;
+        int version = gmap.getVersion();
+        if (tiles == null || source != gmap || tiles.getWidth() != w || tiles.getHeight() != h) {
+            source = gmap;
+            tiles = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            playerX = -1;
+            playerY = -1;
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    tiles.setRGB(x, y, tileColor(gmap, x, y));
+                }
+            }
+            changed = w * h;
+            revalidate();
+            repaint();
+        } else if (version != sourceVersion) {
+            int minX = Integer.MAX_VALUE;
+            int minY = Integer.MAX_VALUE;
+            int maxX = -1;
+            int maxY = -1;
+            int[] dirty = gmap.changedTilesSince(sourceVersion);
+            int n = dirty != null ? dirty.length : w * h;
+            for (int i = 0; i < n; i++) {
+                int idx = dirty != null ? dirty[i] : i;
+                int x = idx % w;
+                int y = idx / w;
+                int rgb = tileColor(gmap, x, y);
+                if (tiles.getRGB(x, y) != rgb) {
+                    tiles.setRGB(x, y, rgb);
+                    changed++;
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+            if (changed > 0) {
+                repaint(minX * tileSize, minY * tileSize,
+                        (maxX - minX + 1) * tileSize, (maxY - minY + 1) * tileSize);
+            }
+        }
+        sourceVersion = version;
+        int px = game.getPlayerX();
+        int py = game.getPlayerY();
+        if (px != playerX || py != playerY) {
+            if (playerX >= 0) {
+                repaint(tileRect(playerX, playerY));
+            }
+            playerX = px;
+            playerY = py;
+            repaint(tileRect(px, py));
+            scrollRectToVisible(tileRect(px, py));
+        }
+        return changed;
+    }
+
+    private static int tileColor(com.dinosurvival.game.Map gmap, int x, int y) {
+        return gmap.isRevealed(x, y) ? TERRAIN_RGB[gmap.terrainAt(x, y).ordinal()] : UNREVEALED;
+    }
+
+    private Rectangle tileRect(int x, int y) {
+        return new Rectangle(x * tileSize, y * tileSize, tileSize, tileSize);
+    }
+
+    private void zoom(int delta, Point anchor) {
+        Point tile = tileAt(anchor);
+        Rectangle view = getVisibleRect();
+        int old = tileSize;
+        setTileSize(tileSize + delta);
+        if (old != tileSize) {
+            view.translate(tile.x * (tileSize - old), tile.y * (tileSize - old));
+            Rectangle target = view;
+            SwingUtilities.invokeLater(() -> scrollRectToVisible(target));
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (tiles == null) {
+            return;
+        }
+        int x0 = Math.max(0, clip.x / tileSize);
+        int y0 = Math.max(0, clip.y / tileSize);
+        int x1 = Math.min(tiles.getWidth(), (clip.x + clip.width + tileSize - 1) / tileSize);
+        int y1 = Math.min(tiles.getHeight(), (clip.y + clip.height + tileSize - 1) / tileSize);
+        if (x0 >= x1 || y0 >= y1) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(tiles, x0 * tileSize, y0 * tileSize, x1 * tileSize, y1 * tileSize,
+                x0, y0, x1, y1, null);
+        if (playerX >= x0 && playerX < x1 && playerY >= y0 && playerY < y1) {
+            paintPlayer(g2);
+        }
+    }
+
+    private void paintPlayer(Graphics2D g2) {
+        int px = playerX * tileSize;
+        int py = playerY * tileSize;
+        g2.setColor(getForeground());
+        if (tileSize < 10) {
+            int inset = tileSize / 4;
+            g2.fillRect(px + inset, py + inset, tileSize - 2 * inset, tileSize - 2 * inset);
+            return;
+        }
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        FontMetrics fm = g2.getFontMetrics();
+        int tx = px + (tileSize - fm.stringWidth("P")) / 2;
+        int ty = py + (tileSize - fm.getHeight()) / 2 + fm.getAscent();
+        g2.drawString("P", tx, ty);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        com.dinosurvival.game.Map gmap = game.getMap();
+        return new Dimension(gmap.getWidth() * tileSize, gmap.getHeight() * tileSize);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension pref = getPreferredSize();
+        return new Dimension(Math.min(pref.width, MAX_VIEWPORT.width),
+                Math.min(pref.height, MAX_VIEWPORT.height));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return tileSize;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        int extent = orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+        return Math.max(tileSize, extent - tileSize);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
@@ -5,9 +5,6 @@ import com.dinosurvival.model.NPCAnimal;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
 import java.util.Map;
 
 /** Simple dialog showing NPC statistics. */
@@ -87,32 +84,6 @@ public class NpcStatsDialog extends JDialog {
     }
 
     private static ImageIcon loadScaledIcon(String path, int w, int h, boolean gray) {
-        java.net.URL url = NpcStatsDialog.class.getResource(path);
-        if (url == null) return null;
-        try {
-            BufferedImage img = ImageIO.read(url);
-            if (gray) {
-                java.awt.image.ColorConvertOp op = new java.awt.image.ColorConvertOp(
-                        java.awt.color.ColorSpace.getInstance(java.awt.color.ColorSpace.CS_GRAY), null);
-                img = op.filter(img, null);
-            }
-            double scaleW = (double) w / img.getWidth();
-            double scaleH = (double) h / img.getHeight();
-            double scale = Math.max(scaleW, scaleH);
-            int newW = (int) Math.round(img.getWidth() * scale);
-            int newH = (int) Math.round(img.getHeight() * scale);
-            Image scaled = img.getScaledInstance(newW, newH, Image.SCALE_SMOOTH);
-            BufferedImage resized = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = resized.createGraphics();
-            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g2.drawImage(scaled, 0, 0, null);
-            g2.dispose();
-            int x = Math.max(0, (newW - w) / 2);
-            int y = Math.max(0, (newH - h) / 2);
-            BufferedImage cropped = resized.getSubimage(x, y, w, h);
-            return new ImageIcon(cropped);
-        } catch (IOException ex) {
-            return null;
-        }
+        return ImageCache.shared().get(path, w, h, gray);
     }
 }
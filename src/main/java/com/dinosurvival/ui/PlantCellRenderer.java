@@ -0,0 +1,38 @@
+package com.dinosurvival.ui;
+
+import com.dinosurvival.model.Plant;
+import com.dinosurvival.model.PlantStats;
+import com.dinosurvival.util.StatsLoader;
+
+import javax.swing.*;
+import java.awt.*;
+
+/** Renders plants on the player's tile with a single reused row. */
+public class PlantCellRenderer extends JPanel implements ListCellRenderer<Plant> {
+    private final JLabel img = new JLabel();
+    private final JLabel name = new JLabel();
+    private final JLabel weight = new JLabel();
+
+    public PlantCellRenderer() {
+        super(new FlowLayout(FlowLayout.LEFT));
+        img.setPreferredSize(new Dimension(100, 63));
+        add(img);
+        add(name);
+        add(weight);
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Plant> list, Plant p, int index,
+                                                  boolean selected, boolean focused) {
+        ImageIcon icon = null;
+        PlantStats stats = StatsLoader.getPlantStats().get(p.getName());
+        if (stats != null && stats.getImage() != null && !stats.getImage().isEmpty()) {
+            icon = ImageCache.shared().get("/" + stats.getImage(), 100, 63, false);
+        }
+        img.setIcon(icon);
+        name.setText(p.getName());
+        weight.setText(String.format("W:%.1fkg", p.getWeight()));
+        setBackground(list.getBackground());
+        return this;
+    }
+}
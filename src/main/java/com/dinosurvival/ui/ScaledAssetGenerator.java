@@ -0,0 +1,123 @@
+package com.dinosurvival.ui;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+
+/**
+ * Build step producing the pre-scaled image variants loaded by
+ * {@link ScaledAssets}. Each asset directory is rendered at the sizes the UI
+ * shows it at, with grayscale variants for dinosaur images used as
+ * carcasses. Outputs newer than their source are left untouched so repeated
+ * builds only process changed art.
+ *
+ * <p>Usage: {@code ScaledAssetGenerator <assets dir> <output dir>}. The
+ * Maven {@code scaled-assets} profile runs it during
+ * {@code process-classes}, writing to {@code scaled} below the classes
+ * directory so the variants are packaged with the jar.</p>
+ */
+public final class ScaledAssetGenerator {
+
+    /** A target size for every image in an asset directory. */
+    private record Variant(String dir, int width, int height, boolean gray) { }
+
+    private static final List<Variant> VARIANTS = List.of(
+            new Variant("dinosaurs", 400, 250, false),
+            new Variant("dinosaurs", 400, 250, true),
+            new Variant("dinosaurs", 100, 70, false),
+            new Variant("dinosaurs", 100, 70, true),
+            new Variant("dinosaurs", 40, 30, false),
+            new Variant("biomes", 400, 250, false),
+            new Variant("plants", 100, 63, false),
+            new Variant("other", 100, 70, false),
+            new Variant("weather", 128, 128, false),
+            new Variant("icons", 20, 20, false));
+
+    private ScaledAssetGenerator() {
+        // command line tool
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ScaledAssetGenerator <assets dir> <output dir>");
+            System.exit(1);
+        }
+        int written = generate(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Scaled assets: " + written + " variant(s) written");
+    }
+
+    /**
+     * Write all variants for the images below {@code assets} into
+     * {@code output} and return how many were regenerated.
+     */
+    public static int generate(Path assets, Path output) throws IOException {
+        java.util.Map<Path, List<Variant>> pending = new java.util.LinkedHashMap<>();
+        for (Variant v : VARIANTS) {
+            Path dir = assets.resolve(v.dir());
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path src : (Iterable<Path>) files.sorted()::iterator) {
+                    if (!src.getFileName().toString().endsWith(".png")) {
+                        continue;
+                    }
+                    Path dst = target(output, src, v);
+                    if (Files.exists(dst)
+                            && Files.getLastModifiedTime(dst).compareTo(Files.getLastModifiedTime(src)) >= 0) {
+                        continue;
+                    }
+                    pending.computeIfAbsent(src, k -> new ArrayList<>()).add(v);
+                }
+            }
+        }
+        AtomicInteger written = new AtomicInteger();
+        List<IOException> errors = java.util.Collections.synchronizedList(new ArrayList<>());
+        pending.entrySet().parallelStream().forEach(e -> {
+            try {
+                written.addAndGet(write(e.getKey(), output, e.getValue()));
+            } catch (IOException ex) {
+                errors.add(ex);
+            }
+        });
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+        return written.get();
+    }
+
+    private static Path target(Path output, Path src, Variant v) {
+        String rel = "/assets/" + v.dir() + "/" + src.getFileName();
+        String path = ScaledAssets.variantPath(rel, v.width(), v.height(), v.gray());
+        return output.resolve(path.substring(ScaledAssets.ROOT.length() + 1));
+    }
+
+    /** Decode a source image once and write every pending variant of it. */
+    private static int write(Path src, Path output, List<Variant> variants) throws IOException {
+        BufferedImage img = ImageIO.read(src.toFile());
+        if (img == null) {
+            return 0;
+        }
+        java.util.Map<String, BufferedImage> scaled = new java.util.HashMap<>();
+        int count = 0;
+        for (Variant v : variants) {
+            BufferedImage out = scaled.computeIfAbsent(v.width() + "x" + v.height(),
+                    k -> ScaledAssets.scaleToFill(img, v.width(), v.height()));
+            if (v.gray()) {
+                out = ScaledAssets.toGray(out);
+            }
+            Path dst = target(output, src, v);
+            Files.createDirectories(dst.getParent());
+            if (ImageIO.write(out, "png", dst.toFile())) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,142 @@
+package com.dinosurvival.ui;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Access to the pre-scaled image variants produced by
+ * {@link ScaledAssetGenerator} in the {@code scaled-assets} build. Variants live on the classpath under
+ * {@code /scaled/<width>x<height>[_gray]/} followed by the original asset
+ * path. When no variant exists the original image is decoded at reduced
+ * resolution and scaled with the same algorithm the generator uses.
+ */
+public final class ScaledAssets {
+    /** Classpath root of the generated variants. */
+    public static final String ROOT = "/scaled";
+
+    private ScaledAssets() {
+        // utility class
+    }
+
+    /** Classpath location of the variant for the given original asset. */
+    public static String variantPath(String path, int width, int height, boolean gray) {
+        String rel = path.startsWith("/") ? path : "/" + path;
+        return ROOT + "/" + width + "x" + height + (gray ? "_gray" : "") + rel;
+    }
+
+    /**
+     * Load an image at exactly {@code width x height}, preferring a
+     * pre-scaled variant. Returns {@code null} if neither the variant nor the
+     * original asset exists or can be decoded.
+     */
+    public static BufferedImage load(String path, int width, int height, boolean gray) {
+        java.net.URL url = ScaledAssets.class.getResource(variantPath(path, width, height, gray));
+        if (url != null) {
+            try {
+                BufferedImage img = ImageIO.read(url);
+                if (img != null && img.getWidth() == width && img.getHeight() == height) {
+                    return img;
+                }
+            } catch (IOException ignored) {
+                // fall back to the original asset
+            }
+        }
+        url = ScaledAssets.class.getResource(path);
+        if (url == null) {
+            return null;
+        }
+        try {
+            BufferedImage img = readSubsampled(url, width, height);
+            if (img == null) {
+                return null;
+            }
+            BufferedImage scaled = scaleToFill(img, width, height);
+            return gray ? toGray(scaled) : scaled;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Decode only what is needed to show an image at {@code width x height}.
+     * The source region is limited to the centre crop that
+     * {@link #scaleToFill} keeps, and whole rows and columns are skipped with
+     * source subsampling so the decoded image is at most about twice the
+     * target size. Large art therefore never has to be held in memory at
+     * full resolution. Returns {@code null} if no reader supports the format.
+     */
+    public static BufferedImage readSubsampled(java.net.URL url, int width, int height) throws IOException {
+        try (InputStream raw = url.openStream();
+             ImageInputStream in = ImageIO.createImageInputStream(raw)) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int srcW = reader.getWidth(0);
+                int srcH = reader.getHeight(0);
+                double scale = Math.max((double) width / srcW, (double) height / srcH);
+                int cropW = Math.min(srcW, Math.max(1, (int) Math.ceil(width / scale)));
+                int cropH = Math.min(srcH, Math.max(1, (int) Math.ceil(height / scale)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((srcW - cropW) / 2, (srcH - cropH) / 2, cropW, cropH));
+                int step = Math.max(1, Math.min(cropW / (2 * width), cropH / (2 * height)));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale an image so it covers {@code width x height} and crop the
+     * centre to exactly that size.
+     */
+    public static BufferedImage scaleToFill(BufferedImage img, int width, int height) {
+        double scaleW = (double) width / img.getWidth();
+        double scaleH = (double) height / img.getHeight();
+        double scale = Math.max(scaleW, scaleH);
+        int newW = Math.max(width, (int) Math.round(img.getWidth() * scale));
+        int newH = Math.max(height, (int) Math.round(img.getHeight() * scale));
+        Image scaled = img.getScaledInstance(newW, newH, Image.SCALE_SMOOTH);
+        BufferedImage resized = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = resized.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.drawImage(scaled, 0, 0, null);
+        g2.dispose();
+        int x = Math.max(0, (newW - width) / 2);
+        int y = Math.max(0, (newH - height) / 2);
+        return resized.getSubimage(x, y, width, height);
+    }
+
+    /**
+     * Grayscale copy of an image with the same look as the
+     * {@link javax.swing.GrayFilter} disabled-icon filter used for carcasses.
+     */
+    public static BufferedImage toGray(BufferedImage img) {
+        javax.swing.GrayFilter filter = new javax.swing.GrayFilter(true, 50);
+        BufferedImage out = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < img.getHeight(); y++) {
+            for (int x = 0; x < img.getWidth(); x++) {
+                out.setRGB(x, y, filter.filterRGB(x, y, img.getRGB(x, y)));
+            }
+        }
+        return out;
+    }
+}
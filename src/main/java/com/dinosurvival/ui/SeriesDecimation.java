@@ -0,0 +1,62 @@
+package com.dinosurvival.ui;
+
+import java.util.Arrays;
+
+/**
+ * Reduces long series to roughly one pair of points per pixel column before
+ * they are drawn. Each column keeps the samples holding its minimum and
+ * maximum, in their original order, so a line through the kept points covers
+ * the same pixels as a line through every sample.
+ */
+public final class SeriesDecimation {
+
+    private SeriesDecimation() {
+        // utility class
+    }
+
+    /**
+     * Indices of the samples of {@code values[0, n)} to draw in
+     * {@code columns} pixel columns. The first and last samples are always
+     * kept; series short enough to draw as is are returned whole.
+     */
+    public static int[] minMax(int[] values, int n, int columns) {
+        if (n <= 0) {
+            return new int[0];
+        }
+        if (columns <= 0 || n <= 2 * columns + 2) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        int[] out = new int[2 * columns + 2];
+        int k = 0;
+        out[k++] = 0;
+        for (int c = 0; c < columns; c++) {
+            // interior samples only, the ends are added separately
+            int from = 1 + (int) ((long) c * (n - 2) / columns);
+            int to = 1 + (int) ((long) (c + 1) * (n - 2) / columns);
+            if (from >= to) {
+                continue;
+            }
+            int min = from;
+            int max = from;
+            for (int i = from + 1; i < to; i++) {
+                if (values[i] < values[min]) {
+                    min = i;
+                } else if (values[i] > values[max]) {
+                    max = i;
+                }
+            }
+            if (min == max) {
+                out[k++] = min;
+            } else {
+                out[k++] = Math.min(min, max);
+                out[k++] = Math.max(min, max);
+            }
+        }
+        out[k++] = n - 1;
+        return k == out.length ? out : Arrays.copyOf(out, k);
+    }
+}
@@ -0,0 +1,225 @@
+package com.dinosurvival.ui;
+
+import com.dinosurvival.game.FastForward;
+import com.dinosurvival.game.Game;
+import com.dinosurvival.game.GameChange;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs game turns on a dedicated simulation thread so the Swing event
+ * thread stays responsive. Only one turn is in flight at a time; the turn
+ * messages and the set of changed state are handed back on the UI executor
+ * (the event dispatch thread by default) once the turn has finished.
+ * <p>
+ * In fast-forward mode turns are played back to back and the UI is sent
+ * at most one frame per frame interval. The UI copies what it shows from
+ * the game while holding {@link #frameLock}, which the simulation also
+ * takes for each turn, so the copy is consistent; updating and painting
+ * the components from the copy happens after the lock is released and
+ * overlaps with simulating the following turns.
+ */
+public class TurnRunner {
+    /** Outcome of a finished turn. */
+    public record Result(List<String> messages, Set<GameChange> changes) { }
+
+    private final Game game;
+    private final ExecutorService simulation;
+    private final Executor ui;
+    private Future<?> current;
+    private boolean busy;
+    private boolean cancelled;
+    private final ReentrantLock frameLock = new ReentrantLock();
+    private final AtomicBoolean framePending = new AtomicBoolean();
+
+    public TurnRunner(Game game) {
+        this(game, SwingUtilities::invokeLater);
+    }
+
+    public TurnRunner(Game game, Executor ui) {
+        this(game, Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "simulation");
+            t.setDaemon(true);
+            return t;
+        }), ui);
+    }
+
+    /** The simulation executor must run tasks one at a time. */
+    public TurnRunner(Game game, ExecutorService simulation, Executor ui) {
+        this.game = game;
+        this.simulation = simulation;
+        this.ui = ui;
+    }
+
+    /** Whether a turn is queued, running or waiting for its results to be applied. */
+    public synchronized boolean isBusy() {
+        return busy;
+    }
+
+    /**
+     * Run {@code action} on the simulation thread. When it finishes
+     * {@code onResult} is called on the UI executor, or {@code onError} if
+     * the action threw, or {@code onCancelled} if it was cancelled before it
+     * started. Exactly one of them is called. Returns {@code false} without
+     * running anything if a turn is already in flight.
+     */
+    public synchronized boolean submit(Runnable action, Consumer<Result> onResult,
+                                       Consumer<Throwable> onError, Runnable onCancelled) {
+        if (busy) {
+            return false;
+        }
+        busy = true;
+        cancelled = false;
+        current = simulation.submit(() -> {
+            if (isCancelled()) {
+                ui.execute(() -> finish(null, null, onResult, onError, onCancelled));
+                return;
+            }
+            try {
+                action.run();
+                Result result = new Result(new ArrayList<>(game.getTurnMessages()), game.consumeChanges());
+                ui.execute(() -> finish(result, null, onResult, onError, onCancelled));
+            } catch (RuntimeException | Error ex) {
+                ui.execute(() -> finish(null, ex, onResult, onError, onCancelled));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Play turns with {@code ff} until it reports a stop reason or the run is
+     * cancelled. Turn messages, prefixed with their turn number, and the
+     * changed state are accumulated and handed to {@code onFrame} at most
+     * {@code fps} times per second. {@code onFrame} runs while the
+     * simulation is paused and should only copy game state; the update it
+     * returns runs after the simulation has resumed. The last frame is
+     * always delivered, followed by {@code onStop}. Returns {@code false} if
+     * a turn is already in flight.
+     */
+    public synchronized boolean fastForward(FastForward ff, int fps, Function<Result, Runnable> onFrame,
+                                            Consumer<FastForward.StopReason> onStop,
+                                            Consumer<Throwable> onError) {
+        if (busy) {
+            return false;
+        }
+        busy = true;
+        cancelled = false;
+        long frameNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, fps);
+        current = simulation.submit(() -> {
+            List<String> messages = new ArrayList<>();
+            EnumSet<GameChange> changes = EnumSet.noneOf(GameChange.class);
+            long nextFrame = System.nanoTime() + frameNanos;
+            FastForward.StopReason reason = null;
+            try {
+                while (reason == null) {
+                    if (isCancelled()) {
+                        reason = FastForward.StopReason.CANCELLED;
+                        break;
+                    }
+                    frameLock.lock();
+                    try {
+                        reason = ff.step(game);
+                        for (String m : game.getTurnMessages()) {
+                            messages.add(game.getTurn() + ": " + m);
+                        }
+                        changes.addAll(game.consumeChanges());
+                    } finally {
+                        frameLock.unlock();
+                    }
+                    long now = System.nanoTime();
+                    // skip frames while the previous one has not been applied yet
+                    if (reason == null && now >= nextFrame && framePending.compareAndSet(false, true)) {
+                        Result frame = new Result(messages, EnumSet.copyOf(changes));
+                        messages = new ArrayList<>();
+                        changes.clear();
+                        ui.execute(() -> applyFrame(frame, onFrame));
+                        nextFrame = now + frameNanos;
+                    }
+                }
+            } catch (RuntimeException | Error ex) {
+                Result frame = new Result(messages, EnumSet.copyOf(changes));
+                ui.execute(() -> {
+                    applyFrame(frame, onFrame);
+                    finish(null, ex, r -> { }, onError, () -> { });
+                });
+                return;
+            }
+            Result frame = new Result(messages, EnumSet.copyOf(changes));
+            FastForward.StopReason stop = reason;
+            ui.execute(() -> {
+                applyFrame(frame, onFrame);
+                finish(null, null, r -> { }, onError, () -> { });
+                onStop.accept(stop);
+            });
+        });
+        return true;
+    }
+
+    private void applyFrame(Result frame, Function<Result, Runnable> onFrame) {
+        try {
+            Runnable update;
+            frameLock.lock();
+            try {
+                update = onFrame.apply(frame);
+            } finally {
+                frameLock.unlock();
+            }
+            update.run();
+        } finally {
+            framePending.set(false);
+        }
+    }
+
+    /**
+     * Cancel the turn in flight. A turn that has not started yet is dropped;
+     * one that is already running is allowed to finish so the game state
+     * stays consistent and its results are still applied. Returns whether
+     * there was anything to cancel. A fast-forward run stops after the
+     * turn it is currently playing.
+     */
+    public synchronized boolean cancel() {
+        if (!busy) {
+            return false;
+        }
+        cancelled = true;
+        return current == null || !current.isDone();
+    }
+
+    /** Stop the simulation thread, dropping any turn that has not started. */
+    public void shutdown() {
+        cancel();
+        simulation.shutdown();
+    }
+
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void finish(Result result, Throwable error, Consumer<Result> onResult,
+                        Consumer<Throwable> onError, Runnable onCancelled) {
+        synchronized (this) {
+            busy = false;
+            current = null;
+        }
+        if (error != null) {
+            onError.accept(error);
+        } else if (result != null) {
+            onResult.accept(result);
+        } else {
+            onCancelled.run();
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.dinosurvival.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Structured game events written as JSON Lines by a background thread.
+ * {@link #emit} only puts the event on a bounded queue; the writer drains
+ * it in batches into {@code <name>-<n>.jsonl} files, optionally gzipped,
+ * starting a new file once the current one reaches the size limit. What
+ * happens when the queue is full depends on the {@link Overflow} policy.
+ */
+public class EventStream implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final long DEFAULT_MAX_FILE_BYTES = 64L * 1024 * 1024;
+
+    /** What {@link #emit} does when the writer falls behind. */
+    public enum Overflow {
+        /** Wait for room in the queue. */
+        BLOCK,
+        /** Drop events while the queue is full. */
+        DROP,
+        /** Keep one in {@link #setSampleEvery} events once the queue is half full, drop the rest when full. */
+        SAMPLE
+    }
+
+    private record Event(long time, int turn, String type, Object[] fields, CountDownLatch flushed) {
+    }
+
+    private static final Object[] NO_FIELDS = new Object[0];
+
+    private final Path dir;
+    private final String name;
+    private final BlockingQueue<Event> queue;
+    private final int capacity;
+    private final Overflow overflow;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong offered = new AtomicLong();
+    private boolean gzip;
+    private long maxFileBytes = DEFAULT_MAX_FILE_BYTES;
+    private int sampleEvery = 10;
+    private int batchSize = 512;
+    private volatile Thread writer;
+    private volatile boolean closed;
+    /** Set once nothing will take events off the queue any more. */
+    private volatile boolean drained;
+
+    private Writer out;
+    private long fileBytes;
+    private int fileIndex;
+    private final List<Path> files = new ArrayList<>();
+
+    public EventStream(Path dir, String name) {
+        this(dir, name, DEFAULT_CAPACITY, Overflow.BLOCK);
+    }
+
+    public EventStream(Path dir, String name, int capacity, Overflow overflow) {
+        this.dir = dir;
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.overflow = overflow;
+    }
+
+    /** Compress each file with gzip. Call before {@link #start}. */
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /** Start a new file once this many uncompressed bytes were written; zero never rolls. */
+    public void setMaxFileBytes(long bytes) {
+        this.maxFileBytes = bytes;
+    }
+
+    public void setSampleEvery(int n) {
+        this.sampleEvery = Math.max(1, n);
+    }
+
+    /** Most events written between two flushes of the file. */
+    public void setBatchSize(int n) {
+        this.batchSize = Math.max(1, n);
+    }
+
+    /** Start the writer thread. Events emitted earlier wait in the queue. */
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(this::run, "event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue an event. {@code fields} alternate between names and values;
+     * numbers and booleans are written as JSON literals, NaN and infinities
+     * as {@code null} and anything else as a string. Returns {@code false} if the event was dropped.
+     */
+    public boolean emit(int turn, String type, Object... fields) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        Event e = new Event(System.currentTimeMillis(), turn, type, fields == null ? NO_FIELDS : fields, null);
+        boolean ok = switch (overflow) {
+            case BLOCK -> put(e);
+            case DROP -> queue.offer(e);
+            case SAMPLE -> sample(e);
+        };
+        if (ok && drained && queue.remove(e)) {
+            // queued after the writer's last look at the queue
+            ok = false;
+        }
+        if (!ok) {
+            dropped.incrementAndGet();
+        }
+        return ok;
+    }
+
+    private boolean sample(Event e) {
+        if (queue.size() * 2 < capacity) {
+            return queue.offer(e);
+        }
+        return offered.incrementAndGet() % sampleEvery == 0 && queue.offer(e);
+    }
+
+    private boolean put(Event e) {
+        try {
+            // a timed wait, so a full queue nobody drains any more cannot hang the caller
+            while (!queue.offer(e, 100, TimeUnit.MILLISECONDS)) {
+                if (drained) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Events dropped because the queue was full or the stream closed before writing them. */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** Events written to disk so far. */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /** Files written so far, oldest first. */
+    public synchronized List<Path> getFiles() {
+        return List.copyOf(files);
+    }
+
+    /** Wait until every event queued before this call is on disk. */
+    public void flush() throws InterruptedException {
+        if (writer == null || closed) {
+            return;
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        Event marker = new Event(0, 0, null, NO_FIELDS, done);
+        while (!queue.offer(marker, 100, TimeUnit.MILLISECONDS)) {
+            if (drained) {
+                return;
+            }
+        }
+        if (drained && queue.remove(marker)) {
+            return;
+        }
+        done.await();
+    }
+
+    /** Write every queued event, then stop the writer and close the file. */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Thread w;
+        synchronized (this) {
+            w = writer;
+        }
+        if (w == null) {
+            drain();
+            return;
+        }
+        try {
+            Event stop = new Event(0, 0, null, NO_FIELDS, null);
+            while (!queue.offer(stop, 100, TimeUnit.MILLISECONDS) && w.isAlive()) {
+                // the writer frees room unless it has already stopped
+            }
+            w.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        StringBuilder sb = new StringBuilder(256);
+        try {
+            while (true) {
+                Event first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                boolean stop = false;
+                for (Event e : batch) {
+                    if (e.type() == null) {
+                        flushFile();
+                        if (e.flushed() != null) {
+                            e.flushed().countDown();
+                        } else {
+                            stop = true;
+                        }
+                        continue;
+                    }
+                    sb.setLength(0);
+                    appendJson(sb, e);
+                    write(sb);
+                }
+                batch.clear();
+                flushFile();
+                if (stop) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeFile();
+            drain();
+        }
+    }
+
+    /** Count what is left on the queue as dropped and release anyone waiting on a flush. */
+    private void drain() {
+        drained = true;
+        Event e;
+        while ((e = queue.poll()) != null) {
+            if (e.flushed() != null) {
+                e.flushed().countDown();
+            } else if (e.type() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private void write(StringBuilder line) {
+        try {
+            if (out == null || (maxFileBytes > 0 && fileBytes >= maxFileBytes)) {
+                roll();
+            }
+            out.append(line);
+            fileBytes += line.length();
+            written.incrementAndGet();
+        } catch (IOException ex) {
+            // writing is best effort, like the other logs
+            dropped.incrementAndGet();
+            closeFile();
+        }
+    }
+
+    private void roll() throws IOException {
+        closeFile();
+        if (fileIndex == 0) {
+            fileIndex = lastExistingIndex();
+        }
+        fileIndex++;
+        Files.createDirectories(dir);
+        Path file = dir.resolve(name + "-" + fileIndex + (gzip ? ".jsonl.gz" : ".jsonl"));
+        OutputStream os = Files.newOutputStream(file);
+        if (gzip) {
+            os = new GZIPOutputStream(os, 1 << 16);
+        }
+        out = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 1 << 16);
+        fileBytes = 0;
+        synchronized (this) {
+            files.add(file);
+        }
+    }
+
+    /** Highest file number already in the directory, so earlier runs are never overwritten. */
+    private int lastExistingIndex() {
+        int last = 0;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, name + "-*.jsonl*")) {
+            for (Path p : ds) {
+                String f = p.getFileName().toString();
+                String num = f.substring(name.length() + 1, f.indexOf(".jsonl"));
+                try {
+                    last = Math.max(last, Integer.parseInt(num));
+                } catch (NumberFormatException ignored) {
+                    // not one of ours
+                }
+            }
+        } catch (IOException ignored) {
+            // start from one
+        }
+        return last;
+    }
+
+    private void flushFile() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            closeFile();
+        }
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // nothing more to write
+            }
+            out = null;
+        }
+    }
+
+    private static void appendJson(StringBuilder sb, Event e) {
+        sb.append("{\"time\":").append(e.time())
+                .append(",\"turn\":").append(e.turn())
+                .append(",\"type\":");
+        appendString(sb, e.type());
+        Object[] f = e.fields();
+        for (int i = 0; i + 1 < f.length; i += 2) {
+            sb.append(',');
+            appendString(sb, String.valueOf(f[i]));
+            sb.append(':');
+            Object v = f[i + 1];
+            if (v instanceof Double d && !Double.isFinite(d) || v instanceof Float fl && !Float.isFinite(fl)) {
+                // JSON has no NaN or Infinity
+                sb.append("null");
+            } else if (v instanceof Number || v instanceof Boolean) {
+                sb.append(v);
+            } else if (v == null) {
+                sb.append("null");
+            } else {
+                appendString(sb, v.toString());
+            }
+        }
+        sb.append("}\n");
+    }
+
+    private static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,252 @@
+package com.dinosurvival.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregate game results kept next to the game log so statistics can be
+ * looked up without reading the log. The index remembers how many bytes of
+ * the current log it covers: lines appended behind its back are read from
+ * that offset on the next lookup, and a log that shrank causes a full
+ * rebuild from the rotated archives and the current file.
+ */
+final class GameLogIndex {
+    private static final String HEADER = "# game log index v1";
+
+    private final Path dir;
+    private final Path log;
+    private final Path index;
+    /** {@code formation|dino} mapped to {games, wins, turns}. */
+    private final Map<String, long[]> byDino = new HashMap<>();
+    private long games;
+    private long wins;
+    private long turns;
+    private long covered;
+    private int archives;
+
+    private GameLogIndex(Path dir, String logName) {
+        this.dir = dir;
+        this.log = dir.resolve(logName + ".txt");
+        this.index = dir.resolve(logName + ".idx");
+    }
+
+    /** Load the index for {@code dir}, rebuilding it when missing or unreadable. */
+    static GameLogIndex open(Path dir, String logName) throws IOException {
+        GameLogIndex idx = new GameLogIndex(dir, logName);
+        if (!idx.load()) {
+            idx.rebuild();
+            idx.save();
+        }
+        return idx;
+    }
+
+    Path getLogPath() {
+        return log;
+    }
+
+    /** Number of rotated log files. */
+    int getArchives() {
+        return archives;
+    }
+
+    /** Bring the index up to date with the log, saving it if anything changed. */
+    void refresh() throws IOException {
+        long size = Files.exists(log) ? Files.size(log) : 0;
+        if (size == covered) {
+            return;
+        }
+        if (size > covered) {
+            covered = scan(log, covered);
+        } else {
+            rebuild();
+        }
+        save();
+    }
+
+    /**
+     * Count a game whose {@code lineBytes} long line was just appended,
+     * leaving the log {@code logSize} bytes long.
+     */
+    void add(String formation, String dino, int gameTurns, boolean won, int lineBytes, long logSize) throws IOException {
+        if (logSize - lineBytes != covered) {
+            // something else was written to the log as well
+            refresh();
+            return;
+        }
+        count(formation, dino, gameTurns, won);
+        covered = logSize;
+        save();
+    }
+
+    /** Move the current log aside as the next numbered archive. */
+    void rotate() throws IOException {
+        refresh();
+        if (!Files.exists(log)) {
+            return;
+        }
+        archives++;
+        Files.move(log, archivePath(archives), StandardCopyOption.REPLACE_EXISTING);
+        covered = 0;
+        save();
+    }
+
+    /** {wins, losses} of a dinosaur. */
+    int[] getDinoStats(String formation, String dino) {
+        long[] v = byDino.get(formation + "|" + dino);
+        return v == null ? new int[]{0, 0} : new int[]{(int) v[1], (int) (v[0] - v[1])};
+    }
+
+    /** {games, wins, turns} across every dinosaur. */
+    int[] getTotals() {
+        return new int[]{(int) games, (int) wins, (int) turns};
+    }
+
+    private Path archivePath(int n) {
+        String name = log.getFileName().toString();
+        String base = name.substring(0, name.length() - ".txt".length());
+        return dir.resolve(base + "." + n + ".txt");
+    }
+
+    private void count(String formation, String dino, int gameTurns, boolean won) {
+        long[] v = byDino.computeIfAbsent(formation + "|" + dino, k -> new long[3]);
+        v[0]++;
+        games++;
+        if (won) {
+            v[1]++;
+            wins++;
+        }
+        v[2] += gameTurns;
+        turns += gameTurns;
+    }
+
+    private void clear() {
+        byDino.clear();
+        games = 0;
+        wins = 0;
+        turns = 0;
+        covered = 0;
+    }
+
+    private void rebuild() throws IOException {
+        clear();
+        String name = log.getFileName().toString();
+        String prefix = name.substring(0, name.length() - ".txt".length()) + ".";
+        TreeMap<Integer, Path> found = new TreeMap<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, prefix + "*.txt")) {
+            for (Path p : ds) {
+                String f = p.getFileName().toString();
+                String num = f.substring(prefix.length(), f.length() - ".txt".length());
+                try {
+                    found.put(Integer.parseInt(num), p);
+                } catch (NumberFormatException ignored) {
+                    // not an archive
+                }
+            }
+        } catch (IOException ignored) {
+            // no archives
+        }
+        for (Path p : found.values()) {
+            scan(p, 0);
+        }
+        archives = found.isEmpty() ? 0 : found.lastKey();
+        covered = Files.exists(log) ? scan(log, 0) : 0;
+    }
+
+    /**
+     * Count the complete lines of {@code file} after byte {@code from} and
+     * return the offset just past the last one.
+     */
+    private long scan(Path file, long from) throws IOException {
+        long pos = from;
+        long end = from;
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            in.skipNBytes(from);
+            int b;
+            while ((b = in.read()) >= 0) {
+                pos++;
+                if (b == '\n') {
+                    parse(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    end = pos;
+                } else {
+                    line.write(b);
+                }
+            }
+        }
+        return end;
+    }
+
+    private void parse(String line) {
+        if (line.startsWith("EVENT|")) {
+            return;
+        }
+        String[] parts = line.trim().split("\\|");
+        if (parts.length < 5) {
+            return;
+        }
+        int t = 0;
+        try {
+            t = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException ignored) {
+        }
+        count(parts[0], parts[1], t, "Win".equals(parts[4]));
+    }
+
+    private boolean load() {
+        if (!Files.exists(index)) {
+            return false;
+        }
+        try {
+            List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+            if (lines.size() < 2 || !HEADER.equals(lines.get(0))) {
+                return false;
+            }
+            String[] head = lines.get(1).split("\\|");
+            if (head.length != 3 || !"log".equals(head[0])) {
+                return false;
+            }
+            clear();
+            for (String l : lines.subList(2, lines.size())) {
+                String[] p = l.split("\\|");
+                if (p.length != 5) {
+                    return false;
+                }
+                long[] v = {Long.parseLong(p[2]), Long.parseLong(p[3]), Long.parseLong(p[4])};
+                byDino.put(p[0] + "|" + p[1], v);
+                games += v[0];
+                wins += v[1];
+                turns += v[2];
+            }
+            covered = Long.parseLong(head[1]);
+            archives = Integer.parseInt(head[2]);
+            return true;
+        } catch (IOException | NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private void save() throws IOException {
+        List<String> keys = new ArrayList<>(byDino.keySet());
+        keys.sort(null);
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        sb.append("log|").append(covered).append('|').append(archives).append('\n');
+        for (String k : keys) {
+            long[] v = byDino.get(k);
+            sb.append(k).append('|').append(v[0]).append('|').append(v[1]).append('|').append(v[2]).append('\n');
+        }
+        LogUtils.writeAtomically(index, sb.toString());
+    }
+}
@@ -0,0 +1,364 @@
+package com.dinosurvival.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Successful hunts per formation, dinosaur and prey. The totals live in
+ * memory and on disk as a snapshot, {@code hunter_stats.yaml}, plus an
+ * append-only journal with one checksummed line per recorded game. Any
+ * number of threads can record at once; each game costs a single append.
+ * After {@link #setCompactEvery} records the journal is folded into a new
+ * snapshot. Snapshots are replaced atomically and carry a generation number
+ * naming the journal that continues them, so a crash of the game loses at
+ * most the line being written.
+ *
+ * <p>Journal appends are forced to disk by group commit: at most one
+ * {@code force} per {@link #setSyncMillis sync interval}, shared by every
+ * record written in it, plus one on {@link #close}. A power failure or
+ * operating system crash can therefore lose the records appended since the
+ * last force, that is up to one interval (one second by default) of them,
+ * or the tail of a burst that was followed by no further record.</p>
+ */
+public final class HunterStatsStore {
+    public static final int DEFAULT_COMPACT_EVERY = 1000;
+    public static final long DEFAULT_SYNC_MILLIS = 1000;
+    private static final String SNAPSHOT = "hunter_stats.yaml";
+    private static final String GENERATION = "# generation ";
+
+    private record Key(String formation, String dino, String prey) {
+    }
+
+    private final Path dir;
+    private final ConcurrentHashMap<Key, LongAdder> kills = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile int compactEvery = DEFAULT_COMPACT_EVERY;
+    private volatile long syncNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SYNC_MILLIS);
+    private final AtomicLong lastSync = new AtomicLong(System.nanoTime());
+    private long generation;
+    private FileChannel journal;
+
+    private HunterStatsStore(Path dir) {
+        this.dir = dir;
+    }
+
+    /** Load the snapshot and replay its journal, creating both if needed. */
+    public static HunterStatsStore open(Path dir) throws IOException {
+        HunterStatsStore store = new HunterStatsStore(dir);
+        store.load();
+        return store;
+    }
+
+    /** Fold the journal into a new snapshot after this many records; zero never compacts. */
+    public void setCompactEvery(int records) {
+        compactEvery = records;
+    }
+
+    /** Force the journal to disk at most once per this many milliseconds; zero forces every record. */
+    public void setSyncMillis(long millis) {
+        syncNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    /**
+     * Record the kills from a game session. {@code hunts} maps prey names to
+     * int arrays where index 1 holds the successful kills.
+     */
+    public void record(String formation, String dino, Map<String, int[]> hunts) throws IOException {
+        StringBuilder prey = new StringBuilder();
+        for (Map.Entry<String, int[]> e : hunts.entrySet()) {
+            int n = e.getValue().length > 1 ? e.getValue()[1] : 0;
+            if (n > 0) {
+                if (prey.length() > 0) {
+                    prey.append(',');
+                }
+                prey.append(e.getKey()).append(':').append(n);
+            }
+        }
+        if (prey.length() == 0) {
+            return;
+        }
+        String body = formation + "|" + dino + "|" + prey;
+        ByteBuffer line = ByteBuffer.wrap((body + "|" + checksum(body) + "\n").getBytes(StandardCharsets.UTF_8));
+        lock.readLock().lock();
+        try {
+            // the channel appends each write whole, so no further locking is needed
+            while (line.hasRemaining()) {
+                journal.write(line);
+            }
+            long now = System.nanoTime();
+            long last = lastSync.get();
+            // one caller per interval forces the lines everyone has appended since
+            if (now - last >= syncNanos && lastSync.compareAndSet(last, now)) {
+                journal.force(false);
+            }
+            apply(body);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int every = compactEvery;
+        if (every > 0 && pending.incrementAndGet() >= every) {
+            compact();
+        }
+    }
+
+    /** Successful hunts of {@code prey} by {@code dino}. */
+    public long getKills(String formation, String dino, String prey) {
+        LongAdder n = kills.get(new Key(formation, dino, prey));
+        return n == null ? 0 : n.sum();
+    }
+
+    /** Successful hunts across every formation and dinosaur. */
+    public long getTotalKills() {
+        return total.sum();
+    }
+
+    /** Nested formation, dinosaur and prey map of the kill counts. */
+    public Map<String, Object> toMap() {
+        TreeMap<String, TreeMap<String, TreeMap<String, Object>>> sorted = new TreeMap<>();
+        for (Map.Entry<Key, LongAdder> e : kills.entrySet()) {
+            Key k = e.getKey();
+            sorted.computeIfAbsent(k.formation(), f -> new TreeMap<>())
+                    .computeIfAbsent(k.dino(), d -> new TreeMap<>())
+                    .put(k.prey(), (int) e.getValue().sum());
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (Map.Entry<String, TreeMap<String, TreeMap<String, Object>>> f : sorted.entrySet()) {
+            Map<String, Object> dinos = new LinkedHashMap<>();
+            for (Map.Entry<String, TreeMap<String, Object>> d : f.getValue().entrySet()) {
+                dinos.put(d.getKey(), new LinkedHashMap<>(d.getValue()));
+            }
+            out.put(f.getKey(), dinos);
+        }
+        return out;
+    }
+
+    /** Write a new snapshot of the current totals and start an empty journal. */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            writeSnapshot(toMap());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace every count with the nested formation, dinosaur and prey map
+     * in {@code data}, as returned by {@link #toMap}.
+     */
+    public void replaceAll(Map<String, Object> data) throws IOException {
+        lock.writeLock().lock();
+        try {
+            kills.clear();
+            total.reset();
+            applyMap(data);
+            writeSnapshot(toMap());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.force(false);
+                journal.close();
+                journal = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Path journalPath(long gen) {
+        return dir.resolve("hunter_stats." + gen + ".journal");
+    }
+
+    private void load() throws IOException {
+        Path snapshot = dir.resolve(SNAPSHOT);
+        boolean known = false;
+        if (Files.exists(snapshot)) {
+            String text = Files.readString(snapshot, StandardCharsets.UTF_8);
+            if (text.startsWith(GENERATION)) {
+                int end = text.indexOf('\n');
+                try {
+                    generation = Long.parseLong(text.substring(GENERATION.length(), end < 0 ? text.length() : end).strip());
+                    known = true;
+                } catch (NumberFormatException ignored) {
+                    generation = 0;
+                }
+            }
+            if (!known) {
+                // an old or damaged snapshot: continue the newest journal rather than drop it
+                generation = newestJournal();
+            }
+            applyMap(LogUtils.parseSimpleYaml(text));
+            replay(journalPath(generation));
+            openJournal();
+        } else {
+            replay(journalPath(generation));
+            writeSnapshot(toMap());
+            known = true;
+        }
+        if (known) {
+            deleteStaleJournals();
+        }
+    }
+
+    /** Apply every intact journal line and cut off a torn or corrupt tail. */
+    private void replay(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        byte[] data = Files.readAllBytes(path);
+        int start = 0;
+        int good = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != '\n') {
+                continue;
+            }
+            String line = new String(data, start, i - start, StandardCharsets.UTF_8);
+            int sep = line.lastIndexOf('|');
+            if (sep < 0 || !line.substring(sep + 1).equals(checksum(line.substring(0, sep)))) {
+                break;
+            }
+            apply(line.substring(0, sep));
+            start = i + 1;
+            good = start;
+        }
+        if (good < data.length) {
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                ch.truncate(good);
+            }
+        }
+    }
+
+    private void apply(String body) {
+        String[] parts = body.split("\\|");
+        if (parts.length != 3) {
+            return;
+        }
+        for (String entry : parts[2].split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            try {
+                add(parts[0], parts[1], entry.substring(0, colon), Integer.parseInt(entry.substring(colon + 1)));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+    }
+
+    private void applyMap(Map<String, Object> data) {
+        for (Map.Entry<String, Object> f : data.entrySet()) {
+            if (!(f.getValue() instanceof Map<?, ?> dinos)) {
+                continue;
+            }
+            for (Map.Entry<?, ?> d : dinos.entrySet()) {
+                if (!(d.getValue() instanceof Map<?, ?> prey)) {
+                    continue;
+                }
+                for (Map.Entry<?, ?> p : prey.entrySet()) {
+                    Object val = p.getValue();
+                    int n = 0;
+                    if (val instanceof Number num) {
+                        n = num.intValue();
+                    } else if (val != null) {
+                        try {
+                            n = Integer.parseInt(val.toString());
+                        } catch (NumberFormatException ignored) {
+                        }
+                    }
+                    if (n != 0) {
+                        add(f.getKey(), d.getKey().toString(), p.getKey().toString(), n);
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(String formation, String dino, String prey, int n) {
+        kills.computeIfAbsent(new Key(formation, dino, prey), k -> new LongAdder()).add(n);
+        total.add(n);
+    }
+
+    /** Must hold the write lock or be loading. */
+    private void writeSnapshot(Map<String, Object> data) throws IOException {
+        long next = generation + 1;
+        LogUtils.writeAtomically(dir.resolve(SNAPSHOT), GENERATION + next + "\n" + LogUtils.dumpSimpleYaml(data));
+        // the new snapshot already holds everything in the old journal
+        Path old = journalPath(generation);
+        generation = next;
+        if (journal != null) {
+            journal.close();
+        }
+        openJournal();
+        Files.deleteIfExists(old);
+        pending.set(0);
+    }
+
+    private void openJournal() throws IOException {
+        journal = FileChannel.open(journalPath(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /** Delete journals already folded into the snapshot; newer ones are never touched. */
+    private void deleteStaleJournals() {
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "hunter_stats.*.journal")) {
+            for (Path p : ds) {
+                long gen = journalGeneration(p);
+                if (gen >= 0 && gen < generation) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        } catch (IOException ignored) {
+            // left for the next open
+        }
+    }
+
+    private long newestJournal() throws IOException {
+        long newest = 0;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "hunter_stats.*.journal")) {
+            for (Path p : ds) {
+                newest = Math.max(newest, journalGeneration(p));
+            }
+        }
+        return newest;
+    }
+
+    /** Generation in a journal file name, or -1 if it has none. */
+    private static long journalGeneration(Path p) {
+        String name = p.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring("hunter_stats.".length(), name.length() - ".journal".length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            return -1;
+        }
+    }
+
+    private static String checksum(String body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+}
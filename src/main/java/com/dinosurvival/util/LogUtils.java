@@ -1,9 +1,13 @@
 package com.dinosurvival.util;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -15,7 +19,13 @@ import java.util.Map;
  * Utility methods for logging game results and hunter statistics.
  */
 public class LogUtils {
+    /** Size above which the game log is moved aside before the next append. */
+    public static final long DEFAULT_MAX_GAME_LOG_BYTES = 4L * 1024 * 1024;
+
     private static Path baseDir = Path.of("").toAbsolutePath();
+    private static long maxGameLogBytes = DEFAULT_MAX_GAME_LOG_BYTES;
+    private static GameLogIndex gameLogIndex;
+    private static HunterStatsStore hunterStore;
 
     private LogUtils() {
         // utility class
@@ -24,26 +34,75 @@ public class LogUtils {
     /**
      * Set the directory used for log files. Mainly for testing.
      */
-    public static void setBaseDir(Path dir) {
+    public static synchronized void setBaseDir(Path dir) {
         baseDir = dir.toAbsolutePath();
+        gameLogIndex = null;
+        if (hunterStore != null) {
+            try {
+                hunterStore.close();
+            } catch (IOException ignored) {
+                // reopened from disk on next use
+            }
+            hunterStore = null;
+        }
+    }
+
+    /**
+     * Rotate {@code game_log.txt} to {@code game_log.<n>.txt} once it grows
+     * past {@code bytes}; zero or less never rotates.
+     */
+    public static synchronized void setMaxGameLogBytes(long bytes) {
+        maxGameLogBytes = bytes;
     }
 
     private static Path gameLogPath() {
         return baseDir.resolve("game_log.txt");
     }
 
-    private static Path hunterLogPath() {
-        return baseDir.resolve("hunter_stats.yaml");
+    /** The aggregate index of the game log, caught up with any lines appended since. */
+    private static GameLogIndex gameLogIndex() throws IOException {
+        if (gameLogIndex == null) {
+            gameLogIndex = GameLogIndex.open(baseDir, "game_log");
+        }
+        gameLogIndex.refresh();
+        return gameLogIndex;
+    }
+
+    private static void rotateGameLogIfFull() throws IOException {
+        Path path = gameLogPath();
+        if (maxGameLogBytes > 0 && Files.exists(path) && Files.size(path) >= maxGameLogBytes) {
+            gameLogIndex().rotate();
+        }
+    }
+
+    /** The hunter statistics of the current base directory, opened on first use. */
+    public static synchronized HunterStatsStore hunterStats() throws IOException {
+        if (hunterStore == null) {
+            hunterStore = HunterStatsStore.open(baseDir);
+        }
+        return hunterStore;
     }
 
-    private static Map<String, Object> ensureSection(Map<String, Object> parent, String key) {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> map = (Map<String, Object>) parent.get(key);
-        if (map == null) {
-            map = new LinkedHashMap<>();
-            parent.put(key, map);
+    /**
+     * Replace {@code path} with {@code text} by writing a temporary file next
+     * to it and moving that into place, so readers never see a partial file.
+     */
+    public static void writeAtomically(Path path, String text) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        ByteBuffer buf = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) {
+                ch.write(buf);
+            }
+            // on disk before the rename, or a crash can leave an empty file in its place
+            ch.force(true);
+        }
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
         }
-        return map;
     }
 
     private static Object parseNumber(String val) {
@@ -124,33 +183,28 @@ public class LogUtils {
         return sb.toString();
     }
 
-    /** Load hunter statistics from the YAML file. */
+    /** Load hunter statistics as a nested formation, dinosaur and prey map. */
     public static Map<String, Object> loadHunterStats() throws IOException {
-        Path path = hunterLogPath();
-        if (!Files.exists(path)) {
-            return new LinkedHashMap<>();
-        }
-        String text = Files.readString(path);
-        if (text.isBlank()) {
-            return new LinkedHashMap<>();
-        }
-        return parseSimpleYaml(text);
+        return hunterStats().toMap();
     }
 
-    /** Save hunter statistics to disk. */
+    /** Replace the hunter statistics with {@code data}. */
     public static void saveHunterStats(Map<String, Object> data) throws IOException {
-        String text = dumpSimpleYaml(data);
-        Files.writeString(hunterLogPath(), text, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        hunterStats().replaceAll(data);
     }
 
-    /** Append a game result to the log file. */
-    public static void appendGameLog(String formation, String dino, int turns, double weight, boolean won) throws IOException {
+    /** Append a game result to the log file and count it in the index. */
+    public static synchronized void appendGameLog(String formation, String dino, int turns, double weight, boolean won) throws IOException {
+        rotateGameLogIfFull();
+        GameLogIndex index = gameLogIndex();
         String line = String.format(Locale.US, "%s|%s|%d|%.1f|%s%n", formation, dino, turns, weight, won ? "Win" : "Loss");
         Files.writeString(gameLogPath(), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        index.add(formation, dino, turns, won, line.getBytes(StandardCharsets.UTF_8).length, Files.size(gameLogPath()));
     }
 
     /** Append a single event message to the game log. */
-    public static void appendEventLog(String message) throws IOException {
+    public static synchronized void appendEventLog(String message) throws IOException {
+        rotateGameLogIfFull();
         String line = "EVENT|" + message + System.lineSeparator();
         Files.writeString(gameLogPath(), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
     }
@@ -161,105 +215,26 @@ public class LogUtils {
      * of length 2 where index 1 represents successful kills.
      */
     public static void updateHunterLog(String formation, String dino, Map<String, int[]> hunts) throws IOException {
-        Map<String, Object> data = loadHunterStats();
-        Map<String, Object> form = ensureSection(data, formation);
-        Map<String, Object> dsection = ensureSection(form, dino);
-        for (Map.Entry<String, int[]> e : hunts.entrySet()) {
-            int kill = e.getValue().length > 1 ? e.getValue()[1] : 0;
-            if (kill > 0) {
-                Object val = dsection.get(e.getKey());
-                int current = 0;
-                if (val instanceof Number num) {
-                    current = num.intValue();
-                } else if (val != null) {
-                    try {
-                        current = Integer.parseInt(val.toString());
-                    } catch (NumberFormatException ignored) {
-                    }
-                }
-                dsection.put(e.getKey(), current + kill);
-            }
-        }
-        saveHunterStats(data);
+        hunterStats().record(formation, dino, hunts);
     }
 
     /**
      * Return the number of wins and losses recorded for a dinosaur.
      */
-    public static int[] getDinoGameStats(String formation, String dino) throws IOException {
-        int wins = 0;
-        int losses = 0;
-        Path path = gameLogPath();
-        if (!Files.exists(path)) {
-            return new int[]{wins, losses};
-        }
-        try (BufferedReader reader = Files.newBufferedReader(path)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.trim().split("\\|");
-                if (parts.length < 5) {
-                    continue;
-                }
-                if (parts[0].equals(formation) && parts[1].equals(dino)) {
-                    if ("Win".equals(parts[4])) {
-                        wins++;
-                    } else {
-                        losses++;
-                    }
-                }
-            }
-        }
-        return new int[]{wins, losses};
+    public static synchronized int[] getDinoGameStats(String formation, String dino) throws IOException {
+        return gameLogIndex().getDinoStats(formation, dino);
     }
 
     /**
      * Return total games, wins, successful hunts and turns across all dinosaurs.
      */
-    public static int[] getPlayerStats() throws IOException {
-        int games = 0;
-        int wins = 0;
-        int turns = 0;
-        Path path = gameLogPath();
-        if (Files.exists(path)) {
-            try (BufferedReader reader = Files.newBufferedReader(path)) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    String[] parts = line.trim().split("\\|");
-                    if (parts.length < 5) {
-                        continue;
-                    }
-                    games++;
-                    if ("Win".equals(parts[4])) {
-                        wins++;
-                    }
-                    try {
-                        turns += Integer.parseInt(parts[2]);
-                    } catch (NumberFormatException ignored) {
-                    }
-                }
-            }
-        }
+    public static synchronized int[] getPlayerStats() throws IOException {
+        int[] totals = gameLogIndex().getTotals();
+        int games = totals[0];
+        int wins = totals[1];
+        int turns = totals[2];
 
-        int hunts = 0;
-        Map<String, Object> data = loadHunterStats();
-        for (Object formVal : data.values()) {
-            if (formVal instanceof Map<?, ?> formMap) {
-                for (Object dVal : formMap.values()) {
-                    if (dVal instanceof Map<?, ?> preyMap) {
-                        for (Object val : preyMap.values()) {
-                            if (val instanceof Number num) {
-                                hunts += num.intValue();
-                            } else if (val != null) {
-                                try {
-                                    hunts += Integer.parseInt(val.toString());
-                                } catch (NumberFormatException ignored) {
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
+        int hunts = (int) hunterStats().getTotalKills();
         return new int[]{games, wins, hunts, turns};
     }
 }
@@ -0,0 +1,90 @@
+package com.dinosurvival;
+
+import com.dinosurvival.ui.EncounterCellRenderer;
+import com.dinosurvival.ui.EncounterListModel;
+import com.dinosurvival.ui.EncounterRow;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.List;
+import javax.swing.JList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EncounterListModelTest {
+    private static EncounterRow npc(String species, int id, boolean alive, double weight, EncounterRow.Threat threat) {
+        return new EncounterRow(EncounterRow.Kind.NPC, species, id, alive, weight, threat,
+                species + " (" + id + ")", EncounterRow.Marker.NONE, null, !alive,
+                List.of(), List.of(), alive ? "Attack" : "Eat");
+    }
+
+    private static List<Integer> ids(EncounterListModel model) {
+        return java.util.stream.IntStream.range(0, model.getSize())
+                .mapToObj(i -> model.getElementAt(i).npcId())
+                .toList();
+    }
+
+    private static EncounterListModel sample() {
+        EncounterListModel model = new EncounterListModel();
+        model.setRows(List.of(
+                npc("Allosaurus", 1, true, 1500, EncounterRow.Threat.HIGH),
+                npc("Dryosaurus", 2, true, 80, EncounterRow.Threat.LOW),
+                npc("Dryosaurus", 3, false, 60, EncounterRow.Threat.NONE),
+                npc("Ornitholestes", 4, true, 12, EncounterRow.Threat.MEDIUM),
+                new EncounterRow(EncounterRow.Kind.BURROW, "Burrow", -1, false, 0, EncounterRow.Threat.NONE,
+                        "Burrow (Full)", EncounterRow.Marker.NONE, null, false, List.of(), List.of(), "Dig")));
+        return model;
+    }
+
+    @Test
+    public void testSortsByWeightAndTogglesDirection() {
+        EncounterListModel model = sample();
+        Assertions.assertEquals(List.of(-1, 4, 3, 2, 1), ids(model));
+        model.setSort(EncounterListModel.SortKey.WEIGHT, false);
+        Assertions.assertEquals(List.of(1, 2, 3, 4, -1), ids(model));
+        model.setSort(EncounterListModel.SortKey.THREAT, false);
+        Assertions.assertEquals(List.of(1, 4, 2, 3, -1), ids(model));
+    }
+
+    @Test
+    public void testFilters() {
+        EncounterListModel model = sample();
+        Assertions.assertEquals(List.of("Allosaurus", "Dryosaurus", "Ornitholestes"), model.getSpecies());
+        model.setSpeciesFilter("Dryosaurus");
+        Assertions.assertEquals(List.of(3, 2), ids(model));
+        model.setLifeFilter(EncounterListModel.LifeFilter.DEAD);
+        Assertions.assertEquals(List.of(3), ids(model));
+        model.setSpeciesFilter(null);
+        model.setLifeFilter(EncounterListModel.LifeFilter.ALIVE);
+        model.setMinThreat(EncounterRow.Threat.MEDIUM);
+        Assertions.assertEquals(List.of(4, 1), ids(model));
+    }
+
+    @Test
+    public void testThreatLevels() {
+        Assertions.assertEquals(EncounterRow.Threat.LOW, EncounterRow.Threat.of(4, 10));
+        Assertions.assertEquals(EncounterRow.Threat.MEDIUM, EncounterRow.Threat.of(10, 10));
+        Assertions.assertEquals(EncounterRow.Threat.HIGH, EncounterRow.Threat.of(20, 10));
+    }
+
+    @Test
+    public void testButtonHitTesting() {
+        EncounterListModel model = sample();
+        JList<EncounterRow> list = new JList<>(model);
+        EncounterCellRenderer renderer = new EncounterCellRenderer();
+        list.setCellRenderer(renderer);
+        list.setFixedCellHeight(EncounterCellRenderer.ROW_HEIGHT);
+        list.setSize(600, EncounterCellRenderer.ROW_HEIGHT * model.getSize());
+        list.doLayout();
+        Rectangle cell = list.getCellBounds(1, 1);
+        Assertions.assertNull(renderer.buttonAt(list, 1, new Point(cell.x + 5, cell.y + 5)));
+        // the action button sits at the top right of the row
+        Point action = null;
+        for (int x = cell.x + cell.width - 1; x > cell.x && action == null; x--) {
+            Point p = new Point(x, cell.y + 10);
+            if (renderer.buttonAt(list, 1, p) == EncounterCellRenderer.Button.ACTION) {
+                action = p;
+            }
+        }
+        Assertions.assertNotNull(action);
+    }
+}
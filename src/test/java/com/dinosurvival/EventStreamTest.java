@@ -0,0 +1,124 @@
+package com.dinosurvival;
+
+import com.dinosurvival.game.Game;
+import com.dinosurvival.util.EventStream;
+import com.dinosurvival.util.StatsLoader;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class EventStreamTest {
+    private static List<String> readAll(List<Path> files) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (Path f : files) {
+            var in = Files.newInputStream(f);
+            if (f.toString().endsWith(".gz")) {
+                in = new GZIPInputStream(in);
+            }
+            try (BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                r.lines().forEach(lines::add);
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void writesJsonLinesAndRollsGzipFiles(@TempDir Path dir) throws Exception {
+        EventStream stream = new EventStream(dir.resolve("out"), "events");
+        stream.setGzip(true);
+        stream.setMaxFileBytes(2000);
+        stream.start();
+        for (int i = 0; i < 100; i++) {
+            stream.emit(i, "kill", "predator", "Allosaurus", "prey", "Steg \"osaurus\"", "n", i);
+        }
+        stream.flush();
+        Assertions.assertEquals(100, stream.getWritten());
+        stream.close();
+
+        List<Path> files = stream.getFiles();
+        Assertions.assertTrue(files.size() > 1);
+        List<String> lines = readAll(files);
+        Assertions.assertEquals(100, lines.size());
+        Assertions.assertTrue(lines.get(7).matches(
+                "\\{\"time\":\\d+,\"turn\":7,\"type\":\"kill\",\"predator\":\"Allosaurus\","
+                        + "\"prey\":\"Steg \\\\\"osaurus\\\\\"\",\"n\":7}"), lines.get(7));
+
+        // a new stream continues the numbering instead of overwriting
+        EventStream next = new EventStream(dir.resolve("out"), "events");
+        next.start();
+        next.emit(0, "action");
+        next.close();
+        Assertions.assertFalse(files.contains(next.getFiles().get(0)));
+    }
+
+    @Test
+    public void dropAndSamplePoliciesNeverBlock(@TempDir Path dir) throws Exception {
+        // no writer yet, so nothing leaves the queue
+        EventStream drop = new EventStream(dir, "drop", 10, EventStream.Overflow.DROP);
+        for (int i = 0; i < 50; i++) {
+            drop.emit(i, "death");
+        }
+        Assertions.assertEquals(40, drop.getDropped());
+
+        EventStream sample = new EventStream(dir, "sample", 100, EventStream.Overflow.SAMPLE);
+        sample.setSampleEvery(10);
+        for (int i = 0; i < 550; i++) {
+            sample.emit(i, "death");
+        }
+        // half the queue fills, then one in ten of the next 500
+        Assertions.assertEquals(550 - 100, sample.getDropped());
+        sample.start();
+        sample.close();
+        Assertions.assertEquals(100, readAll(sample.getFiles()).size());
+    }
+
+    @Test
+    public void gameEmitsActions(@TempDir Path dir) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        EventStream stream = new EventStream(dir, "events");
+        stream.start();
+        g.setEventStream(stream);
+        for (int i = 0; i < 3; i++) {
+            g.rest();
+        }
+        stream.close();
+        long actions = readAll(stream.getFiles()).stream()
+                .filter(l -> l.contains("\"type\":\"action\",\"action\":\"stay\""))
+                .count();
+        Assertions.assertEquals(3, actions);
+    }
+
+    @Test
+    public void nonFiniteNumbersAreNull(@TempDir Path dir) throws Exception {
+        EventStream stream = new EventStream(dir, "events");
+        stream.start();
+        stream.emit(1, "growth", "nan", Double.NaN, "inf", Float.NEGATIVE_INFINITY, "kg", 2.5);
+        stream.close();
+        Assertions.assertTrue(readAll(stream.getFiles()).get(0)
+                .endsWith("\"nan\":null,\"inf\":null,\"kg\":2.5}"));
+    }
+
+    @Test
+    public void blockedEmitIsDroppedOnClose(@TempDir Path dir) throws Exception {
+        // never started, so the queue stays full
+        EventStream stream = new EventStream(dir, "events", 1, EventStream.Overflow.BLOCK);
+        Assertions.assertTrue(stream.emit(0, "death"));
+        Thread emitter = new Thread(() -> stream.emit(1, "death"));
+        emitter.start();
+        Thread.sleep(200);
+        stream.close();
+        emitter.join(5000);
+        Assertions.assertFalse(emitter.isAlive());
+        Assertions.assertEquals(2, stream.getDropped());
+    }
+}
@@ -0,0 +1,95 @@
+package com.dinosurvival;
+
+import com.dinosurvival.util.HunterStatsStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HunterStatsStoreTest {
+    @Test
+    public void journalSurvivesReopenAndTornTail(@TempDir Path dir) throws Exception {
+        HunterStatsStore store = HunterStatsStore.open(dir);
+        store.setCompactEvery(0);
+        store.record("Morrison", "Allosaurus", Map.of("Stegosaurus", new int[]{2, 1}, "Dryosaurus", new int[]{3, 3}));
+        store.record("Morrison", "Allosaurus", Map.of("Stegosaurus", new int[]{1, 1}));
+        store.close();
+
+        Path journal = dir.resolve("hunter_stats.1.journal");
+        Assertions.assertEquals(2, Files.readAllLines(journal).size());
+        // a crash half way through writing the next line
+        Files.writeString(journal, "Morrison|Allosaurus|Stego", StandardOpenOption.APPEND);
+
+        store = HunterStatsStore.open(dir);
+        Assertions.assertEquals(2, store.getKills("Morrison", "Allosaurus", "Stegosaurus"));
+        Assertions.assertEquals(3, store.getKills("Morrison", "Allosaurus", "Dryosaurus"));
+        Assertions.assertEquals(5, store.getTotalKills());
+        store.record("Morrison", "Ceratosaurus", Map.of("Dryosaurus", new int[]{1, 1}));
+        store.close();
+
+        store = HunterStatsStore.open(dir);
+        Assertions.assertEquals(6, store.getTotalKills());
+        store.close();
+    }
+
+    @Test
+    public void concurrentRecordsAndCompaction(@TempDir Path dir) throws Exception {
+        // snapshots from before the journal are read as they are
+        Files.writeString(dir.resolve("hunter_stats.yaml"), "Morrison:\n  Allosaurus:\n    Stegosaurus: 10\n");
+        HunterStatsStore store = HunterStatsStore.open(dir);
+        store.setCompactEvery(50);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread th = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 250; i++) {
+                        store.record("Morrison", "Allosaurus", Map.of("Stegosaurus", new int[]{1, 1}));
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads.add(th);
+            th.start();
+        }
+        for (Thread th : threads) {
+            th.join();
+        }
+        Assertions.assertEquals(1010, store.getKills("Morrison", "Allosaurus", "Stegosaurus"));
+        store.close();
+
+        try (var files = Files.list(dir)) {
+            Assertions.assertEquals(1, files.filter(p -> p.toString().endsWith(".journal")).count());
+        }
+        HunterStatsStore reopened = HunterStatsStore.open(dir);
+        Assertions.assertEquals(1010, reopened.getKills("Morrison", "Allosaurus", "Stegosaurus"));
+        Assertions.assertEquals(Map.of("Morrison", Map.of("Allosaurus", Map.of("Stegosaurus", 1010))), reopened.toMap());
+        reopened.close();
+    }
+
+    @Test
+    public void damagedSnapshotKeepsLiveJournal(@TempDir Path dir) throws Exception {
+        HunterStatsStore store = HunterStatsStore.open(dir);
+        store.setCompactEvery(0);
+        store.record("Morrison", "Allosaurus", Map.of("Stegosaurus", new int[]{1, 1}));
+        store.compact();
+        store.compact();
+        store.record("Morrison", "Allosaurus", Map.of("Dryosaurus", new int[]{2, 2}));
+        store.close();
+
+        Path journal = dir.resolve("hunter_stats.3.journal");
+        Assertions.assertTrue(Files.exists(journal));
+        // a power cut that left the snapshot empty
+        Files.writeString(dir.resolve("hunter_stats.yaml"), "");
+
+        store = HunterStatsStore.open(dir);
+        Assertions.assertEquals(2, store.getKills("Morrison", "Allosaurus", "Dryosaurus"));
+        store.close();
+        Assertions.assertEquals(1, Files.readAllLines(journal).size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.dinosurvival;
+
+import com.dinosurvival.ui.ImageCache;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.ImageIcon;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ImageCacheTest {
+
+    private static ImageCache cache(long maxBytes, AtomicInteger loads) {
+        return new ImageCache(maxBytes, k -> {
+            loads.incrementAndGet();
+            if (k.path().contains("missing")) {
+                return null;
+            }
+            return new BufferedImage(k.width(), k.height(), BufferedImage.TYPE_INT_ARGB);
+        });
+    }
+
+    @Test
+    public void testRepeatedLookupsDecodeOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        ImageCache cache = cache(ImageCache.DEFAULT_MAX_BYTES, loads);
+        ImageIcon a = cache.get("/assets/other/burrow.png", 100, 70, false);
+        Assertions.assertSame(a, cache.get("assets/other/burrow.png", 100, 70, false));
+        Assertions.assertNotSame(a, cache.get("/assets/other/burrow.png", 100, 70, true));
+        Assertions.assertEquals(2, loads.get());
+
+        Assertions.assertNull(cache.get("/assets/missing.png", 20, 20, false));
+        Assertions.assertNull(cache.get("/assets/missing.png", 20, 20, false));
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testMemoryBoundEvictsLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        // room for two 10x10 images
+        ImageCache cache = cache(800, loads);
+        ImageIcon a = cache.get("/a.png", 10, 10, false);
+        cache.get("/b.png", 10, 10, false);
+        cache.get("/a.png", 10, 10, false);
+        cache.get("/c.png", 10, 10, false);
+        Assertions.assertEquals(800, cache.getUsedBytes());
+        // b was evicted to the soft tier while a stayed strongly held
+        Assertions.assertSame(a, cache.get("/a.png", 10, 10, false));
+        Assertions.assertEquals(3, loads.get());
+        Assertions.assertTrue(cache.getUsedBytes() <= 800);
+    }
+
+    @Test
+    public void testPreloadRunsInBackground() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        ImageCache cache = cache(ImageCache.DEFAULT_MAX_BYTES, loads);
+        List<ImageCache.Key> keys = List.of(
+                new ImageCache.Key("/x.png", 40, 30, false),
+                new ImageCache.Key("/y.png", 100, 70, false));
+        cache.preload(keys).get(10, TimeUnit.SECONDS);
+        Assertions.assertTrue(cache.contains(keys.get(0)));
+        Assertions.assertTrue(cache.contains(keys.get(1)));
+        cache.get("/x.png", 40, 30, false);
+        Assertions.assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.dinosurvival;
+
+import com.dinosurvival.ui.LogBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogBufferTest {
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void testKeepsMostRecentLines() {
+        LogBuffer buf = new LogBuffer(3);
+        // a listener mirroring the model the way a JList does
+        List<String> mirror = new ArrayList<>();
+        buf.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                for (int i = e.getIndex0(); i <= e.getIndex1(); i++) {
+                    mirror.add(i, buf.getElementAt(i));
+                }
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                Assertions.assertTrue(e.getIndex1() < mirror.size());
+                mirror.subList(e.getIndex0(), e.getIndex1() + 1).clear();
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                // appending never changes existing rows
+            }
+        });
+        buf.append("a");
+        buf.appendAll(List.of("b", "c", "d", "e"));
+        Assertions.assertEquals(3, buf.getSize());
+        Assertions.assertEquals(List.of("c", "d", "e"), mirror);
+        buf.appendAll(List.of("f", "g", "h", "i"));
+        Assertions.assertEquals(List.of("g", "h", "i"), mirror);
+        Assertions.assertEquals("g", buf.getElementAt(0));
+        Assertions.assertEquals("i", buf.getElementAt(2));
+        Assertions.assertEquals(9, buf.getTotalLines());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> buf.getElementAt(3));
+    }
+
+    @Test
+    public void testSpillKeepsFullHistory() throws Exception {
+        LogBuffer buf = new LogBuffer(2);
+        Path spill = tmp.resolve("spill.txt");
+        buf.setSpillFile(spill);
+        for (int i = 0; i < 5; i++) {
+            buf.append("line " + i);
+        }
+        Assertions.assertEquals(List.of("line 0", "line 1", "line 2"), Files.readAllLines(spill));
+        Path out = tmp.resolve("history.txt");
+        buf.exportHistory(out);
+        Assertions.assertEquals(List.of("line 0", "line 1", "line 2", "line 3", "line 4"),
+                Files.readAllLines(out));
+        buf.close();
+    }
+}
@@ -31,4 +31,34 @@ public class LogUtilsTest {
         Assertions.assertTrue(Files.exists(dir.resolve("game_log.txt")));
         Assertions.assertTrue(Files.exists(dir.resolve("hunter_stats.yaml")));
     }
+
+    @Test
+    public void testGameLogIndexAndRotation(@TempDir Path dir) throws Exception {
+        LogUtils.setBaseDir(dir);
+        LogUtils.setMaxGameLogBytes(100);
+        try {
+            for (int i = 0; i < 10; i++) {
+                LogUtils.appendGameLog("Morrison", "Allosaurus", 10, 50.0, i % 2 == 0);
+                LogUtils.appendEventLog("Event " + i);
+            }
+            LogUtils.appendGameLog("Hell Creek", "Tyrannosaurus", 5, 50.0, false);
+            Assertions.assertTrue(Files.exists(dir.resolve("game_log.1.txt")));
+            Assertions.assertTrue(Files.exists(dir.resolve("game_log.idx")));
+            Assertions.assertArrayEquals(new int[]{5, 5}, LogUtils.getDinoGameStats("Morrison", "Allosaurus"));
+            Assertions.assertArrayEquals(new int[]{11, 5, 0, 105}, LogUtils.getPlayerStats());
+
+            // lines appended by someone else are picked up
+            Files.writeString(dir.resolve("game_log.txt"), "Morrison|Allosaurus|7|1.0|Win\n",
+                    java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.APPEND);
+            Assertions.assertArrayEquals(new int[]{6, 5}, LogUtils.getDinoGameStats("Morrison", "Allosaurus"));
+
+            // a missing index is rebuilt from the archives and the current log
+            Files.delete(dir.resolve("game_log.idx"));
+            LogUtils.setBaseDir(dir);
+            Assertions.assertArrayEquals(new int[]{6, 5}, LogUtils.getDinoGameStats("Morrison", "Allosaurus"));
+            Assertions.assertArrayEquals(new int[]{12, 6, 0, 112}, LogUtils.getPlayerStats());
+        } finally {
+            LogUtils.setMaxGameLogBytes(LogUtils.DEFAULT_MAX_GAME_LOG_BYTES);
+        }
+    }
 }
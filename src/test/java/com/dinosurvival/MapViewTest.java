@@ -0,0 +1,90 @@
+package com.dinosurvival;
+
+import com.dinosurvival.game.Game;
+import com.dinosurvival.ui.MapView;
+import com.dinosurvival.util.StatsLoader;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class MapViewTest {
+    @BeforeAll
+    public static void setup() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+    }
+
+    @Test
+    public void testRefreshRedrawsOnlyChangedTiles() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        com.dinosurvival.game.Map map = g.getMap();
+        MapView view = new MapView(g, 22);
+
+        Assertions.assertEquals(map.getWidth() * map.getHeight(), view.refresh());
+        Assertions.assertEquals(0, view.refresh());
+
+        int x = -1;
+        int y = -1;
+        for (int ty = 0; ty < map.getHeight() && x < 0; ty++) {
+            for (int tx = 0; tx < map.getWidth(); tx++) {
+                if (!map.isRevealed(tx, ty)) {
+                    x = tx;
+                    y = ty;
+                    break;
+                }
+            }
+        }
+        Assertions.assertTrue(x >= 0);
+        map.reveal(x, y);
+        Assertions.assertEquals(MapView.colorForTerrain(map.terrainAt(x, y)).equals(java.awt.Color.GRAY) ? 0 : 1,
+                view.refresh());
+    }
+
+    @Test
+    public void testChangeLogListsRevealedTiles() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        com.dinosurvival.game.Map map = g.getMap();
+        MapView view = new MapView(g, 22);
+        view.refresh();
+
+        int since = map.getVersion();
+        java.util.List<Integer> hidden = new java.util.ArrayList<>();
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                if (!map.isRevealed(x, y)) {
+                    hidden.add(y * map.getWidth() + x);
+                }
+            }
+        }
+        Assertions.assertTrue(hidden.size() >= 3);
+        for (int i = 0; i < 3; i++) {
+            int idx = hidden.get(i);
+            map.reveal(idx % map.getWidth(), idx / map.getWidth());
+        }
+        Assertions.assertArrayEquals(new int[] {hidden.get(0), hidden.get(1), hidden.get(2)},
+                map.changedTilesSince(since));
+        view.refresh();
+
+        Assertions.assertEquals(0, view.refresh());
+        Assertions.assertNull(map.changedTilesSince(
+                map.getVersion() - com.dinosurvival.game.Map.CHANGE_LOG_SIZE - 1));
+    }
+
+    @Test
+    public void testZoomChangesPreferredSize() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        MapView view = new MapView(g, 22);
+        view.refresh();
+        int w = g.getMap().getWidth();
+        int h = g.getMap().getHeight();
+        Assertions.assertEquals(new Dimension(w * 22, h * 22), view.getPreferredSize());
+        view.setTileSize(1000);
+        Assertions.assertEquals(MapView.MAX_TILE_SIZE, view.getTileSize());
+        Assertions.assertEquals(new Point(2, 1), view.tileAt(new Point(2 * 64 + 5, 64 + 63)));
+    }
+}
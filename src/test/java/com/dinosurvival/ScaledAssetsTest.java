@@ -0,0 +1,81 @@
+package com.dinosurvival;
+
+import com.dinosurvival.ui.ScaledAssetGenerator;
+import com.dinosurvival.ui.ScaledAssets;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ScaledAssetsTest {
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void testVariantPath() {
+        Assertions.assertEquals("/scaled/100x70_gray/assets/dinosaurs/allosaurus.png",
+                ScaledAssets.variantPath("/assets/dinosaurs/allosaurus.png", 100, 70, true));
+        Assertions.assertEquals("/scaled/100x63/assets/plants/ferns.png",
+                ScaledAssets.variantPath("assets/plants/ferns.png", 100, 63, false));
+    }
+
+    @Test
+    public void testScaleToFillCropsToExactSize() {
+        BufferedImage src = new BufferedImage(301, 199, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage out = ScaledAssets.scaleToFill(src, 400, 250);
+        Assertions.assertEquals(400, out.getWidth());
+        Assertions.assertEquals(250, out.getHeight());
+    }
+
+    @Test
+    public void testGeneratorWritesSizedAndGrayVariants() throws Exception {
+        Path dinos = Files.createDirectories(tmp.resolve("assets/dinosaurs"));
+        BufferedImage red = new BufferedImage(600, 300, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < red.getHeight(); y++) {
+            for (int x = 0; x < red.getWidth(); x++) {
+                red.setRGB(x, y, 0xffff0000);
+            }
+        }
+        ImageIO.write(red, "png", dinos.resolve("test.png").toFile());
+        Path out = tmp.resolve("scaled");
+
+        Assertions.assertEquals(5, ScaledAssetGenerator.generate(tmp.resolve("assets"), out));
+        BufferedImage small = ImageIO.read(out.resolve("100x70/assets/dinosaurs/test.png").toFile());
+        Assertions.assertEquals(100, small.getWidth());
+        Assertions.assertEquals(70, small.getHeight());
+        BufferedImage gray = ImageIO.read(out.resolve("400x250_gray/assets/dinosaurs/test.png").toFile());
+        int rgb = gray.getRGB(200, 125);
+        Assertions.assertEquals((rgb >> 16) & 0xff, rgb & 0xff);
+        Assertions.assertEquals((rgb >> 8) & 0xff, rgb & 0xff);
+        Assertions.assertEquals(new javax.swing.GrayFilter(true, 50).filterRGB(0, 0, 0xffff0000), rgb);
+
+        Assertions.assertEquals(0, ScaledAssetGenerator.generate(tmp.resolve("assets"), out));
+    }
+
+    @Test
+    public void testSubsampledDecodeReadsCentreAtReducedSize() throws Exception {
+        // left quarter red, centre green, right quarter blue
+        BufferedImage src = new BufferedImage(2000, 700, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < src.getHeight(); y++) {
+            for (int x = 0; x < src.getWidth(); x++) {
+                int rgb = x < 500 ? 0xff0000 : x >= 1500 ? 0x0000ff : 0x00ff00;
+                src.setRGB(x, y, rgb);
+            }
+        }
+        Path file = tmp.resolve("wide.png");
+        ImageIO.write(src, "png", file.toFile());
+
+        BufferedImage img = ScaledAssets.readSubsampled(file.toUri().toURL(), 100, 70);
+        Assertions.assertTrue(img.getWidth() <= 200 && img.getWidth() >= 100, "width " + img.getWidth());
+        Assertions.assertTrue(img.getHeight() <= 140 && img.getHeight() >= 70, "height " + img.getHeight());
+        Assertions.assertEquals(0x00ff00, img.getRGB(0, 0) & 0xffffff);
+        Assertions.assertEquals(0x00ff00, img.getRGB(img.getWidth() - 1, img.getHeight() - 1) & 0xffffff);
+
+        BufferedImage scaled = ScaledAssets.scaleToFill(img, 100, 70);
+        Assertions.assertEquals(100, scaled.getWidth());
+        Assertions.assertEquals(70, scaled.getHeight());
+    }
+}
@@ -0,0 +1,39 @@
+package com.dinosurvival;
+
+import com.dinosurvival.ui.SeriesDecimation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SeriesDecimationTest {
+    @Test
+    public void testShortSeriesKeptWhole() {
+        int[] values = {3, 1, 4, 1, 5};
+        Assertions.assertArrayEquals(new int[] {0, 1, 2, 3, 4}, SeriesDecimation.minMax(values, 5, 100));
+        Assertions.assertArrayEquals(new int[] {0, 1}, SeriesDecimation.minMax(values, 2, 100));
+        Assertions.assertEquals(0, SeriesDecimation.minMax(values, 0, 100).length);
+    }
+
+    @Test
+    public void testKeepsExtremesOfEveryColumn() {
+        int n = 100_000;
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = (int) (1000 + 500 * Math.sin(i / 300.0));
+        }
+        values[12_345] = 99_999;
+        values[54_321] = -5;
+        int[] idx = SeriesDecimation.minMax(values, n, 320);
+        Assertions.assertTrue(idx.length <= 2 * 320 + 2);
+        Assertions.assertEquals(0, idx[0]);
+        Assertions.assertEquals(n - 1, idx[idx.length - 1]);
+        boolean spike = false;
+        boolean dip = false;
+        for (int i = 1; i < idx.length; i++) {
+            Assertions.assertTrue(idx[i] > idx[i - 1]);
+            spike |= idx[i] == 12_345;
+            dip |= idx[i] == 54_321;
+        }
+        Assertions.assertTrue(spike);
+        Assertions.assertTrue(dip);
+    }
+}
@@ -0,0 +1,171 @@
+package com.dinosurvival;
+
+import com.dinosurvival.game.FastForward;
+import com.dinosurvival.game.Game;
+import com.dinosurvival.game.GameChange;
+import com.dinosurvival.ui.TurnRunner;
+import com.dinosurvival.util.StatsLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TurnRunnerTest {
+    @BeforeAll
+    public static void setup() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+    }
+
+    @Test
+    public void testTurnRunsOffCallerAndResultIsPostedToUi() throws Exception {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        g.consumeChanges();
+        LinkedBlockingQueue<Runnable> ui = new LinkedBlockingQueue<>();
+        TurnRunner runner = new TurnRunner(g, ui::add);
+        AtomicReference<String> thread = new AtomicReference<>();
+        AtomicReference<TurnRunner.Result> result = new AtomicReference<>();
+        int turn = g.getTurn();
+
+        Assertions.assertTrue(runner.submit(() -> {
+            thread.set(Thread.currentThread().getName());
+            g.rest();
+        }, result::set, Assertions::fail, Assertions::fail));
+        Assertions.assertTrue(runner.isBusy());
+        Assertions.assertFalse(runner.submit(g::rest, r -> { }, e -> { }, () -> { }));
+
+        ui.poll(10, TimeUnit.SECONDS).run();
+        Assertions.assertEquals("simulation", thread.get());
+        Assertions.assertFalse(runner.isBusy());
+        Assertions.assertEquals(turn + 1, g.getTurn());
+        Assertions.assertTrue(result.get().changes().contains(GameChange.PLAYER));
+        Assertions.assertEquals(g.getTurnMessages(), result.get().messages());
+        runner.shutdown();
+    }
+
+    @Test
+    public void testErrorIsSurfacedOnUi() throws Exception {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        LinkedBlockingQueue<Runnable> ui = new LinkedBlockingQueue<>();
+        TurnRunner runner = new TurnRunner(g, ui::add);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        runner.submit(() -> {
+            throw new IllegalStateException("boom");
+        }, r -> Assertions.fail("no result expected"), error::set, Assertions::fail);
+        ui.poll(10, TimeUnit.SECONDS).run();
+        Assertions.assertEquals("boom", error.get().getMessage());
+        Assertions.assertFalse(runner.isBusy());
+        runner.shutdown();
+    }
+
+    @Test
+    public void testCancelDropsQueuedTurn() throws Exception {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        ExecutorService sim = Executors.newSingleThreadExecutor();
+        LinkedBlockingQueue<Runnable> ui = new LinkedBlockingQueue<>();
+        TurnRunner runner = new TurnRunner(g, sim, ui::add);
+        // hold the simulation thread so the turn stays queued
+        CountDownLatch release = new CountDownLatch(1);
+        sim.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        int turn = g.getTurn();
+        AtomicBoolean applied = new AtomicBoolean();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Assertions.assertTrue(runner.submit(g::rest, r -> applied.set(true), e -> applied.set(true),
+                () -> cancelled.set(true)));
+        Assertions.assertTrue(runner.cancel());
+        release.countDown();
+        ui.poll(10, TimeUnit.SECONDS).run();
+        Assertions.assertFalse(runner.isBusy());
+        Assertions.assertFalse(applied.get());
+        // the UI hears about the cancel so it can take input again
+        Assertions.assertTrue(cancelled.get());
+        Assertions.assertEquals(turn, g.getTurn());
+        Assertions.assertFalse(runner.cancel());
+        runner.shutdown();
+    }
+
+    @Test
+    public void testFastForwardDeliversFramesAndStopReason() throws Exception {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        g.consumeChanges();
+        LinkedBlockingQueue<Runnable> ui = new LinkedBlockingQueue<>();
+        TurnRunner runner = new TurnRunner(g, ui::add);
+        FastForward ff = new FastForward(FastForward.REST, 20);
+        ff.setStopOnAttack(false);
+        ff.setHungerThreshold(0);
+        ff.setEruptionRadius(-1);
+        ff.setStopOnDeath(false);
+        int turn = g.getTurn();
+        List<TurnRunner.Result> frames = new ArrayList<>();
+        AtomicReference<FastForward.StopReason> stop = new AtomicReference<>();
+        Assertions.assertTrue(runner.fastForward(ff, 1000, f -> {
+            frames.add(f);
+            return () -> { };
+        }, stop::set, Assertions::fail));
+        Assertions.assertFalse(runner.submit(g::rest, r -> { }, e -> { }, () -> { }));
+        while (stop.get() == null) {
+            ui.poll(10, TimeUnit.SECONDS).run();
+        }
+        Assertions.assertEquals(FastForward.StopReason.TURN_LIMIT, stop.get());
+        Assertions.assertFalse(runner.isBusy());
+        Assertions.assertEquals(turn + 20, g.getTurn());
+        Assertions.assertFalse(frames.isEmpty());
+        Assertions.assertTrue(frames.stream().anyMatch(f -> f.changes().contains(GameChange.PLAYER)));
+        for (TurnRunner.Result f : frames) {
+            for (String m : f.messages()) {
+                Assertions.assertTrue(m.matches("\\d+: .*"), m);
+            }
+        }
+        runner.shutdown();
+    }
+
+    @Test
+    public void testSimulationContinuesWhileFrameIsApplied() throws Exception {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        LinkedBlockingQueue<Runnable> ui = new LinkedBlockingQueue<>();
+        TurnRunner runner = new TurnRunner(g, ui::add);
+        FastForward ff = new FastForward(FastForward.REST, 10000);
+        ff.setStopOnAttack(false);
+        ff.setHungerThreshold(0);
+        ff.setEruptionRadius(-1);
+        ff.setStopOnDeath(false);
+        AtomicBoolean advanced = new AtomicBoolean();
+        AtomicReference<FastForward.StopReason> stop = new AtomicReference<>();
+        runner.fastForward(ff, 1000, f -> {
+            int copied = g.getTurn();
+            return () -> {
+                // the update runs without the frame lock, so turns keep being played
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!advanced.get() && System.nanoTime() < deadline) {
+                    java.util.concurrent.locks.LockSupport.parkNanos(1_000_000);
+                    advanced.set(g.getTurn() > copied);
+                }
+                runner.cancel();
+            };
+        }, stop::set, Assertions::fail);
+        while (stop.get() == null) {
+            ui.poll(10, TimeUnit.SECONDS).run();
+        }
+        Assertions.assertTrue(advanced.get());
+        runner.shutdown();
+    }
+}
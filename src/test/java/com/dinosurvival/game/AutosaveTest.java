@@ -0,0 +1,114 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.util.StatsLoader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AutosaveTest {
+
+    @Test
+    public void testEveryCheckpointRestores(@TempDir Path dir) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus", 5L);
+        Autosave autosave = new Autosave(dir);
+        autosave.setEvery(1);
+        autosave.setPageBytes(1024);
+        autosave.setFullEvery(4);
+        g.setAutosave(autosave);
+        for (int i = 0; i < 7; i++) {
+            g.rest();
+            autosave.flush();
+            Game restored = Autosave.restore(dir);
+            Assertions.assertEquals(g.getTurn(), restored.getTurn());
+            Assertions.assertEquals(g.getPlayerX(), restored.getPlayerX());
+            Assertions.assertEquals(g.getPlayerY(), restored.getPlayerY());
+            Assertions.assertEquals(g.getPlayer().getWeight(), restored.getPlayer().getWeight());
+            Assertions.assertEquals(g.populationStats(), restored.populationStats());
+            Assertions.assertArrayEquals(image(g), image(restored));
+        }
+        autosave.close();
+        Assertions.assertNull(autosave.getLastError());
+        Assertions.assertEquals(7, autosave.getSaved());
+        Assertions.assertTrue(autosave.getPagesWritten() > 0);
+
+        // a delta cut off half way is ignored
+        Files.write(dir.resolve(Autosave.DELTA), new byte[]{0, 0, 1, 0, 7}, StandardOpenOption.APPEND);
+        Assertions.assertEquals(g.getTurn(), Autosave.restore(dir).getTurn());
+    }
+
+    @Test
+    public void testCheckpointsEveryFewTurns(@TempDir Path dir) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus", 7L);
+        Autosave autosave = new Autosave(dir);
+        autosave.setEvery(3);
+        g.setAutosave(autosave);
+        for (int i = 0; i < 7; i++) {
+            g.rest();
+            autosave.flush();
+        }
+        autosave.close();
+        Assertions.assertEquals(3, autosave.getSaved());
+        Assertions.assertEquals(0, autosave.getSkipped());
+        Assertions.assertEquals(g.getTurn(), Autosave.restore(dir).getTurn());
+    }
+
+    @Test
+    public void testBusyWriterSkipsTurns(@TempDir Path dir) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus", 6L);
+        Autosave autosave = new Autosave(dir);
+        autosave.setEvery(1);
+        g.setAutosave(autosave);
+        for (int i = 0; i < 20; i++) {
+            g.rest();
+        }
+        autosave.close();
+        Assertions.assertEquals(20, autosave.getSaved() + autosave.getSkipped());
+        Assertions.assertTrue(autosave.getSaved() > 0);
+        Assertions.assertTrue(Autosave.restore(dir).getTurn() <= g.getTurn());
+    }
+
+    @Test
+    public void testDeltasStaySmallAsHistoryGrows(@TempDir Path dir) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus", 8L);
+        Autosave autosave = new Autosave(dir);
+        autosave.setEvery(1);
+        autosave.setFullEvery(1000);
+        g.setAutosave(autosave);
+        long[] perTurn = new long[60];
+        for (int i = 0; i < perTurn.length; i++) {
+            long before = autosave.getDeltaBytesWritten();
+            g.rest();
+            autosave.flush();
+            perTurn[i] = autosave.getDeltaBytesWritten() - before;
+        }
+        autosave.close();
+        // the event history alone grows by more than a kilobyte a turn, yet only new samples are written
+        long image = Files.size(dir.resolve(Autosave.FULL));
+        long early = 0;
+        long late = 0;
+        for (int i = 0; i < 20; i++) {
+            early = Math.max(early, perTurn[i]);
+            late = Math.max(late, perTurn[perTurn.length - 20 + i]);
+        }
+        Assertions.assertTrue(late < image / 3, "delta " + late + " of image " + image);
+        Assertions.assertTrue(late <= early * 11 / 10, "deltas grew from " + early + " to " + late);
+        Assertions.assertArrayEquals(image(g), image(Autosave.restore(dir)));
+    }
+
+    /** The save image of {@code g}; equal images mean equal games. */
+    private static byte[] image(Game g) throws IOException {
+        return SaveGame.encode(1 << 16, g::writeState);
+    }
+}
@@ -0,0 +1,72 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.util.StatsLoader;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class CarcassIndexTest {
+    @BeforeAll
+    public static void loadStats() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+    }
+
+    private static NPCAnimal carcass(int id, double weight) {
+        NPCAnimal npc = new NPCAnimal();
+        npc.setId(id);
+        npc.setName("Stegosaurus");
+        npc.setAlive(false);
+        npc.setWeight(weight);
+        return npc;
+    }
+
+    @Test
+    public void testCarcassesOrderedByWeight() {
+        Map map = new Map(5, 5, 0L);
+        NPCAnimal small = carcass(1, 10.0);
+        NPCAnimal large = carcass(2, 500.0);
+        NPCAnimal medium = carcass(3, 50.0);
+        map.addAnimal(1, 1, small);
+        map.addAnimal(1, 1, large);
+        map.addAnimal(1, 1, medium);
+        Assertions.assertEquals(java.util.List.of(large, medium, small), map.getCarcasses(1, 1));
+        Assertions.assertSame(large, map.heaviestCarcass(1, 1));
+
+        large.setWeight(5.0);
+        map.markCarcass(1, 1, large);
+        Assertions.assertSame(medium, map.heaviestCarcass(1, 1));
+
+        map.removeAnimal(1, 1, medium);
+        Assertions.assertEquals(2, map.getCarcassLocations().size());
+        Assertions.assertSame(small, map.heaviestCarcass(1, 1));
+
+        map.clearAnimals(1, 1);
+        Assertions.assertNull(map.heaviestCarcass(1, 1));
+        Assertions.assertTrue(map.getCarcassLocations().isEmpty());
+    }
+
+    @Test
+    public void testStarvedNpcRegisteredAsCarcass() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        Map map = g.getMap();
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                map.clearAnimals(x, y);
+            }
+        }
+        NPCAnimal npc = new NPCAnimal();
+        npc.setId(1);
+        npc.setName("Stegosaurus");
+        npc.setEnergy(0.5);
+        npc.setWeight(100.0);
+        map.addAnimal(0, 0, npc);
+        Assertions.assertNull(map.heaviestCarcass(0, 0));
+        g.getNpcController().updateNpcs();
+        Assertions.assertFalse(npc.isAlive());
+        Assertions.assertSame(npc, map.heaviestCarcass(0, 0));
+        Assertions.assertArrayEquals(new int[]{0, 0}, map.getCarcassLocations().get(npc));
+    }
+}
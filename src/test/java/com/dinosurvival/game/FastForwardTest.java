@@ -0,0 +1,101 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.util.StatsLoader;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class FastForwardTest {
+    @BeforeAll
+    public static void loadStats() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+    }
+
+    private static FastForward.StopReason run(FastForward ff, Game g) {
+        FastForward.StopReason reason = null;
+        while (reason == null) {
+            reason = ff.step(g);
+        }
+        return reason;
+    }
+
+    private static FastForward withoutStops(int turns) {
+        FastForward ff = new FastForward(FastForward.REST, turns);
+        ff.setStopOnAttack(false);
+        ff.setHungerThreshold(0);
+        ff.setEruptionRadius(-1);
+        ff.setStopOnDeath(false);
+        return ff;
+    }
+
+    @Test
+    public void testRunsRequestedNumberOfTurns() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        int turn = g.getTurn();
+        FastForward ff = withoutStops(5);
+        Assertions.assertEquals(FastForward.StopReason.TURN_LIMIT, run(ff, g));
+        Assertions.assertEquals(5, ff.getPlayed());
+        Assertions.assertEquals(turn + 5, g.getTurn());
+    }
+
+    @Test
+    public void testStopsWhenHungry() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        FastForward ff = withoutStops(20);
+        ff.setHungerThreshold(50);
+        g.getPlayer().setEnergy(49);
+        Assertions.assertEquals(FastForward.StopReason.HUNGRY, run(ff, g));
+        Assertions.assertEquals(1, ff.getPlayed());
+    }
+
+    @Test
+    public void testKeepsPlayingAfterDeath() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        g.getPlayer().setHp(0);
+        FastForward ff = new FastForward(FastForward.REST, 3);
+        ff.setHungerThreshold(101);
+        Assertions.assertEquals(FastForward.StopReason.TURN_LIMIT, run(ff, g));
+        Assertions.assertEquals(3, ff.getPlayed());
+        Assertions.assertEquals(0.0, g.getPlayer().getHp());
+    }
+
+    @Test
+    public void testHealthLossIsReported() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus", 3L);
+        g.getPlayer().setHp(50.0);
+        int[] played = {0};
+        // the world is left alone so nothing but the policy changes health
+        FastForward ff = new FastForward(game -> {
+            if (++played[0] == 3) {
+                game.getPlayer().setHp(game.getPlayer().getHp() - 10.0);
+            }
+        }, 10);
+        ff.setHungerThreshold(0);
+        ff.setEruptionRadius(-1);
+        Assertions.assertEquals(FastForward.StopReason.ATTACKED, run(ff, g));
+        Assertions.assertEquals(3, ff.getPlayed());
+        Assertions.assertTrue(g.getPlayer().getHp() > 0);
+    }
+
+    @Test
+    public void testEruptionNear() throws Exception {
+        Map map = new Map(9, 9, 0L);
+        Method set = Map.class.getDeclaredMethod("setTerrain", int.class, int.class, Terrain.class);
+        set.setAccessible(true);
+        for (int y = 0; y < 9; y++) {
+            for (int x = 0; x < 9; x++) {
+                set.invoke(map, x, y, Terrain.PLAINS);
+            }
+        }
+        set.invoke(map, 7, 4, Terrain.LAVA);
+        Assertions.assertTrue(FastForward.eruptionNear(map, 4, 4, 3));
+        Assertions.assertFalse(FastForward.eruptionNear(map, 4, 4, 2));
+        Assertions.assertFalse(FastForward.eruptionNear(map, 0, 0, 5));
+    }
+}
@@ -0,0 +1,100 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.util.StatsLoader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class GameChangeTest {
+    @BeforeAll
+    public static void loadStats() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+    }
+
+    private static void clearMap(Game g) {
+        Map map = g.getMap();
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                map.clearAnimals(x, y);
+                map.clearPlants(x, y);
+            }
+        }
+    }
+
+    @Test
+    public void testNewGameReportsEverythingOnce() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        Assertions.assertEquals(EnumSet.allOf(GameChange.class), g.consumeChanges());
+        Assertions.assertTrue(g.consumeChanges().isEmpty());
+    }
+
+    @Test
+    public void testWeatherOnlyReportedWhenItChanges() throws Exception {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        clearMap(g);
+        // keep the weather from rolling over during the test
+        Field wt = Game.class.getDeclaredField("weatherTurns");
+        wt.setAccessible(true);
+        wt.setInt(g, 0);
+        g.rest();
+        g.consumeChanges();
+        g.rest();
+        Set<GameChange> changes = g.consumeChanges();
+        Assertions.assertTrue(changes.contains(GameChange.PLAYER));
+        Assertions.assertFalse(changes.contains(GameChange.WEATHER));
+    }
+
+    @Test
+    public void testUnchangedEncountersAreNotReported() throws Exception {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        NPCAnimal npc = new NPCAnimal();
+        npc.setId(999);
+        npc.setName("Allosaurus");
+        npc.setWeight(100.0);
+        Field encounters = Game.class.getDeclaredField("currentEncounters");
+        encounters.setAccessible(true);
+        encounters.set(g, List.of(new EncounterEntry(npc, null, null)));
+        Method detect = Game.class.getDeclaredMethod("detectChanges");
+        detect.setAccessible(true);
+        detect.invoke(g);
+        g.consumeChanges();
+
+        detect.invoke(g);
+        Assertions.assertEquals(EnumSet.of(GameChange.PLAYER), g.consumeChanges());
+        npc.setWeight(90.0);
+        detect.invoke(g);
+        Assertions.assertTrue(g.consumeChanges().contains(GameChange.TILE));
+    }
+
+    @Test
+    public void testRevealAndMoveMarkMap() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        g.consumeChanges();
+        Map map = g.getMap();
+        int before = map.getVersion();
+        int x = g.getPlayerX();
+        int y = g.getPlayerY();
+        map.reveal(x, y);
+        Assertions.assertEquals(before, map.getVersion());
+        int nx = x > 0 ? x - 1 : x + 1;
+        if (nx < x) {
+            g.moveWest();
+        } else {
+            g.moveEast();
+        }
+        Set<GameChange> changes = g.consumeChanges();
+        Assertions.assertTrue(changes.contains(GameChange.MAP));
+        Assertions.assertTrue(changes.contains(GameChange.TILE));
+    }
+}
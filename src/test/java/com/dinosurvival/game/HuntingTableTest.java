@@ -0,0 +1,97 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.util.StatsLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class HuntingTableTest {
+    @BeforeAll
+    public static void loadStats() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+    }
+
+    private static HuntingTable table() {
+        return HuntingTable.build(StatsLoader.getDinoStats(), StatsLoader.getCritterStats());
+    }
+
+    @Test
+    public void testDamageAdvantageMatchesCombatUtils() {
+        HuntingTable table = table();
+        Random r = new Random(1);
+        for (int h = 0; h < table.size(); h++) {
+            for (int t = 0; t < table.size(); t++) {
+                for (int i = 0; i < 20; i++) {
+                    double hAtk = r.nextDouble() * 100;
+                    double hHp = r.nextDouble() * 200;
+                    double tAtk = r.nextDouble() * 100;
+                    double tHp = r.nextDouble() * 200;
+                    Assertions.assertEquals(
+                            CombatUtils.npcDamageAdvantage(hAtk, hHp, table.getStats(h),
+                                    tAtk, tHp, table.getStats(t)),
+                            table.damageAdvantage(h, hAtk, hHp, t, tAtk, tHp),
+                            table.getName(h) + " vs " + table.getName(t));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrunedPairsNeverPassSpeedAndSizeChecks() {
+        HuntingTable table = table();
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        NpcController npcs = g.getNpcController();
+        Random r = new Random(2);
+        int pruned = 0;
+        for (int i = 0; i < 20000; i++) {
+            int h = r.nextInt(table.size());
+            int t = r.nextInt(table.size());
+            NPCAnimal hunter = randomAnimal(table, h, r);
+            NPCAnimal target = randomAnimal(table, t, r);
+            double bound = table.maxCatchChance(h, table.bucket(h, hunter.getWeight()),
+                    t, table.bucket(t, target.getWeight()));
+            double hSpeed = npcs.npcEffectiveSpeed(hunter);
+            double tSpeed = npcs.npcEffectiveSpeed(target);
+            Assertions.assertEquals(tSpeed, table.effectiveSpeed(t, target), 1e-12);
+            boolean passes = tSpeed < hSpeed && target.getWeight() >= hunter.getWeight() * 0.01;
+            if (bound <= 0) {
+                pruned++;
+                Assertions.assertFalse(passes, table.getName(h) + " vs " + table.getName(t));
+            } else if (passes) {
+                double chance = HuntingTable.catchChance(tSpeed / hSpeed);
+                Assertions.assertTrue(chance <= bound + 1e-6);
+            }
+        }
+        Assertions.assertTrue(pruned > 0);
+    }
+
+    @Test
+    public void testTableCachedForLoadedStats() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        HuntingTable first = g.getNpcController().huntingTable();
+        Assertions.assertSame(first, g.getNpcController().huntingTable());
+        Assertions.assertTrue(first.indexOf("Allosaurus") >= 0);
+        Assertions.assertEquals(-1, first.indexOf("Unknown"));
+    }
+
+    private static NPCAnimal randomAnimal(HuntingTable table, int species, Random r) {
+        NPCAnimal npc = new NPCAnimal();
+        npc.setName(table.getName(species));
+        double adult = CombatUtils.getStat(table.getStats(species), "adult_weight");
+        npc.setWeight(Math.max(adult, 1.0) * r.nextDouble() * 1.2);
+        if (r.nextBoolean()) {
+            npc.setAbilities(List.of("ambush"));
+            npc.setAmbushStreak(r.nextInt(5));
+        }
+        if (r.nextInt(4) == 0) {
+            npc.setBrokenBone(3);
+        }
+        return npc;
+    }
+}
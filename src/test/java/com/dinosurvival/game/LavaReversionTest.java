@@ -1,7 +1,6 @@
 package com.dinosurvival.game;
 
 import com.dinosurvival.model.NPCAnimal;
-import com.dinosurvival.model.Plant;
 import com.dinosurvival.util.StatsLoader;
 
 import java.lang.reflect.Field;
@@ -49,10 +48,8 @@ public class LavaReversionTest {
         map.getAnimals(x, y).add(npc);
         map.getEggs(x, y).add(new EggCluster("Stegosaurus", 1, 1.0, 5));
         map.spawnBurrow(x, y, true);
-        Plant p = new Plant();
-        p.setName("Ferns");
-        p.setWeight(5.0);
-        map.getPlants(x, y).add(p);
+        map.addPlant(x, y, "Ferns", 5.0);
+        Assertions.assertFalse(map.getPlants(x, y).isEmpty());
         game.applyTerrainEffects();
         Assertions.assertFalse(npc.isAlive());
         Assertions.assertTrue(map.getEggs(x, y).isEmpty());
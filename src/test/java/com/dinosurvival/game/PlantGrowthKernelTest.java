@@ -0,0 +1,52 @@
+package com.dinosurvival.game;
+
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PlantGrowthKernelTest {
+
+    @Test
+    public void testVectorKernelSelectedWhenModulePresent() {
+        boolean present = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        PlantGrowthKernel kernel = PlantGrowthKernel.select();
+        // the vector kernel is only compiled, and the module only added, by the vector profile
+        Assertions.assertEquals(present, kernel.getClass().getSimpleName().equals("VectorPlantGrowthKernel"));
+    }
+
+    @Test
+    public void testSelectedKernelMatchesScalar() {
+        Random r = new Random(3);
+        int size = 5000;
+        float[] expected = new float[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = r.nextInt(4) * 100f;
+        }
+        float[] actual = expected.clone();
+        int[] tiles = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (r.nextDouble() < 0.3) {
+                tiles[count++] = i;
+            }
+        }
+        PlantGrowthKernel scalar = new ScalarPlantGrowthKernel();
+        PlantGrowthKernel selected = PlantGrowthKernel.select();
+        double before = 0.0;
+        for (float w : actual) {
+            before += w;
+        }
+        double added = 0.0;
+        for (int round = 0; round < 12; round++) {
+            scalar.grow(expected, tiles, count, 100f, 1000f);
+            added += selected.grow(actual, tiles, count, 100f, 1000f);
+        }
+        Assertions.assertArrayEquals(expected, actual);
+        double after = 0.0;
+        for (float w : actual) {
+            after += w;
+        }
+        Assertions.assertEquals(after - before, added, 1e-3);
+        Assertions.assertEquals(1000f, actual[tiles[0]]);
+    }
+}
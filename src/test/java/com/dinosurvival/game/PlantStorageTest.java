@@ -0,0 +1,76 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.model.PlantStats;
+import com.dinosurvival.util.StatsLoader;
+import java.nio.file.Path;
+import java.util.HashMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class PlantStorageTest {
+    @BeforeAll
+    public static void loadStats() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+    }
+
+    @Test
+    public void testGrowthChanceTable() {
+        PlantTypes types = PlantTypes.of(StatsLoader.getPlantStats());
+        Assertions.assertSame(types, PlantTypes.of(StatsLoader.getPlantStats()));
+        int ferns = types.indexOf("Ferns");
+        Assertions.assertTrue(ferns >= 0);
+        Assertions.assertEquals(0.02, types.growthChances(Terrain.FOREST)[ferns], 1e-9);
+        Assertions.assertEquals(0.0, types.growthChances(Terrain.LAKE)[ferns], 1e-9);
+        Assertions.assertEquals(0.0, types.growthChances(Terrain.FOREST_BURNT)[ferns], 1e-9);
+    }
+
+    @Test
+    public void testGrowthCappedAtTenTimesWeight() {
+        PlantStats ps = new PlantStats();
+        ps.setName("Ferns");
+        ps.setWeight(100.0);
+        java.util.Map<String, Double> chance = new HashMap<>();
+        for (Terrain t : Terrain.values()) {
+            chance.put(t.getName(), 1.0);
+        }
+        ps.setGrowthChance(chance);
+        java.util.Map<String, PlantStats> stats = new HashMap<>();
+        stats.put("Ferns", ps);
+
+        Map map = new Map(5, 5, 0L);
+        map.growPlants(stats);
+        Assertions.assertEquals(100.0, map.getPlants(1, 1).get(0).getWeight(), 1e-6);
+        for (int i = 0; i < 15; i++) {
+            map.growPlants(stats);
+        }
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                Assertions.assertEquals(1000.0, map.getPlantBiomass(x, y, 0), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testHerbivoreGrazesHeaviestEdiblePlant() {
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        Map map = g.getMap();
+        map.clearAnimals(0, 0);
+        map.clearPlants(0, 0);
+        map.addPlant(0, 0, "Ferns", 1000.0);
+        map.addPlant(0, 0, "Conifers", 2000.0);
+        NPCAnimal npc = new NPCAnimal();
+        npc.setId(1);
+        npc.setName("Stegosaurus");
+        npc.setWeight(100.0);
+        npc.setEnergy(50.0);
+        map.addAnimal(0, 0, npc);
+        g.getNpcController().updateNpcs();
+        PlantTypes types = map.getPlantTypes();
+        Assertions.assertTrue(map.getPlantBiomass(0, 0, types.indexOf("Ferns")) < 1000.0);
+        Assertions.assertEquals(2000.0,
+                map.getPlantBiomass(0, 0, types.indexOf("Conifers")), 1e-6);
+    }
+}
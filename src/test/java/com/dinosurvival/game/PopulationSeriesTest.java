@@ -0,0 +1,99 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.util.StatsLoader;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PopulationSeriesTest {
+    private static int count(int species, int turn) {
+        return 100 + species * 7 + (int) (20 * Math.sin(turn / 50.0)) - (turn % 3 == 0 ? 1 : 0);
+    }
+
+    @Test
+    public void testPackedChunksReadBackExactly() {
+        PopulationSeries series = new PopulationSeries(List.of("A", "B", "C"));
+        int n = PopulationSeries.CHUNK * 8 + 17;
+        for (int t = 0; t < n; t++) {
+            series.record(t, new int[] {count(0, t), count(1, t), count(2, t)});
+        }
+        Assertions.assertEquals(n, series.size());
+        Assertions.assertEquals(count(1, 5), series.get(1, 5));
+        Assertions.assertEquals(count(2, n - 1), series.latest("C"));
+        Assertions.assertEquals(0, series.latest("D"));
+        int from = PopulationSeries.CHUNK - 10;
+        int to = PopulationSeries.CHUNK * 2 + 10;
+        int[] range = series.range(0, from, to, null);
+        int[] turns = series.turns(from, to, new int[to - from]);
+        for (int i = from; i < to; i++) {
+            Assertions.assertEquals(count(0, i), range[i - from]);
+            Assertions.assertEquals(i, turns[i - from]);
+        }
+        // older chunks are packed to well under four bytes a value
+        Assertions.assertTrue(series.memoryBytes() < (long) n * 4 * 4 / 2, "bytes " + series.memoryBytes());
+        Assertions.assertArrayEquals(series.range(2, 0, n, null), series.toArray("C"));
+    }
+
+    @Test
+    public void testSampleLimitDropsOldestChunks() {
+        PopulationSeries series = new PopulationSeries(List.of("A"), 1500, false);
+        int n = PopulationSeries.CHUNK * 6;
+        for (int t = 0; t < n; t++) {
+            series.record(t, new int[] {t});
+        }
+        Assertions.assertTrue(series.size() >= 1500);
+        Assertions.assertTrue(series.size() < 1500 + 2 * PopulationSeries.CHUNK);
+        Assertions.assertEquals(n, series.getDropped() + series.size());
+        Assertions.assertEquals(series.getDropped(), series.getTurn(0));
+        Assertions.assertEquals(n - 1, series.get(0, series.size() - 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> series.get(0, series.size()));
+    }
+
+    @Test
+    public void testConcurrentReadersSeeTheirOwnColumns() throws Exception {
+        PopulationSeries series = new PopulationSeries(List.of("A", "B"));
+        int n = PopulationSeries.CHUNK * 4;
+        for (int t = 0; t < n; t++) {
+            series.record(t, new int[] {count(0, t), count(1, t)});
+        }
+        // readers alternate columns of the same packed chunks while a writer appends
+        Thread[] readers = new Thread[2];
+        Throwable[] failure = new Throwable[1];
+        for (int r = 0; r < readers.length; r++) {
+            int species = r;
+            readers[r] = new Thread(() -> {
+                try {
+                    for (int round = 0; round < 200; round++) {
+                        for (int i = 0; i < PopulationSeries.CHUNK * 2; i += 97) {
+                            Assertions.assertEquals(count(species, i), series.get(species, i));
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure[0] = ex;
+                }
+            });
+            readers[r].start();
+        }
+        for (int t = n; t < n + PopulationSeries.CHUNK; t++) {
+            series.record(t, new int[] {count(0, t), count(1, t)});
+        }
+        for (Thread t : readers) {
+            t.join();
+        }
+        Assertions.assertNull(failure[0]);
+    }
+
+    @Test
+    public void testGameRecordsEveryTurn() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        g.rest();
+        g.rest();
+        PopulationSeries history = g.getPopulationHistory();
+        Assertions.assertEquals(3, history.size());
+        Assertions.assertEquals(2, history.getTurn(2));
+        Assertions.assertTrue(history.indexOf("Allosaurus") >= 0);
+    }
+}
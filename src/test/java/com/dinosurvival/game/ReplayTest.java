@@ -0,0 +1,75 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.util.StatsLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReplayTest {
+
+    private static InputJournal play(int turns) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        InputJournal journal = new InputJournal();
+        journal.setHashEvery(10);
+        g.setJournal(journal);
+        g.start("Morrison", "Allosaurus", 7L);
+        for (int i = 0; i < turns; i++) {
+            if (g.getPlayer().getHp() <= 0) {
+                g.spectate();
+                continue;
+            }
+            List<NPCAnimal> here = g.getMap().getAnimals(g.getPlayerX(), g.getPlayerY());
+            NPCAnimal prey = here.isEmpty() ? null : here.get(0);
+            switch (i % 5) {
+                case 0 -> g.move(1, 0);
+                case 1 -> g.move(0, 1);
+                case 2 -> g.drink();
+                case 3 -> {
+                    if (prey != null) {
+                        g.huntNpc(prey.getId());
+                    } else {
+                        g.rest();
+                    }
+                }
+                default -> g.move(-1, -1 + (i / 5) % 3);
+            }
+        }
+        Assertions.assertEquals(turns, g.getTurn());
+        return journal;
+    }
+
+    @Test
+    public void testReplayMatchesRecording(@TempDir Path dir) throws Exception {
+        InputJournal journal = play(120);
+        Path file = dir.resolve("game.journal");
+        journal.save(file);
+        Assertions.assertTrue(Files.readString(file).contains("formation|Morrison"));
+
+        Replay.Result r = Replay.run(InputJournal.load(file));
+        Assertions.assertTrue(r.matches(), r.reason());
+        Assertions.assertEquals(120, r.turns());
+        Assertions.assertEquals(12, r.hashesChecked());
+    }
+
+    @Test
+    public void testReplayReportsFirstDifference(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("game.journal");
+        play(40).save(file);
+        // turn 11 moved down; make it move up instead
+        List<String> lines = Files.readAllLines(file);
+        int i = lines.indexOf("11|move|0|1");
+        Assertions.assertTrue(i > 0);
+        lines.set(i, "11|move|0|-1");
+        Files.write(file, lines);
+
+        Replay.Result r = Replay.run(InputJournal.load(file));
+        Assertions.assertFalse(r.matches());
+        Assertions.assertEquals(20, r.mismatchTurn());
+        Assertions.assertEquals(1, r.hashesChecked());
+    }
+}
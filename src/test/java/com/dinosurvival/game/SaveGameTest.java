@@ -0,0 +1,125 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import com.dinosurvival.util.StatsLoader;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SaveGameTest {
+
+    private static Object field(Map map, String name) throws Exception {
+        Field f = Map.class.getDeclaredField(name);
+        f.setAccessible(true);
+        return f.get(map);
+    }
+
+    @Test
+    public void testSaveAndLoadRestoresWorld(@TempDir Path dir) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus", 42L);
+        for (int i = 0; i < 5; i++) {
+            g.rest();
+        }
+        Map map = g.getMap();
+        ((int[][]) field(map, "fireTurns"))[0][0] = 2;
+        ((int[][]) field(map, "solidifiedTurns"))[1][0] = 7;
+        ((Terrain[][]) field(map, "floodInfo"))[0][1] = Terrain.FOREST;
+        ((LavaInfo[][]) field(map, "lavaInfo"))[1][1] = new LavaInfo(3, 4);
+        ((boolean[][]) field(map, "erupting"))[1][1] = true;
+
+        Path file = dir.resolve("game.sav");
+        SaveGame.save(g, file);
+        Game loaded = SaveGame.load(file);
+        Map copy = loaded.getMap();
+
+        Assertions.assertEquals(g.getTurn(), loaded.getTurn());
+        Assertions.assertEquals(g.getPlayerX(), loaded.getPlayerX());
+        Assertions.assertEquals(g.getPlayerY(), loaded.getPlayerY());
+        Assertions.assertEquals(g.getPlayer().getWeight(), loaded.getPlayer().getWeight());
+        Assertions.assertEquals(g.getPlayer().getName(), loaded.getPlayer().getName());
+        Assertions.assertEquals(g.getWeather().getName(), loaded.getWeather().getName());
+        Assertions.assertEquals(g.populationStats(), loaded.populationStats());
+        Assertions.assertEquals(g.getPopulationHistory().size(), loaded.getPopulationHistory().size());
+        Assertions.assertEquals(g.getWorldEvents().size(), loaded.getWorldEvents().size());
+        Assertions.assertEquals(g.getWorldStats().getDeathCounts("Stegosaurus"),
+                loaded.getWorldStats().getDeathCounts("Stegosaurus"));
+        Assertions.assertEquals(g.getCurrentEncounters().size(), loaded.getCurrentEncounters().size());
+        for (String layer : new String[]{"grid", "revealed", "fireTurns", "burntTurns",
+                "solidifiedTurns", "lavaOrig", "floodInfo", "erupting"}) {
+            Assertions.assertTrue(java.util.Arrays.deepEquals((Object[]) field(map, layer),
+                    (Object[]) field(copy, layer)), layer);
+        }
+        Assertions.assertEquals(4, ((LavaInfo[][]) field(copy, "lavaInfo"))[1][1].getCooldown());
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                Assertions.assertEquals(map.getAnimals(x, y).size(), copy.getAnimals(x, y).size());
+                Assertions.assertEquals(map.getCarcasses(x, y).size(), copy.getCarcasses(x, y).size());
+                Assertions.assertEquals(map.getEggs(x, y).size(), copy.getEggs(x, y).size());
+                Assertions.assertEquals(map.hasBurrow(x, y), copy.hasBurrow(x, y));
+                for (int p = 0; p < map.getPlantTypes().size(); p++) {
+                    Assertions.assertEquals(map.getPlantBiomass(x, y, p), copy.getPlantBiomass(x, y, p), 1e-3);
+                }
+                for (int i = 0; i < map.getAnimals(x, y).size(); i++) {
+                    NPCAnimal a = map.getAnimals(x, y).get(i);
+                    NPCAnimal b = copy.getAnimals(x, y).get(i);
+                    Assertions.assertEquals(a.getId(), b.getId());
+                    Assertions.assertEquals(a.getName(), b.getName());
+                    Assertions.assertEquals(a.getWeight(), b.getWeight());
+                    Assertions.assertEquals(a.isAlive(), b.isAlive());
+                }
+            }
+        }
+        Assertions.assertEquals(map.getCarcassLocations().size(), copy.getCarcassLocations().size());
+
+        for (int i = 0; i < 5; i++) {
+            loaded.rest();
+        }
+        Assertions.assertEquals(g.getTurn() + 5, loaded.getTurn());
+    }
+
+    @Test
+    public void testLoadedGameContinuesIdentically(@TempDir Path dir) throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus", 7L);
+        for (int i = 0; i < 5; i++) {
+            g.rest();
+        }
+        Path file = dir.resolve("game.sav");
+        SaveGame.save(g, file);
+        Game loaded = SaveGame.load(file);
+        Assertions.assertEquals(InputJournal.stateHash(g), InputJournal.stateHash(loaded));
+
+        int[][] moves = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+        for (int i = 0; i < 20; i++) {
+            if (i % 3 == 0) {
+                g.rest();
+                loaded.rest();
+            } else {
+                g.move(moves[i % 4][0], moves[i % 4][1]);
+                loaded.move(moves[i % 4][0], moves[i % 4][1]);
+            }
+            Assertions.assertEquals(InputJournal.stateHash(g), InputJournal.stateHash(loaded), "turn " + g.getTurn());
+        }
+    }
+
+    @Test
+    public void testRejectsOtherFiles(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("notes.sav");
+        Files.writeString(file, "not a save game at all");
+        Assertions.assertThrows(IOException.class, () -> SaveGame.load(file));
+
+        // a valid header pointing the string table somewhere impossible
+        for (long offset : new long[]{-5, Long.MAX_VALUE, 10}) {
+            Files.write(file, java.nio.ByteBuffer.allocate(24)
+                    .putInt(0x44535356).putInt(SaveGame.VERSION).putLong(offset).putInt(-1).array());
+            Assertions.assertThrows(IOException.class, () -> SaveGame.load(file), "offset " + offset);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dinosurvival.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SparseEventSamplerTest {
+
+    @Test
+    public void testEventCountMatchesBernoulliTrials() {
+        Random r = new Random(42);
+        int n = 100_000;
+        double p = 0.01;
+        int runs = 20;
+        long total = 0;
+        for (int i = 0; i < runs; i++) {
+            int[] count = new int[1];
+            SparseEventSampler.forEachEvent(n, p, r, idx -> count[0]++);
+            total += count[0];
+        }
+        double mean = total / (double) runs;
+        double sigma = Math.sqrt(n * p * (1 - p) / runs);
+        Assertions.assertEquals(n * p, mean, 5 * sigma);
+    }
+
+    @Test
+    public void testEventsAreDistinctAndOrdered() {
+        List<Integer> hits = new ArrayList<>();
+        SparseEventSampler.forEachEvent(1000, 0.3, new Random(7), hits::add);
+        for (int i = 1; i < hits.size(); i++) {
+            Assertions.assertTrue(hits.get(i) > hits.get(i - 1));
+        }
+        Assertions.assertTrue(hits.get(hits.size() - 1) < 1000);
+    }
+
+    @Test
+    public void testDegenerateProbabilities() {
+        int[] count = new int[1];
+        SparseEventSampler.forEachEvent(50, 0.0, new Random(), i -> count[0]++);
+        Assertions.assertEquals(0, count[0]);
+        SparseEventSampler.forEachEvent(50, 1.0, new Random(), i -> count[0]++);
+        Assertions.assertEquals(50, count[0]);
+    }
+}
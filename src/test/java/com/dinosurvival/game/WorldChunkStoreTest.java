@@ -0,0 +1,132 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.model.NPCAnimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WorldChunkStoreTest {
+
+    @Test
+    public void testWorkingSetStaysSmallAndDataSurvivesPaging(@TempDir Path dir) throws Exception {
+        WorldChunkStore store = WorldChunkStore.create(dir, 100, 70, 16, List.of("Ferns", "Cycads"));
+        store.setMaxResident(4);
+        store.setFocus(50, 35, 0);
+        store.forEachChunk((x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    store.setTerrain(x, y, (x + y) % 3 == 0 ? Terrain.FOREST : Terrain.PLAINS);
+                    store.setPlantBiomass(x, y, 1, x * 0.5 + y);
+                    if (x % 10 == 0 && y % 10 == 0) {
+                        NPCAnimal npc = new NPCAnimal();
+                        npc.setId(y * 100 + x);
+                        npc.setName("Stegosaurus");
+                        npc.setWeight(x + y);
+                        store.addAnimal(x, y, npc);
+                    }
+                }
+            }
+        });
+        Assertions.assertTrue(store.getResidentCount() <= 4, "resident " + store.getResidentCount());
+
+        store.markActive(0, 0);
+        store.setLayer(WorldChunkStore.Layer.FIRE, 3, 3, 2);
+        store.pageOutIdle();
+        // the focus chunk and the burning chunk stay mapped
+        Assertions.assertEquals(2, store.getResidentCount());
+
+        Assertions.assertEquals(Terrain.FOREST, store.terrainAt(99, 0));
+        Assertions.assertEquals(33.0 * 0.5 + 44, store.getPlantBiomass(33, 44, 1), 1e-4);
+        Assertions.assertEquals(0.0, store.getPlantBiomass(33, 44, 0));
+        Assertions.assertEquals(50, store.getAnimals(20, 30).get(0).getWeight());
+        store.close();
+
+        WorldChunkStore reopened = WorldChunkStore.open(dir);
+        Assertions.assertEquals(List.of("Ferns", "Cycads"), reopened.getPlants());
+        Assertions.assertEquals(Terrain.PLAINS, reopened.terrainAt(1, 0));
+        Assertions.assertEquals(Terrain.FOREST, reopened.terrainAt(2, 1));
+        Assertions.assertEquals(2, reopened.getLayer(WorldChunkStore.Layer.FIRE, 3, 3));
+        Assertions.assertEquals(99.0 * 0.5 + 69, reopened.getPlantBiomass(99, 69, 1), 1e-4);
+        Assertions.assertEquals(6090, reopened.getAnimals(90, 60).get(0).getId());
+        Assertions.assertTrue(reopened.getAnimals(91, 60).isEmpty());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> reopened.terrainAt(100, 0));
+        reopened.close();
+    }
+
+    @Test
+    public void testCopyOfMap(@TempDir Path dir) throws Exception {
+        Map map = new Map(18, 10, 3L);
+        NPCAnimal npc = new NPCAnimal();
+        npc.setId(7);
+        npc.setName("Allosaurus");
+        map.addAnimal(5, 4, npc);
+        map.startForestFire(2, 2);
+        try (WorldChunkStore store = WorldChunkStore.copyOf(map, dir, 8)) {
+            for (int y = 0; y < map.getHeight(); y++) {
+                for (int x = 0; x < map.getWidth(); x++) {
+                    Assertions.assertEquals(map.terrainAt(x, y), store.terrainAt(x, y));
+                    Assertions.assertEquals(map.getFireTurns(x, y),
+                            store.getLayer(WorldChunkStore.Layer.FIRE, x, y));
+                    for (int p = 0; p < map.getPlantTypes().size(); p++) {
+                        Assertions.assertEquals(map.getPlantBiomass(x, y, p), store.getPlantBiomass(x, y, p), 1e-3);
+                    }
+                }
+            }
+            Assertions.assertEquals(7, store.getAnimals(5, 4).get(0).getId());
+        }
+    }
+
+    private static WorldChunkStore.ChunkGenerator herds(boolean withAnimals) {
+        return (s, x0, y0, x1, y1) -> {
+            Assertions.assertTrue(s.getResidentCount() <= 2, "resident " + s.getResidentCount());
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    s.setTerrain(x, y, y < 75 ? Terrain.FOREST : Terrain.DESERT);
+                    if (withAnimals && (x + y) % 25 == 0) {
+                        NPCAnimal npc = new NPCAnimal();
+                        npc.setId(y * 200 + x);
+                        npc.setName("Stegosaurus");
+                        s.addAnimal(x, y, npc);
+                    }
+                }
+            }
+        };
+    }
+
+    @Test
+    public void testGenerateStreamsChunksAndCreateStartsClean(@TempDir Path dir) throws Exception {
+        try (WorldChunkStore store = WorldChunkStore.generate(dir, 200, 150, 16, List.of("Ferns"), herds(true))) {
+            Assertions.assertEquals(0, store.getResidentCount());
+            Assertions.assertEquals(Terrain.DESERT, store.terrainAt(199, 149));
+            Assertions.assertEquals(50 * 200 + 50, store.getAnimals(50, 50).get(0).getId());
+            Assertions.assertThrows(UnsupportedOperationException.class,
+                    () -> store.getAnimals(50, 50).add(new NPCAnimal()));
+        }
+
+        // a new world in the same directory has none of the old animals
+        try (WorldChunkStore store = WorldChunkStore.generate(dir, 200, 150, 16, List.of("Ferns"), herds(false))) {
+            Assertions.assertTrue(store.getAnimals(50, 50).isEmpty());
+        }
+    }
+
+    @Test
+    public void testReadingAnimalsLeavesChunkClean(@TempDir Path dir) throws Exception {
+        try (WorldChunkStore store = WorldChunkStore.generate(dir, 200, 150, 16, List.of("Ferns"), herds(true))) {
+            Assertions.assertEquals(1, store.getAnimals(0, 0).size());
+            Path npcs = dir.resolve("npcs");
+            try (var files = Files.list(npcs)) {
+                for (Path f : files.toList()) {
+                    Files.delete(f);
+                }
+            }
+            // only a changed chunk would write its animal file again
+            store.pageOutIdle();
+            try (var files = Files.list(npcs)) {
+                Assertions.assertEquals(0, files.count());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.dinosurvival.game;
+
+import com.dinosurvival.util.StatsLoader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WorldEventSeriesTest {
+    private static WorldEventSeries sample(int maxTurns) {
+        WorldEventSeries s = new WorldEventSeries(List.of("Allosaurus", "Stegosaurus"), List.of("Fern"), maxTurns);
+        for (int turn = 1; turn <= 5; turn++) {
+            for (int i = 0; i < turn; i++) {
+                s.recordDeath("Stegosaurus", DeathCause.STARVATION);
+            }
+            s.recordHunt("Allosaurus", "Stegosaurus");
+            s.recordHatch("Allosaurus", 2);
+            s.recordDeath("Unknown", DeathCause.COMBAT);
+            s.endTurn(turn, new double[]{1000.4 * turn});
+        }
+        return s;
+    }
+
+    @Test
+    public void rowsAndRollingWindows() {
+        WorldEventSeries s = sample(0);
+        int steg = s.indexOf("Stegosaurus");
+        int starved = s.deathColumn(steg, DeathCause.STARVATION);
+        Assertions.assertEquals(5, s.size());
+        Assertions.assertEquals(3, s.get(starved, 2));
+        Assertions.assertEquals(0, s.get(s.deathColumn(steg, DeathCause.COMBAT), 2));
+        Assertions.assertEquals(1, s.get(s.huntColumn(s.indexOf("Allosaurus"), steg), 4));
+        Assertions.assertEquals(0, s.get(s.huntColumn(steg, s.indexOf("Allosaurus")), 4));
+        Assertions.assertEquals(2, s.get(s.hatchColumn(0), 0));
+        Assertions.assertEquals(3001, s.get(s.biomassColumn(0), 2));
+        Assertions.assertEquals(9, s.windowSum(starved, 2));
+        Assertions.assertArrayEquals(new long[]{1, 3, 5, 7, 9}, s.rollingSum(starved, 2));
+        Assertions.assertEquals("hunts:Allosaurus>Stegosaurus", s.columnName(s.huntColumn(0, 1)));
+
+        WorldEventSeries ring = sample(3);
+        Assertions.assertEquals(3, ring.size());
+        Assertions.assertEquals(3, ring.getTurn(0));
+        Assertions.assertEquals(5, ring.get(starved, 2));
+    }
+
+    @Test
+    public void exportsCsvAndBinary() throws Exception {
+        WorldEventSeries s = sample(3);
+        StringWriter csv = new StringWriter();
+        s.writeCsv(csv);
+        String[] lines = csv.toString().split("\n");
+        Assertions.assertEquals(4, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("turn,deaths:Allosaurus:combat,"));
+        Assertions.assertTrue(lines[0].endsWith(",biomass:Fern"));
+        Assertions.assertTrue(lines[1].startsWith("3,"));
+        Assertions.assertTrue(lines[3].endsWith(",5002"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        s.writeBinary(bytes);
+        WorldEventSeries back = WorldEventSeries.read(new ByteArrayInputStream(bytes.toByteArray()));
+        Assertions.assertEquals(s.getSpecies(), back.getSpecies());
+        Assertions.assertEquals(s.size(), back.size());
+        for (int i = 0; i < s.size(); i++) {
+            Assertions.assertEquals(s.getTurn(i), back.getTurn(i));
+            for (int c = 0; c < s.columnCount(); c++) {
+                Assertions.assertEquals(s.get(c, i), back.get(c, i));
+            }
+        }
+        WorldEventSeries last = WorldEventSeries.read(new ByteArrayInputStream(bytes.toByteArray()), 2);
+        Assertions.assertEquals(2, last.size());
+        Assertions.assertEquals(5, last.getTurn(1));
+    }
+
+    @Test
+    public void gameRecordsOneRowPerTurn() throws Exception {
+        StatsLoader.load(Path.of("conf"), "Morrison");
+        Game g = new Game();
+        g.start("Morrison", "Allosaurus");
+        for (int i = 0; i < 5; i++) {
+            g.rest();
+        }
+        WorldEventSeries events = g.getWorldEvents();
+        Assertions.assertEquals(5, events.size());
+        Assertions.assertEquals(5, events.getTurn(4));
+        long biomass = 0;
+        for (int p = 0; p < events.getPlants().size(); p++) {
+            biomass += events.get(events.biomassColumn(p), 4);
+        }
+        Assertions.assertTrue(biomass > 0);
+
+        // the running totals match a full count of the map
+        for (int p = 0; p < events.getPlants().size(); p++) {
+            double total = 0.0;
+            for (int y = 0; y < g.getMap().getHeight(); y++) {
+                for (int x = 0; x < g.getMap().getWidth(); x++) {
+                    total += g.getMap().getPlantBiomass(x, y, p);
+                }
+            }
+            Assertions.assertEquals(total, g.getMap().getTotalPlantBiomass(p), 1e-3 * Math.max(1.0, total));
+        }
+    }
+
+    @Test
+    public void biomassSaturates() {
+        WorldEventSeries s = new WorldEventSeries(List.of("Allosaurus"), List.of("Fern"));
+        s.endTurn(1, new double[]{1e12});
+        Assertions.assertEquals(Integer.MAX_VALUE, s.get(s.biomassColumn(0), 0));
+    }
+}
@@ -0,0 +1,55 @@
+package com.dinosurvival.game;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WorldStatsTest {
+
+    @Test
+    public void countsDeathsAndEggs() {
+        WorldStats stats = new WorldStats();
+        stats.initSpecies(List.of("Allosaurus", "Stegosaurus"));
+        stats.recordDeath("Stegosaurus", DeathCause.COMBAT);
+        stats.recordDeath("Stegosaurus", DeathCause.COMBAT);
+        stats.recordDeath("Stegosaurus", DeathCause.DISASTER);
+        stats.recordEggsLaid("Allosaurus", 4);
+        stats.recordEggsHatched("Allosaurus", 3);
+        // species not seen before are added on demand
+        stats.recordDeath("Ceratosaurus", DeathCause.STARVATION);
+
+        Assertions.assertEquals(Map.of("combat", 2, "disaster", 1), stats.getDeathCounts("Stegosaurus"));
+        Assertions.assertEquals(Map.of(), stats.getDeathCounts("Allosaurus"));
+        Assertions.assertEquals(Map.of(), stats.getDeathCounts("Diplodocus"));
+        Assertions.assertEquals(1, stats.getDeaths("Ceratosaurus", DeathCause.STARVATION));
+        Assertions.assertArrayEquals(new int[]{4, 3}, stats.getEggStats("Allosaurus"));
+        Assertions.assertArrayEquals(new int[]{0, 0}, stats.getEggStats("Diplodocus"));
+    }
+
+    @Test
+    public void snapshotsMerge() {
+        WorldStats a = new WorldStats();
+        a.recordDeath("Allosaurus", DeathCause.COMBAT);
+        a.recordEggsLaid("Allosaurus", 2);
+        WorldStats b = new WorldStats();
+        b.recordDeath("Stegosaurus", DeathCause.STARVATION);
+        b.recordDeath("Allosaurus", DeathCause.COMBAT);
+
+        WorldStats.Snapshot snap = a.snapshot();
+        a.recordDeath("Allosaurus", DeathCause.COMBAT);
+        Assertions.assertEquals(1, snap.getDeaths("Allosaurus", DeathCause.COMBAT));
+
+        WorldStats.Snapshot sum = snap.merge(b.snapshot());
+        Assertions.assertEquals(List.of("Allosaurus", "Stegosaurus"), sum.getSpecies());
+        Assertions.assertEquals(2, sum.getDeaths("Allosaurus", DeathCause.COMBAT));
+        Assertions.assertEquals(1, sum.getDeaths("Stegosaurus", DeathCause.STARVATION));
+        Assertions.assertEquals(2, sum.getEggsLaid("Allosaurus"));
+
+        WorldStats total = new WorldStats();
+        total.merge(sum);
+        total.merge(sum);
+        Assertions.assertEquals(4, total.getDeaths("Allosaurus", DeathCause.COMBAT));
+        Assertions.assertArrayEquals(new int[]{4, 0}, total.getEggStats("Allosaurus"));
+    }
+}